@@ -0,0 +1,47 @@
+package com.tfm.bandas.events.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Conversión realm_access.roles -> ROLE_* que se ejecuta en cada petición autenticada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RealmRolesBenchmark {
+
+  // Los tokens de Keycloak incluyen además los roles por defecto del realm
+  @Param({"2", "10"})
+  public int roles;
+
+  private Jwt jwt;
+
+  @Setup
+  public void setUp() {
+    List<String> realmRoles = new ArrayList<>(List.of("ADMIN", "MUSICIAN"));
+    for (int i = realmRoles.size(); i < roles; i++) realmRoles.add("default-role-" + i);
+    Instant now = Instant.now();
+    jwt = Jwt.withTokenValue("token")
+        .header("alg", "RS256")
+        .subject("b1946ac9-2f5e-4b2c-9a64-5b3c1d0e7f21")
+        .issuedAt(now)
+        .expiresAt(now.plusSeconds(300))
+        .claim("realm_access", Map.of("roles", realmRoles))
+        .build();
+  }
+
+  @Benchmark
+  public Collection<GrantedAuthority> extractRealmRoles() {
+    return SecurityConfig.extractRealmRoles(jwt);
+  }
+}
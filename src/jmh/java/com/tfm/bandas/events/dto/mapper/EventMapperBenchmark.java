@@ -0,0 +1,53 @@
+package com.tfm.bandas.events.dto.mapper;
+
+import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Coste de mapear una entidad a los DTOs de respuesta (se hace por cada fila de cada listado)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+
+  private EventEntity entity;
+
+  @Setup
+  public void setUp() {
+    Instant start = Instant.parse("2025-10-01T18:00:00Z");
+    entity = EventEntity.builder()
+        .id(UUID.randomUUID().toString())
+        .version(3)
+        .title("Ensayo general")
+        .description("Ensayo general con toda la banda antes del concierto de Santa Cecilia")
+        .location("Auditorio Municipal")
+        .type(EventType.REHEARSAL)
+        .status(EventStatus.SCHEDULED)
+        .visibility(EventVisibility.BAND_ONLY)
+        .startAt(start)
+        .endAt(start.plus(2, ChronoUnit.HOURS))
+        .build();
+  }
+
+  @Benchmark
+  public EventDTO toResponse() {
+    return EventMapper.toResponse(entity);
+  }
+
+  @Benchmark
+  public CalendarEventItemDTO toCalendarItem() {
+    return EventMapper.toCalendarItem(entity);
+  }
+}
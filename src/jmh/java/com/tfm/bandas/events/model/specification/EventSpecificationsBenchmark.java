@@ -0,0 +1,82 @@
+package com.tfm.bandas.events.model.specification;
+
+import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción del predicado de /search (Specification -> Criteria). Hibernate arranca sin base de datos:
+ * solo se mide la construcción del árbol de criterios, no la traducción a SQL ni la consulta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSpecificationsBenchmark {
+
+  @Param({"", "ensayo", "ensayo general santa cecilia"})
+  public String qText;
+
+  private StandardServiceRegistry registry;
+  private SessionFactory sessionFactory;
+  private CriteriaBuilder cb;
+  private final Instant from = Instant.parse("2025-09-01T00:00:00Z");
+  private final Instant to = Instant.parse("2026-07-01T00:00:00Z");
+
+  @Setup
+  public void setUp() {
+    registry = new StandardServiceRegistryBuilder()
+        .applySettings(Map.of(
+            AvailableSettings.DIALECT, "org.hibernate.dialect.MySQLDialect",
+            "hibernate.boot.allow_jdbc_metadata_access", "false"))
+        .build();
+    sessionFactory = new MetadataSources(registry)
+        .addAnnotatedClass(EventEntity.class)
+        .buildMetadata()
+        .buildSessionFactory();
+    cb = sessionFactory.getCriteriaBuilder();
+  }
+
+  @TearDown
+  public void tearDown() {
+    sessionFactory.close();
+    StandardServiceRegistryBuilder.destroy(registry);
+  }
+
+  // Igual que EventServiceImpl.searchSpec más la ventana de fechas
+  @Benchmark
+  public Predicate searchPredicate() {
+    Specification<EventEntity> spec = Specification.allOf(
+        EventSpecifications.all(),
+        EventSpecifications.text(qText),
+        EventSpecifications.locationContains("auditorio"),
+        EventSpecifications.typeEquals(EventType.REHEARSAL),
+        EventSpecifications.statusEquals(EventStatus.SCHEDULED),
+        EventSpecifications.startBetween(from, to));
+    CriteriaQuery<EventEntity> query = cb.createQuery(EventEntity.class);
+    Root<EventEntity> root = query.from(EventEntity.class);
+    return spec.toPredicate(root, query, cb);
+  }
+
+  @Benchmark
+  public String toBooleanModeQuery() {
+    return EventSpecifications.toBooleanModeQuery(qText);
+  }
+}
@@ -0,0 +1,23 @@
+package com.tfm.bandas.events.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Parseo de If-Match en cada PUT/DELETE, con las formas que envían los clientes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EtagUtilsBenchmark {
+
+  @Param({"W/\"42\"", "\"42\"", "42", "  W/ \"1234567\"  "})
+  public String ifMatch;
+
+  @Benchmark
+  public int parseIfMatchToVersion() {
+    return EtagUtils.parseIfMatchToVersion(ifMatch);
+  }
+}
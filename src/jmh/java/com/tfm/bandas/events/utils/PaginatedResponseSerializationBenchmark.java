@@ -0,0 +1,54 @@
+package com.tfm.bandas.events.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tfm.bandas.events.dto.EventDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Serialización JSON de una página de listado, con un ObjectMapper configurado como el de Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginatedResponseSerializationBenchmark {
+
+  @Param({"20", "100", "200"})
+  public int pageSize;
+
+  private ObjectMapper mapper;
+  private PaginatedResponse<EventDTO> page;
+
+  @Setup
+  public void setUp() {
+    mapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    Instant start = Instant.parse("2025-10-01T18:00:00Z");
+    List<EventDTO> content = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      Instant s = start.plus(i, ChronoUnit.DAYS);
+      content.add(new EventDTO(UUID.randomUUID().toString(), i % 5, "Ensayo " + i,
+          "Ensayo semanal de la banda, sección de metales y percusión", "Auditorio Municipal",
+          EventType.REHEARSAL, EventStatus.SCHEDULED, EventVisibility.BAND_ONLY, s, s.plus(2, ChronoUnit.HOURS)));
+    }
+    page = PaginatedResponse.from(new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+  }
+
+  @Benchmark
+  public byte[] writePage() throws JsonProcessingException {
+    return mapper.writeValueAsBytes(page);
+  }
+}
@@ -0,0 +1,45 @@
+package com.tfm.bandas.events.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Generar el id de un evento nuevo y convertirlo al enlazar/leer BINARY(16) (UuidBinaryType), frente a UUIDv4
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidsBenchmark {
+
+  private String id;
+  private byte[] bytes;
+
+  @Setup
+  public void setUp() {
+    id = Uuids.v7();
+    bytes = Uuids.toBytes(id);
+  }
+
+  @Benchmark
+  public String randomUuidV4() {
+    return UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public String v7() {
+    return Uuids.v7();
+  }
+
+  @Benchmark
+  public byte[] toBytes() {
+    return Uuids.toBytes(id);
+  }
+
+  @Benchmark
+  public String fromBytes() {
+    return Uuids.fromBytes(bytes);
+  }
+}
@@ -0,0 +1,29 @@
+package com.tfm.bandas.events.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  // Totales de paginación en modo CountMode.CACHED
+  public static final String EVENT_COUNTS = "eventCounts";
+
+  @Bean
+  CacheManager cacheManager(EventPaginationProperties pagination) {
+    var manager = new CaffeineCacheManager();
+    // recordStats() para que Actuator publique hits/misses (cache.gets, cache.puts...)
+    manager.registerCustomCache(EVENT_COUNTS, Caffeine.newBuilder()
+            .maximumSize(pagination.countCacheMaxSize())
+            .expireAfterWrite(pagination.countCacheTtl())
+            .recordStats()
+            .build());
+    return manager;
+  }
+}
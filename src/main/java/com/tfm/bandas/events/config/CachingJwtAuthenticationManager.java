@@ -0,0 +1,94 @@
+package com.tfm.bandas.events.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Delante de JwtAuthenticationProvider: los clientes reutilizan el mismo token durante minutos, así que se
+ * guarda la autenticación ya verificada (Jwt + authorities) por hash SHA-256 del token hasta su exp.
+ * Un acierto se ahorra la verificación de firma, el parseo de claims y la conversión de roles.
+ * Los tokens rechazados no se guardan. Métricas: events.auth.jwt.decode (coste de un fallo) y
+ * cache.gets{cache=jwtAuthentications,result=hit|miss}.
+ */
+public class CachingJwtAuthenticationManager implements AuthenticationManager {
+
+  public static final String NAME = "jwtAuthentications";
+
+  private final AuthenticationProvider delegate;
+  private final Cache<String, JwtAuthenticationToken> cache;
+  private final Timer decodeTimer;
+
+  public CachingJwtAuthenticationManager(AuthenticationProvider delegate, long maxSize, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(Expiry.creating((String key, JwtAuthenticationToken auth) -> untilExpiry(auth)))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    this.decodeTimer = Timer.builder("events.auth.jwt.decode")
+        .description("JWT signature verification, claim validation and authority conversion")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  @Override
+  public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+    if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) return null;
+    String key = hash(bearer.getToken());
+    JwtAuthenticationToken cached = cache.getIfPresent(key);
+    // La entrada puede seguir unos instantes tras el exp (la limpieza de Caffeine no es inmediata)
+    if (cached != null && !isExpired(cached)) return copyFor(cached, bearer);
+
+    // Se verifica fuera de Cache.get(key, loader) por lo mismo que en EventCache: no fijar hilos virtuales
+    Timer.Sample sample = Timer.start();
+    Authentication result = delegate.authenticate(bearer);
+    sample.stop(decodeTimer);
+    if (result instanceof JwtAuthenticationToken jwtAuth && jwtAuth.getToken().getExpiresAt() != null) {
+      cache.put(key, jwtAuth);
+    }
+    return result;
+  }
+
+  // Cada petición lleva sus propios details (IP, sesión); el Jwt y las authorities se comparten
+  private static Authentication copyFor(JwtAuthenticationToken cached, BearerTokenAuthenticationToken bearer) {
+    var auth = new JwtAuthenticationToken(cached.getToken(), cached.getAuthorities(), cached.getName());
+    auth.setDetails(bearer.getDetails());
+    return auth;
+  }
+
+  private static boolean isExpired(JwtAuthenticationToken auth) {
+    return !Instant.now().isBefore(auth.getToken().getExpiresAt());
+  }
+
+  private static Duration untilExpiry(JwtAuthenticationToken auth) {
+    Duration remaining = Duration.between(Instant.now(), auth.getToken().getExpiresAt());
+    return remaining.isNegative() ? Duration.ZERO : remaining;
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
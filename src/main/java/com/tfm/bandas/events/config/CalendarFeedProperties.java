@@ -0,0 +1,16 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+
+@ConfigurationProperties(prefix = "events.feed")
+public record CalendarFeedProperties(
+        @DefaultValue("Banda - Eventos") String calendarName,
+        @DefaultValue("Banda - Eventos públicos") String publicCalendarName,
+        // Ventana por defecto cuando el cliente no envía from/to (lo habitual en apps de calendario)
+        @DefaultValue("30") @Min(0) int pastDays,
+        @DefaultValue("365") @Min(1) int futureDays,
+        @DefaultValue("64") @Min(1) long cacheMaxEntries
+) {}
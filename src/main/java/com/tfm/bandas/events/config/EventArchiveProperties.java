@@ -0,0 +1,21 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.archive")
+public record EventArchiveProperties(
+        // Activa EventArchiver; lo ya archivado se sigue leyendo aunque se desactive
+        @DefaultValue("false") boolean enabled,
+        // Se archivan los eventos terminados hace más de esto (ya no se pueden modificar ni borrar)
+        @DefaultValue("180d") Duration after,
+        @DefaultValue("1h") Duration interval,
+        // Eventos movidos por transacción
+        @DefaultValue("1000") @Min(1) int batchSize,
+        // Cada cuánto se relee el máximo end_at de event_archive (EventArchiveTier), archive o no este nodo
+        @DefaultValue("1m") Duration horizonRefresh
+) {}
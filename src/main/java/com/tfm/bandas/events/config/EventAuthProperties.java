@@ -0,0 +1,25 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.auth")
+public record EventAuthProperties(
+        // Autenticaciones ya verificadas por hash del token; cada entrada caduca en el exp del JWT
+        @DefaultValue("true") boolean tokenCacheEnabled,
+        @DefaultValue("10000") @Min(1) long tokenCacheMaxSize,
+        @DefaultValue Jwks jwks
+) {
+    // JWK set local del issuer: se renueva en segundo plano antes de caducar, fuera del camino de las peticiones
+    public record Jwks(
+            @DefaultValue("5m") Duration ttl,
+            @DefaultValue("30s") Duration refreshAhead,
+            @DefaultValue("15s") Duration refreshTimeout,
+            // Si el issuer no responde se siguen usando las últimas claves durante este tiempo
+            @DefaultValue("1h") Duration outageTolerance
+    ) {}
+}
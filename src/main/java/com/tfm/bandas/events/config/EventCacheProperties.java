@@ -0,0 +1,16 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.cache")
+public record EventCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") @Min(1) long maxSize,
+        // Acota la desactualización si otra instancia modifica el evento
+        @DefaultValue("5m") Duration ttl
+) {}
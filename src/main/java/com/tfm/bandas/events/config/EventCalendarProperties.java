@@ -0,0 +1,13 @@
+package com.tfm.bandas.events.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.ZoneId;
+
+
+@ConfigurationProperties(prefix = "events.calendar")
+public record EventCalendarProperties(
+        // Zona de la banda: decide a qué día cuenta cada evento en el resumen mensual (igual en todos los nodos)
+        @DefaultValue("Europe/Madrid") ZoneId timeZone
+) {}
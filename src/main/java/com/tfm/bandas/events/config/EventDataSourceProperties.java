@@ -0,0 +1,27 @@
+package com.tfm.bandas.events.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.datasource")
+public record EventDataSourceProperties(
+        @DefaultValue Replica replica,
+        // GET /{id} con un If-None-Match más nuevo que la versión leída de la réplica => se relee del primario
+        @DefaultValue("true") boolean readYourWrites
+) {
+    // El pool de la réplica se dimensiona aparte, en events.datasource.replica.hikari.*
+    public record Replica(
+            @DefaultValue("false") boolean enabled,
+            String url,
+            String username,
+            String password,
+            // Comprobación periódica de la réplica (conexión válida y, si maxLag > 0, retraso de replicación)
+            @DefaultValue("5s") Duration healthCheckInterval,
+            // Con más retraso las lecturas vuelven al primario. SHOW REPLICA STATUS requiere el privilegio
+            // REPLICATION CLIENT; 0 => no se consulta (solo para una segunda instancia sin replicación)
+            @DefaultValue("10s") Duration maxLag
+    ) {}
+}
@@ -0,0 +1,20 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.logging")
+public record EventLoggingProperties(
+        @DefaultValue("true") boolean accessLogEnabled,
+        // Fracción de peticiones correctas que se registran; errores y peticiones lentas siempre
+        @DefaultValue("1.0") @DecimalMin("0.0") @DecimalMax("1.0") double accessSampleRate,
+        @DefaultValue("500ms") Duration slowThreshold,
+        // Recorte de query strings y textos (títulos) en las trazas
+        @DefaultValue("200") @Min(16) int maxValueLength
+) {}
@@ -0,0 +1,27 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.outbox")
+public record EventOutboxProperties(
+        // Sin él no se escribe en event_outbox ni arranca OutboxRelay
+        @DefaultValue("false") boolean enabled,
+        // Mensajes reclamados y entregados por transacción del relay
+        @DefaultValue("500") @Min(1) int batchSize,
+        // Espera entre pasadas cuando la tabla queda vacía; con backlog el relay encadena lotes sin esperar
+        @DefaultValue("500ms") Duration pollInterval,
+        // Entregas fallidas de un mismo mensaje antes de apartarlo a event_outbox_dead_letter
+        @DefaultValue("10") @Min(1) int maxAttempts,
+        // Tope de la espera entre reintentos, que se duplica con cada fallo desde poll-interval
+        @DefaultValue("5m") Duration maxBackoff,
+        // file | memory; con cualquier otro valor el OutboxSink lo aporta otro bean (p. ej. un cliente de broker)
+        @DefaultValue("file") String sink,
+        // Fichero JSON Lines del sink file
+        @DefaultValue("outbox/events.jsonl") Path file
+) {}
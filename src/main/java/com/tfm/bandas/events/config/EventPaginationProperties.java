@@ -0,0 +1,24 @@
+package com.tfm.bandas.events.config;
+
+import com.tfm.bandas.events.utils.CountMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+
+@ConfigurationProperties(prefix = "events.pagination")
+public record EventPaginationProperties(
+        @DefaultValue("EXACT") CountMode defaultCountMode,
+        // Modo por endpoint: list, past, calendar, public-calendar, search
+        @DefaultValue Map<String, CountMode> endpoints,
+        @DefaultValue("30s") Duration countCacheTtl,
+        @DefaultValue("1000") long countCacheMaxSize
+) {
+    // Prioridad: parámetro de la petición > configuración del endpoint > valor por defecto
+    public CountMode countModeFor(String endpoint, CountMode requested) {
+        if (requested != null) return requested;
+        return endpoints.getOrDefault(endpoint, defaultCountMode);
+    }
+}
@@ -11,5 +11,8 @@ public record EventRulesProperties(
         @DefaultValue("15") @Min(1)  int minDurationMinutes,
         @DefaultValue("240") @Min(1) @Max(8764) int maxDurationHours,
         @DefaultValue("false") boolean allowOverlapSameLocation,
-        @DefaultValue("true") boolean allowCreateInPast
+        @DefaultValue("true") boolean allowCreateInPast,
+        @DefaultValue("500") @Min(1) int maxBatchSize,
+        // Ocurrencias máximas de una serie recurrente (acota la validación de solapes al crearla)
+        @DefaultValue("520") @Min(1) int maxSeriesOccurrences
 ) {}
@@ -0,0 +1,20 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.stream")
+public record EventStreamProperties(
+        // Cambios recientes que se pueden reenviar a un cliente que reconecta con Last-Event-ID
+        @DefaultValue("1000") @Min(1) int bufferSize,
+        // Mantiene viva la conexión a través de proxies que cortan conexiones inactivas
+        @DefaultValue("25s") Duration heartbeatInterval,
+        // Al expirar el cliente reconecta (EventSource lo hace solo) y se reanuda con Last-Event-ID
+        @DefaultValue("30m") Duration emitterTimeout,
+        // Eventos pendientes por cliente; si un cliente lento la llena se le desconecta (y reanuda con Last-Event-ID)
+        @DefaultValue("256") @Min(1) int subscriberQueueSize
+) {}
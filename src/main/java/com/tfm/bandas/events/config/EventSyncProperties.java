@@ -0,0 +1,16 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.sync")
+public record EventSyncProperties(
+        // Tiempo que se guardan las lápidas; un token más antiguo recibe 410 y el cliente resincroniza desde cero
+        @DefaultValue("30d") Duration retention,
+        @DefaultValue("1h") Duration compactionInterval,
+        @DefaultValue("1000") @Min(1) int compactionBatchSize
+) {}
@@ -0,0 +1,15 @@
+package com.tfm.bandas.events.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.threads")
+public record EventThreadsProperties(
+        // Escucha jdk.VirtualThreadPinned por JFR (solo tiene sentido con spring.threads.virtual.enabled)
+        @DefaultValue("false") boolean pinningMonitor,
+        // Por debajo de este tiempo no se informa del bloqueo
+        @DefaultValue("20ms") Duration pinnedThreshold
+) {}
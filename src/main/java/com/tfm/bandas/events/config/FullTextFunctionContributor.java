@@ -0,0 +1,27 @@
+package com.tfm.bandas.events.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra MATCH ... AGAINST de MySQL como funciones HQL/Criteria para poder usar los índices FULLTEXT
+ * desde las Specifications. Devuelven la puntuación de relevancia (0 si no hay coincidencia).
+ * Se carga vía META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+  public static final String MATCH = "fts_match";
+  public static final String MATCH_TEXT = "fts_match_text";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    var doubleType = functionContributions.getTypeConfiguration()
+        .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+    var registry = functionContributions.getFunctionRegistry();
+    // Una columna (ft_event_title, ft_event_description)
+    registry.registerPattern(MATCH, "match(?1) against(?2 in boolean mode)", doubleType);
+    // title, description, location (ft_event_text)
+    registry.registerPattern(MATCH_TEXT, "match(?1, ?2, ?3) against(?4 in boolean mode)", doubleType);
+  }
+}
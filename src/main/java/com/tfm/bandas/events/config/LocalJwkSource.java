@@ -0,0 +1,100 @@
+package com.tfm.bandas.events.config;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.client.RestClient;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copia local del JWK set del issuer. Se carga al arrancar y se renueva en segundo plano (refresh-ahead
+ * programado) antes de que caduque, así que verificar una firma no espera nunca a Keycloak; solo un kid
+ * desconocido (rotación de claves) fuerza una recarga, limitada en frecuencia por Nimbus.
+ * Si el issuer cae, las últimas claves siguen sirviendo durante events.auth.jwks.outage-tolerance.
+ */
+public class LocalJwkSource implements JWKSource<SecurityContext> {
+
+  private static final Logger logger = LoggerFactory.getLogger(LocalJwkSource.class);
+
+  private final String jwkSetUri;
+  private final String issuerUri;
+  private final EventAuthProperties.Jwks props;
+  private volatile JWKSource<SecurityContext> delegate;
+
+  public LocalJwkSource(String jwkSetUri, String issuerUri, EventAuthProperties.Jwks props) {
+    if (jwkSetUri == null && issuerUri == null) {
+      throw new IllegalStateException("Either jwk-set-uri or issuer-uri must be configured");
+    }
+    this.jwkSetUri = jwkSetUri;
+    this.issuerUri = issuerUri;
+    this.props = props;
+  }
+
+  @Override
+  public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+    return delegate().get(selector, context);
+  }
+
+  // Primera carga al arrancar; si el issuer aún no está disponible se reintenta con el primer token
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    try {
+      int keys = get(new JWKSelector(new JWKMatcher.Builder().build()), null).size();
+      logger.info("JWK set loaded: {} keys", keys);
+    } catch (Exception e) {
+      logger.warn("Could not load the JWK set at startup: {}", e.getMessage());
+    }
+  }
+
+  private JWKSource<SecurityContext> delegate() throws KeySourceException {
+    JWKSource<SecurityContext> source = delegate;
+    if (source == null) {
+      synchronized (this) {
+        if (delegate == null) {
+          delegate = JWKSourceBuilder.<SecurityContext>create(resolveJwkSetUrl())
+              .cache(props.ttl().toMillis(), props.refreshTimeout().toMillis())
+              .refreshAheadCache(props.refreshAhead().toMillis(), true)
+              .outageTolerant(props.outageTolerance().toMillis())
+              .build();
+        }
+        source = delegate;
+      }
+    }
+    return source;
+  }
+
+  // Con solo issuer-uri, el jwks_uri sale del documento de descubrimiento OIDC (como hace Spring Boot)
+  private URL resolveJwkSetUrl() throws KeySourceException {
+    String uri = jwkSetUri;
+    try {
+      if (uri == null) {
+        Map<?, ?> config = RestClient.create().get()
+            .uri(issuerUri.replaceAll("/$", "") + "/.well-known/openid-configuration")
+            .retrieve()
+            .body(Map.class);
+        if (config == null || !(config.get("jwks_uri") instanceof String discovered)) {
+          throw new KeySourceException("No jwks_uri in the OpenID configuration of " + issuerUri);
+        }
+        uri = discovered;
+      }
+      return URI.create(uri).toURL();
+    } catch (MalformedURLException | IllegalArgumentException e) {
+      throw new KeySourceException("Invalid JWK set URI: " + uri, e);
+    } catch (RuntimeException e) {
+      throw new KeySourceException("Could not discover the JWK set of " + issuerUri + ": " + e.getMessage(), e);
+    }
+  }
+}
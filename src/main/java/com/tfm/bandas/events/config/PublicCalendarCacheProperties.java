@@ -0,0 +1,18 @@
+package com.tfm.bandas.events.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+
+@ConfigurationProperties(prefix = "events.public-calendar-cache")
+public record PublicCalendarCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") @Min(1) long maxSize,
+        // Cualquier escritura sobre un evento o serie PUBLIC invalida la caché; el TTL solo acota la memoria
+        @DefaultValue("10m") Duration ttl,
+        // Cache-Control: public, max-age para el proxy inverso y los navegadores (luego revalidan con ETag)
+        @DefaultValue("60s") Duration maxAge
+) {}
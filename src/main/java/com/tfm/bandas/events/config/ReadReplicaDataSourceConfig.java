@@ -0,0 +1,75 @@
+package com.tfm.bandas.events.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import javax.sql.DataSource;
+
+/**
+ * Primario + réplica de lectura, cada uno con su pool Hikari (spring.datasource.hikari.* y
+ * events.datasource.replica.hikari.*). Sin events.datasource.replica.enabled se usa el DataSource
+ * autoconfigurado de siempre.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "events.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+  // Flyway migra siempre contra el primario
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    ds.setPoolName("primary");
+    return ds;
+  }
+
+  @Bean
+  @ConfigurationProperties("events.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(EventDataSourceProperties properties) {
+    EventDataSourceProperties.Replica replica = properties.replica();
+    HikariDataSource ds = DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .url(replica.url())
+        .username(replica.username())
+        .password(replica.password())
+        .build();
+    ds.setPoolName("replica");
+    ds.setReadOnly(true);
+    return ds;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                                    EventDataSourceProperties properties, MeterRegistry registry) {
+    return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, properties.replica().maxLag(), registry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+
+  @Bean
+  public ReplicaHealthIndicator replicaHealthIndicator(ReplicaRoutingDataSource routingDataSource) {
+    return new ReplicaHealthIndicator(routingDataSource);
+  }
+
+  @Bean
+  public SchedulingConfigurer replicaHealthCheck(ReplicaRoutingDataSource routingDataSource, EventDataSourceProperties properties) {
+    return (ScheduledTaskRegistrar registrar) ->
+        registrar.addFixedDelayTask(routingDataSource::checkReplica, properties.replica().healthCheckInterval());
+  }
+}
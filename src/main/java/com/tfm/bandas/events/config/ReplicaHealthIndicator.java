@@ -0,0 +1,30 @@
+package com.tfm.bandas.events.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Estado de la réplica en /actuator/health (componente "replica"). Si falla, la aplicación sigue sirviendo las
+ * lecturas desde el primario: el componente queda UP con routing=primary y el motivo, para no tumbar el health
+ * global. Para alertas, el gauge events.datasource.replica.healthy.
+ */
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+  private final ReplicaRoutingDataSource routing;
+
+  public ReplicaHealthIndicator(ReplicaRoutingDataSource routing) {
+    this.routing = routing;
+  }
+
+  @Override
+  public Health health() {
+    Health.Builder health = Health.up()
+        .withDetail("routing", routing.replicaHealthy() ? "replica" : "primary")
+        .withDetail("maxLag", routing.maxLag().isZero() ? "not checked" : routing.maxLag().toString());
+    Long lag = routing.lastLagSeconds();
+    if (lag != null) health.withDetail("lagSeconds", lag);
+    String reason = routing.unhealthyReason();
+    if (reason != null) health.withDetail("reason", reason);
+    return health.build();
+  }
+}
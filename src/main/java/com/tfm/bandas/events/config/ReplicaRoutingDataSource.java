@@ -0,0 +1,164 @@
+package com.tfm.bandas.events.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Envía las transacciones de solo lectura a la réplica y el resto al primario. Va detrás de un
+ * LazyConnectionDataSourceProxy: la conexión física se pide en la primera sentencia, cuando el flag readOnly
+ * de la transacción ya está fijado. Si la réplica no da conexión o falla la comprobación periódica, las lecturas
+ * vuelven al primario hasta que se recupere.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  // Lecturas que deben ver las escrituras ya confirmadas (read-your-writes)
+  private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+  enum Target { PRIMARY, REPLICA }
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final Duration maxLag;
+  private final Counter replicaConnections;
+  private final Counter primaryConnections;
+  private final Counter fallbacks;
+  private volatile boolean replicaHealthy = true;
+  // Última comprobación, para ReplicaHealthIndicator
+  private volatile Long lastLagSeconds;
+  private volatile String unhealthyReason;
+
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry registry) {
+    this.primary = primary;
+    this.replica = replica;
+    this.maxLag = maxLag;
+    setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    this.replicaConnections = connections(registry, Target.REPLICA);
+    this.primaryConnections = connections(registry, Target.PRIMARY);
+    this.fallbacks = Counter.builder("events.datasource.replica.fallbacks")
+        .description("Read-only connections served by the primary because the replica failed")
+        .register(registry);
+    Gauge.builder("events.datasource.replica.healthy", this, ds -> ds.replicaHealthy ? 1 : 0).register(registry);
+  }
+
+  // Ejecuta la lectura contra el primario aunque la transacción sea de solo lectura
+  public static <T> T onPrimary(Supplier<T> read) {
+    Boolean previous = PRIMARY_ONLY.get();
+    PRIMARY_ONLY.set(Boolean.TRUE);
+    try {
+      return read.get();
+    } finally {
+      if (previous == null) PRIMARY_ONLY.remove();
+      else PRIMARY_ONLY.set(previous);
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    boolean read = TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_ONLY.get() == null;
+    return read && replicaHealthy ? Target.REPLICA : Target.PRIMARY;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (determineCurrentLookupKey() == Target.PRIMARY) {
+      primaryConnections.increment();
+      return primary.getConnection();
+    }
+    try {
+      Connection connection = replica.getConnection();
+      replicaConnections.increment();
+      return connection;
+    } catch (SQLException ex) {
+      markUnhealthy("connection failed: " + ex.getMessage());
+      fallbacks.increment();
+      primaryConnections.increment();
+      return primary.getConnection();
+    }
+  }
+
+  // Programado en ReadReplicaDataSourceConfig cada events.datasource.replica.health-check-interval
+  void checkReplica() {
+    try (Connection connection = replica.getConnection()) {
+      if (!connection.isValid(2)) {
+        markUnhealthy("connection is not valid");
+        return;
+      }
+      if (!maxLag.isZero()) {
+        Long lag = secondsBehindSource(connection);
+        lastLagSeconds = lag;
+        if (lag == null) {
+          markUnhealthy("replication is not running");
+          return;
+        }
+        if (lag > maxLag.toSeconds()) {
+          markUnhealthy("replication lag " + lag + "s > " + maxLag.toSeconds() + "s");
+          return;
+        }
+      }
+      if (!replicaHealthy) {
+        replicaHealthy = true;
+        unhealthyReason = null;
+        logger.info("Read replica healthy again: routing read-only transactions to it");
+      }
+    } catch (SQLException ex) {
+      markUnhealthy(ex.getMessage());
+    }
+  }
+
+  private static Long secondsBehindSource(Connection connection) throws SQLException {
+    try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery("SHOW REPLICA STATUS")) {
+      if (!rs.next()) return null;
+      long seconds = rs.getLong("Seconds_Behind_Source");
+      return rs.wasNull() ? null : seconds;
+    }
+  }
+
+  boolean replicaHealthy() {
+    return replicaHealthy;
+  }
+
+  // null si no se mide (maxLag = 0) o la réplica no replica
+  Long lastLagSeconds() {
+    return lastLagSeconds;
+  }
+
+  String unhealthyReason() {
+    return unhealthyReason;
+  }
+
+  Duration maxLag() {
+    return maxLag;
+  }
+
+  private void markUnhealthy(String reason) {
+    unhealthyReason = reason;
+    if (replicaHealthy) {
+      replicaHealthy = false;
+      logger.warn("Read replica unhealthy ({}): routing reads to the primary", reason);
+    }
+  }
+
+  private static Counter connections(MeterRegistry registry, Target target) {
+    return Counter.builder("events.datasource.connections")
+        .description("Physical connections obtained through the routing DataSource")
+        .tag("target", target.name().toLowerCase())
+        .register(registry);
+  }
+}
@@ -1,23 +1,41 @@
 package com.tfm.bandas.events.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 @Configuration
@@ -25,12 +43,18 @@ import java.util.List;
 public class SecurityConfig {
 
   @Bean
-  SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder, EventAuthProperties authProps,
+                                         MeterRegistry registry) throws Exception {
     var conv = new JwtAuthenticationConverter();
     // Extraemos los roles del claim "realm_access" de Keycloak
     // y los convertimos a GrantedAuthority con prefijo "ROLE_"
     // para que Spring Security los reconozca como roles
     conv.setJwtGrantedAuthoritiesConverter(SecurityConfig::extractRealmRoles);
+    var provider = new JwtAuthenticationProvider(jwtDecoder);
+    provider.setJwtAuthenticationConverter(conv);
+    AuthenticationManager jwtAuthentication = authProps.tokenCacheEnabled()
+        ? new CachingJwtAuthenticationManager(provider, authProps.tokenCacheMaxSize(), registry)
+        : new ProviderManager(provider);
 
     http
             .csrf(AbstractHttpConfigurer::disable)
@@ -38,6 +62,9 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers("/actuator/health", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
+                    // Endpoints públicos (calendario JSON e .ics): deben ir antes de la regla general de lectura
+                    .requestMatchers(HttpMethod.GET, "/api/events/public/**").permitAll()
+
                     // Lectura: ADMIN o MUSICIAN
                     .requestMatchers(HttpMethod.GET, "/api/events/**").hasAnyRole("ADMIN","MUSICIAN")
 
@@ -46,12 +73,9 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.PUT,  "/api/events/**").hasRole("ADMIN")
                     .requestMatchers(HttpMethod.DELETE,"/api/events/**").hasRole("ADMIN")
 
-                    // Endpoint público de calendario (lo añadimos en D)
-                    .requestMatchers(HttpMethod.GET, "/api/public/events/calendar").permitAll()
-
                     .anyRequest().authenticated()
             )
-            .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt.jwtAuthenticationConverter(conv)));
+            .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt.authenticationManager(jwtAuthentication)));
 
     return http.build();
   }
@@ -63,13 +87,41 @@ public class SecurityConfig {
    * @param jwt
    * @return
    */
-  private static Collection<GrantedAuthority> extractRealmRoles(Jwt jwt) {
-    var out = new HashSet<SimpleGrantedAuthority>();
+  static Collection<GrantedAuthority> extractRealmRoles(Jwt jwt) {
+    var out = new HashSet<GrantedAuthority>();
     var realm = jwt.getClaimAsMap("realm_access");
     if (realm != null && realm.get("roles") instanceof List<?> roles) {
       for (Object r : roles) out.add(new SimpleGrantedAuthority("ROLE_" + r.toString()));
     }
-    return new HashSet<GrantedAuthority>(out);
+    return out;
+  }
+
+  // Sustituye al decoder de Spring Boot (que espera a Keycloak cada vez que caduca su copia de las claves)
+  // por uno que verifica contra LocalJwkSource. Usa las mismas propiedades spring.security.oauth2.resourceserver.jwt
+  @Bean
+  LocalJwkSource localJwkSource(OAuth2ResourceServerProperties resourceServer, EventAuthProperties auth) {
+    var jwt = resourceServer.getJwt();
+    return new LocalJwkSource(jwt.getJwkSetUri(), jwt.getIssuerUri(), auth.jwks());
+  }
+
+  @Bean
+  JwtDecoder jwtDecoder(OAuth2ResourceServerProperties resourceServer, LocalJwkSource jwkSource) {
+    var jwt = resourceServer.getJwt();
+    var processor = new DefaultJWTProcessor<SecurityContext>();
+    processor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+        jwt.getJwsAlgorithms().stream().map(JWSAlgorithm::parse).collect(Collectors.toSet()), jwkSource));
+    // exp/nbf/iss los validan los OAuth2TokenValidator de Spring, no Nimbus
+    processor.setJWTClaimsSetVerifier((claims, context) -> {});
+    var decoder = new NimbusJwtDecoder(processor);
+    OAuth2TokenValidator<Jwt> validator = jwt.getIssuerUri() == null
+        ? JwtValidators.createDefault()
+        : JwtValidators.createDefaultWithIssuer(jwt.getIssuerUri());
+    if (!jwt.getAudiences().isEmpty()) {
+      validator = new DelegatingOAuth2TokenValidator<>(validator, new JwtClaimValidator<List<String>>(
+          JwtClaimNames.AUD, aud -> aud != null && !Collections.disjoint(aud, jwt.getAudiences())));
+    }
+    decoder.setJwtValidator(validator);
+    return decoder;
   }
 
   @Bean
@@ -77,7 +129,9 @@ public class SecurityConfig {
     var cfg = new CorsConfiguration();
     cfg.setAllowedOrigins(java.util.List.of("http://localhost:3000", "http://localhost:5173"));
     cfg.setAllowedMethods(java.util.List.of("GET","POST","PUT","DELETE","OPTIONS"));
-    cfg.setAllowedHeaders(java.util.List.of("Authorization","Content-Type"));
+    cfg.setAllowedHeaders(java.util.List.of("Authorization","Content-Type","If-Match","If-None-Match","Last-Event-ID"));
+    // El navegador solo deja leer el ETag (If-Match / If-None-Match) si se expone explícitamente
+    cfg.setExposedHeaders(java.util.List.of("ETag"));
     cfg.setAllowCredentials(true);
     var source = new UrlBasedCorsConfigurationSource();
     source.registerCorsConfiguration("/**", cfg);
@@ -0,0 +1,76 @@
+package com.tfm.bandas.events.config;
+
+import com.tfm.bandas.events.utils.Uuids;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ * Mapea ids String (UUID canónico) a columnas BINARY(16): la entidad, los DTOs y los parámetros JPQL siguen
+ * usando el String y la conversión se hace solo al enlazar/leer. Uso: {@code @Type(UuidBinaryType.class)}.
+ * <p>
+ * Un valor que no es un UUID no puede identificar ninguna fila: se enlaza como NULL, la comparación no casa
+ * y las búsquedas por id mal formado siguen acabando en 404.
+ */
+public class UuidBinaryType implements UserType<String> {
+
+  @Override
+  public int getSqlType() {
+    return Types.BINARY;
+  }
+
+  @Override
+  public Class<String> returnedClass() {
+    return String.class;
+  }
+
+  @Override
+  public boolean equals(String x, String y) {
+    return Objects.equals(x, y);
+  }
+
+  @Override
+  public int hashCode(String x) {
+    return Objects.hashCode(x);
+  }
+
+  @Override
+  public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+      throws SQLException {
+    return Uuids.fromBytes(rs.getBytes(position));
+  }
+
+  @Override
+  public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+      throws SQLException {
+    byte[] bytes = Uuids.toBytes(value);
+    if (bytes == null) st.setNull(index, Types.BINARY);
+    else st.setBytes(index, bytes);
+  }
+
+  @Override
+  public String deepCopy(String value) {
+    return value;
+  }
+
+  @Override
+  public boolean isMutable() {
+    return false;
+  }
+
+  @Override
+  public Serializable disassemble(String value) {
+    return value;
+  }
+
+  @Override
+  public String assemble(Serializable cached, Object owner) {
+    return (String) cached;
+  }
+}
@@ -0,0 +1,73 @@
+package com.tfm.bandas.events.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico de pinning: un hilo virtual que bloquea dentro de un {@code synchronized} (p. ej. JDBC llamado
+ * desde un compute() de ConcurrentHashMap/Caffeine) retiene su hilo portador. JFR emite jdk.VirtualThreadPinned
+ * y aquí se registra con la pila y se cuenta en events.vthreads.pinned.
+ */
+@Component
+@ConditionalOnProperty(prefix = "events.threads", name = "pinning-monitor", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int MAX_FRAMES = 8;
+
+  private final EventThreadsProperties props;
+  private final Counter pinned;
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(EventThreadsProperties props, MeterRegistry registry) {
+    this.props = props;
+    this.pinned = Counter.builder("events.vthreads.pinned")
+        .description("Virtual threads pinned to their carrier longer than events.threads.pinned-threshold")
+        .register(registry);
+  }
+
+  @PostConstruct
+  public void start() {
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(props.pinnedThreshold()).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::onPinned);
+    stream.startAsync();
+    logger.info("Virtual thread pinning monitor started (threshold {})", props.pinnedThreshold());
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (stream != null) stream.close();
+  }
+
+  private void onPinned(RecordedEvent event) {
+    pinned.increment();
+    logger.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), frames(event.getStackTrace()));
+  }
+
+  private static String frames(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) return "  <no stack trace>";
+    return stackTrace.getFrames().stream()
+        .limit(MAX_FRAMES)
+        .map(VirtualThreadPinningMonitor::frame)
+        .collect(Collectors.joining("\n"));
+  }
+
+  private static String frame(RecordedFrame f) {
+    return "  at " + f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+  }
+}
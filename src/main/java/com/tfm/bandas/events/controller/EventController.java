@@ -1,10 +1,29 @@
 package com.tfm.bandas.events.controller;
 
+import com.tfm.bandas.events.config.EventPaginationProperties;
+import com.tfm.bandas.events.config.PublicCalendarCacheProperties;
+import com.tfm.bandas.events.dto.CalendarDaySummaryDTO;
 import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+import com.tfm.bandas.events.dto.CalendarFeedDTO;
+import com.tfm.bandas.events.dto.EventBatchCreateRequestDTO;
+import com.tfm.bandas.events.dto.EventBatchItemResultDTO;
 import com.tfm.bandas.events.dto.EventCreateRequestDTO;
 import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.dto.EventSeriesCreateRequestDTO;
+import com.tfm.bandas.events.dto.EventSeriesDTO;
+import com.tfm.bandas.events.dto.EventSeriesExceptionRequestDTO;
+import com.tfm.bandas.events.dto.EventSyncPageDTO;
+import com.tfm.bandas.events.dto.Versioned;
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.logging.AccessLog;
+import com.tfm.bandas.events.service.CalendarFeedService;
+import com.tfm.bandas.events.service.EventChangeHub;
+import com.tfm.bandas.events.service.EventSeriesService;
 import com.tfm.bandas.events.service.EventService;
+import com.tfm.bandas.events.service.PublicCalendarCache;
 import com.tfm.bandas.events.utils.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,42 +31,121 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.UncheckedIOException;
 import java.time.Instant;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/events")
 public class EventController {
 
-    private static final Logger logger = LoggerFactory.getLogger(EventController.class);
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", java.nio.charset.StandardCharsets.UTF_8);
+
     private final EventService eventService;
+    private final EventSeriesService seriesService;
+    private final CalendarFeedService calendarFeedService;
+    private final EventChangeHub changeHub;
+    private final EventPaginationProperties pagination;
+    private final ObjectMapper objectMapper;
+    private final PublicCalendarCache publicCalendarCache;
+    private final PublicCalendarCacheProperties publicCalendarCacheProps;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
     public ResponseEntity<EventDTO> createEvent(@Valid @RequestBody EventCreateRequestDTO event) {
-        logger.info("Calling createEvent with arguments: {}", event);
         EventDTO response = eventService.createEvent(event);
-        logger.info("createEvent returning: {}", response);
         return EtagUtils.withEtag(ResponseEntity.status(HttpStatus.CREATED), response.version(), response);
     }
 
+    // Alta masiva en una sola transacción (todo o nada); devuelve el resultado y el ETag de cada elemento
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch")
+    public ResponseEntity<List<EventBatchItemResultDTO>> createEvents(@Valid @RequestBody EventBatchCreateRequestDTO batch) {
+        List<EventDTO> created = eventService.createEvents(batch.events());
+        List<EventBatchItemResultDTO> response = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            EventDTO event = created.get(i);
+            response.add(new EventBatchItemResultDTO(i, EtagUtils.toEtag(event.version()), event));
+        }
+        AccessLog.rows(response.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    // Serie recurrente: se guarda una vez y sus ocurrencias aparecen en los listados y el calendario por rango
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/series")
+    public ResponseEntity<EventSeriesDTO> createSeries(@Valid @RequestBody EventSeriesCreateRequestDTO series) {
+        EventSeriesDTO response = seriesService.createSeries(series);
+        return EtagUtils.withEtag(ResponseEntity.status(HttpStatus.CREATED), response.version(), response);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping("/series/{seriesId}")
+    public ResponseEntity<EventSeriesDTO> getSeries(@PathVariable String seriesId,
+                                                    @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        EventSeriesDTO response = seriesService.getSeries(seriesId);
+        String etag = EtagUtils.toEtag(response.version());
+        if (EtagUtils.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return EtagUtils.notModified(etag);
+        }
+        return EtagUtils.withEtag(ResponseEntity.ok(), etag, response);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/series/{seriesId}")
+    public ResponseEntity<Void> deleteSeries(@PathVariable String seriesId,
+                                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        int version = EtagUtils.parseIfMatchToVersion(ifMatch);
+        seriesService.deleteSeries(seriesId, version);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Excepción de una ocurrencia (cancelarla, moverla o cambiar título/ubicación/estado); If-Match con la versión de la serie
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/series/{seriesId}/exceptions/{originalStartAt}")
+    public ResponseEntity<EventSeriesDTO> putSeriesException(
+            @PathVariable String seriesId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant originalStartAt,
+            @Valid @RequestBody EventSeriesExceptionRequestDTO exception,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        int version = EtagUtils.parseIfMatchToVersion(ifMatch);
+        EventSeriesDTO response = seriesService.putException(seriesId, originalStartAt, exception, version);
+        return EtagUtils.withEtag(ResponseEntity.ok(), response.version(), response);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/series/{seriesId}/exceptions/{originalStartAt}")
+    public ResponseEntity<EventSeriesDTO> deleteSeriesException(
+            @PathVariable String seriesId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant originalStartAt,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        int version = EtagUtils.parseIfMatchToVersion(ifMatch);
+        EventSeriesDTO response = seriesService.deleteException(seriesId, originalStartAt, version);
+        return EtagUtils.withEtag(ResponseEntity.ok(), response.version(), response);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{eventId}")
     public ResponseEntity<EventDTO> updateEvent(@PathVariable String eventId, @Valid @RequestBody EventCreateRequestDTO event,
                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
-        logger.info("Calling updateEvent with eventId={}, event={}, ifMatch={}", eventId, event, ifMatch);
         int version = EtagUtils.parseIfMatchToVersion(ifMatch);
         EventDTO response = eventService.updateEvent(eventId, event, version);
-        logger.info("updateEvent returning: {}", response);
         return EtagUtils.withEtag(ResponseEntity.ok(), response.version(), response);
     }
 
@@ -55,20 +153,49 @@ public class EventController {
     @DeleteMapping("/{eventId}")
     public ResponseEntity<Void> deleteEvent(@PathVariable String eventId,
                                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
-        logger.info("Calling deleteEvent with idEvent={}, ifMatch={}", eventId, ifMatch);
         int version = EtagUtils.parseIfMatchToVersion(ifMatch);
         eventService.deleteEvent(eventId, version);
-        logger.info("deleteEvent Completed successfully");
         return ResponseEntity.noContent().build();
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
     @GetMapping("/{eventId}")
-    public ResponseEntity<EventDTO> getEvent(@PathVariable String eventId) {
-        logger.info("Calling getEvent with idEvent={}", eventId);
-        EventDTO response = eventService.getEvent(eventId);
-        logger.info("getEvent returning: {}", response);
-        return EtagUtils.withEtag(ResponseEntity.ok(), response.version(), response);
+    public ResponseEntity<EventDTO> getEvent(@PathVariable String eventId,
+                                             @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // La versión que el cliente ya conoce: no se le devuelve una anterior aunque la réplica vaya por detrás
+        EventDTO response = eventService.getEvent(eventId, EtagUtils.maxVersionIn(ifNoneMatch));
+        String etag = EtagUtils.toEtag(response.version());
+        if (EtagUtils.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return EtagUtils.notModified(etag);
+        }
+        return EtagUtils.withEtag(ResponseEntity.ok(), etag, response);
+    }
+
+    // Sincronización delta: cambios desde el token since (sin él, todos los eventos). 410 si el token ha caducado.
+    // Las series llegan como un cambio propio (campo series) con sus excepciones; el cliente expande las ocurrencias
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping("/changes")
+    public ResponseEntity<EventSyncPageDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        EventSyncPageDTO response = eventService.changesSince(since, CursorUtils.checkSize(size));
+        AccessLog.rows(response.changes().size());
+        return ResponseEntity.ok(response);
+    }
+
+    // Comprobación previa de solapes por ubicación (para validar formularios antes de guardar)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<String>> findLocationConflicts(
+            @RequestParam String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end,
+            @RequestParam(required = false) String excludeId
+    ) {
+        List<String> response = eventService.findLocationConflicts(location, start, end, excludeId);
+        AccessLog.rows(response.size());
+        return ResponseEntity.ok(response);
     }
 
     // Listado por rango (UTC)
@@ -77,11 +204,30 @@ public class EventController {
     public ResponseEntity<PaginatedResponse<EventDTO>> listBetweenEvents(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
-            @PageableDefault(size = 10) Pageable pageable
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountMode count,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        CountMode mode = pagination.countModeFor("list", count);
+        PaginatedResponse<EventDTO> response = mode == CountMode.EXACT
+                ? PaginatedResponse.from(eventService.listEventsBetween(from, to, pageable))
+                : PaginatedResponse.from(eventService.sliceEventsBetween(from, to, pageable),
+                        mode == CountMode.CACHED ? eventService.countEventsBetween(from, to) : null);
+        return pageResponse(response, ifNoneMatch, "list", from, to, pageable, mode);
+    }
+
+    // Listado por rango en modo cursor (keyset): se activa enviando el parámetro "cursor" (vacío en la primera página)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginatedResponse<EventDTO>> listBetweenEventsByCursor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
     ) {
-        logger.info("Calling listBetweenEvents with from={}, to={}, pageable={}", from, to, pageable);
-        PaginatedResponse<EventDTO> response = PaginatedResponse.from(eventService.listEventsBetween(from, to, pageable));
-        logger.info("listBetweenEvents returning: {}", response);
+        CursorPaginatedResponse<EventDTO> response = CursorPaginatedResponse.from(
+                eventService.scrollEventsBetween(from, to, CursorUtils.decode(cursor), CursorUtils.checkSize(size)));
+        AccessLog.rows(response.content().size());
         return ResponseEntity.ok(response);
     }
 
@@ -91,11 +237,35 @@ public class EventController {
     public ResponseEntity<PaginatedResponse<EventDTO>> listPastEvents(
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant before,
-            @PageableDefault(size = 10) Pageable pageable
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountMode count,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        logger.info("Calling listPastEvents with before={}, pageable={}", before, pageable);
-        PaginatedResponse<EventDTO> response = PaginatedResponse.from(eventService.listEventsPast(before != null ? before : Instant.now(), pageable));
-        logger.info("listPastEvents returning: {}", response);
+        Instant effectiveBefore = before != null ? before : Instant.now();
+        CountMode mode = pagination.countModeFor("past", count);
+        // Con "before" por defecto (ahora) el total cacheado se calcula al minuto para que la clave se reutilice
+        PaginatedResponse<EventDTO> response = mode == CountMode.EXACT
+                ? PaginatedResponse.from(eventService.listEventsPast(effectiveBefore, pageable))
+                : PaginatedResponse.from(eventService.sliceEventsPast(effectiveBefore, pageable),
+                        mode == CountMode.CACHED
+                                ? eventService.countEventsPast(before != null ? before : effectiveBefore.truncatedTo(ChronoUnit.MINUTES))
+                                : null);
+        // Sin "before" explícito la clave no incluye "ahora": la huella sale de la propia página
+        return pageResponse(response, ifNoneMatch, "past", before, pageable, mode);
+    }
+
+    // Pasados en modo cursor (del más reciente al más antiguo)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping(value = "/past", params = "cursor")
+    public ResponseEntity<CursorPaginatedResponse<EventDTO>> listPastEventsByCursor(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant before,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        CursorPaginatedResponse<EventDTO> response = CursorPaginatedResponse.from(eventService.scrollEventsPast(
+                before != null ? before : Instant.now(), CursorUtils.decode(cursor), CursorUtils.checkSize(size)));
+        AccessLog.rows(response.content().size());
         return ResponseEntity.ok(response);
     }
 
@@ -105,32 +275,151 @@ public class EventController {
     public ResponseEntity<PaginatedResponse<CalendarEventItemDTO>> getPrivateCalendar(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
-            @PageableDefault(size = 10) Pageable pageable
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountMode count,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        logger.info("Calling getPrivateCalendar with from={}, to={}, pageable={}", from, to, pageable);
-        PaginatedResponse<CalendarEventItemDTO> response = PaginatedResponse.from(eventService.calendarBetween(from, to, pageable));
-        logger.info("getPrivateCalendar returning: {}", response);
+        CountMode mode = pagination.countModeFor("calendar", count);
+        PaginatedResponse<CalendarEventItemDTO> response = mode == CountMode.EXACT
+                ? PaginatedResponse.from(eventService.calendarBetween(from, to, pageable))
+                : PaginatedResponse.from(eventService.sliceCalendarBetween(from, to, pageable),
+                        mode == CountMode.CACHED ? eventService.countEventsBetween(from, to) : null);
+        return pageResponse(response, ifNoneMatch, "calendar", from, to, pageable, mode);
+    }
+
+    // Vista calendario en modo cursor
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping(value = "/calendar", params = "cursor")
+    public ResponseEntity<CursorPaginatedResponse<CalendarEventItemDTO>> getPrivateCalendarByCursor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        CursorPaginatedResponse<CalendarEventItemDTO> response = CursorPaginatedResponse.from(
+                eventService.scrollCalendarBetween(from, to, CursorUtils.decode(cursor), CursorUtils.checkSize(size)));
+        AccessLog.rows(response.content().size());
         return ResponseEntity.ok(response);
     }
 
 
-    @GetMapping("/public/calendar")
-    public ResponseEntity<PaginatedResponse<CalendarEventItemDTO>> getPublicCalendar(
+    // Igual para todos los visitantes anónimos: se sirve el JSON ya serializado de PublicCalendarCache.
+    // La clave es la ventana pedida tal cual (ampliarla cambiaría qué eventos salen en cada página), y
+    // Cache-Control permite que el proxy inverso la guarde también (revalidando con el ETag)
+    @GetMapping(value = "/public/calendar", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getPublicCalendar(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
-            @PageableDefault(size = 10) Pageable pageable
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(required = false) CountMode count,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        CountMode mode = pagination.countModeFor("public-calendar", count);
+        PublicCalendarCache.Entry entry = publicCalendarCache.get(publicCalendarCache.key(from, to, pageable, mode),
+                () -> loadPublicCalendar(from, to, pageable, mode));
+        CacheControl cacheControl = CacheControl.maxAge(publicCalendarCacheProps.maxAge()).cachePublic();
+        if (EtagUtils.matchesIfNoneMatch(ifNoneMatch, entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header(HttpHeaders.ETAG, entry.etag())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        AccessLog.rows(entry.rows());
+        return EtagUtils.withEtag(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING), entry.etag(), entry.json());
+    }
+
+    private PublicCalendarCache.Entry loadPublicCalendar(Instant from, Instant to, Pageable pageable, CountMode mode) {
+        PaginatedResponse<CalendarEventItemDTO> response = mode == CountMode.EXACT
+                ? PaginatedResponse.from(eventService.calendarBetweenPublic(from, to, pageable))
+                : PaginatedResponse.from(eventService.sliceCalendarBetweenPublic(from, to, pageable),
+                        mode == CountMode.CACHED ? eventService.countEventsBetweenPublic(from, to) : null);
+        String etag = EtagUtils.toCollectionEtag(response, "public-calendar", from, to, pageable, mode);
+        try {
+            return new PublicCalendarCache.Entry(objectMapper.writeValueAsBytes(response), etag, response.content().size());
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+
+    // Un 304 ahorra la serialización y la transferencia, no la consulta de la página: el ETag sale de las filas
+    // leídas y no de un agregado sobre toda la ventana, que costaba tanto como la propia página
+    private static <T extends Versioned> ResponseEntity<PaginatedResponse<T>> pageResponse(PaginatedResponse<T> response, String ifNoneMatch,
+                                                                         Object... queryKey) {
+        String etag = EtagUtils.toCollectionEtag(response, queryKey);
+        if (EtagUtils.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return EtagUtils.notModified(etag);
+        }
+        AccessLog.rows(response.content().size());
+        return EtagUtils.withEtag(ResponseEntity.ok(), etag, response);
+    }
+
+
+    // Vista mes/semana: recuento por día (events.calendar.time-zone), tipo y estado, sin cargar eventos. from/to son fechas incluidas
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping("/calendar/summary")
+    public ResponseEntity<List<CalendarDaySummaryDTO>> getPrivateCalendarSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        logger.info("Calling getPublicCalendar with from={}, to={}, pageable={}", from, to, pageable);
-        PaginatedResponse<CalendarEventItemDTO> response = PaginatedResponse.from(eventService.calendarBetweenPublic(from, to, pageable));
-        logger.info("getPublicCalendar returning: {}", response);
+        List<CalendarDaySummaryDTO> response = eventService.calendarSummary(from, to);
+        AccessLog.rows(response.size());
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/public/calendar/summary")
+    public ResponseEntity<List<CalendarDaySummaryDTO>> getPublicCalendarSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<CalendarDaySummaryDTO> response = eventService.calendarSummaryPublic(from, to);
+        AccessLog.rows(response.size());
+        return ResponseEntity.ok(response);
+    }
+
+
+    // Cambios en tiempo real (SSE): created / updated / deleted; reset si no se puede reanudar desde Last-Event-ID
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return changeHub.subscribe(lastEventId);
+    }
+
+    // Feed iCalendar para suscripción (Google Calendar, móviles). Sin from/to: ventana por defecto de events.feed
+    @PreAuthorize("hasAnyRole('ADMIN', 'MUSICIAN')")
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<byte[]> getPrivateIcsFeed(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return icsResponse(calendarFeedService.bandFeed(from, to), ifNoneMatch);
+    }
+
+    @GetMapping("/public/calendar.ics")
+    public ResponseEntity<byte[]> getPublicIcsFeed(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return icsResponse(calendarFeedService.publicFeed(from, to), ifNoneMatch);
+    }
+
+    private static ResponseEntity<byte[]> icsResponse(CalendarFeedDTO feed, String ifNoneMatch) {
+        if (EtagUtils.matchesIfNoneMatch(ifNoneMatch, feed.etag())) {
+            return EtagUtils.notModified(feed.etag());
+        }
+        return EtagUtils.withEtag(ResponseEntity.ok().contentType(TEXT_CALENDAR), feed.etag(), feed.content());
+    }
 
     @PreAuthorize("hasAnyRole('ADMIN','MUSICIAN')")
     @GetMapping("/search")
     public ResponseEntity<PaginatedResponse<EventDTO>> searchEvents(
-            // Texto libre en title/description/location
+            // Texto libre en title/description/location (FULLTEXT, por prefijo e insensible a acentos)
             @RequestParam(required = false, name = "q") String qText,
             // Filtros específicos
             @RequestParam(required = false) String title,
@@ -139,18 +428,76 @@ public class EventController {
             @RequestParam(required = false) EventType type,
             @RequestParam(required = false) EventStatus status,
             @RequestParam(required = false) EventVisibility visibility,
-            // Paginación / ordenación
-            @PageableDefault(size = 20, sort = "startAt", direction = Sort.Direction.ASC) Pageable pageable
+            // Paginación / ordenación (sort=relevance ordena por relevancia del texto libre)
+            @PageableDefault(size = 20, sort = "startAt", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam(required = false) CountMode count
+    ) {
+      CountMode mode = pagination.countModeFor("search", count);
+      PaginatedResponse<EventDTO> response = mode == CountMode.EXACT
+              ? PaginatedResponse.from(eventService.searchEvents(
+                      qText, title, description, location, type, status, visibility, pageable))
+              : PaginatedResponse.from(eventService.sliceSearchEvents(
+                      qText, title, description, location, type, status, visibility, pageable),
+                      mode == CountMode.CACHED
+                              ? eventService.countSearchEvents(qText, title, description, location, type, status, visibility)
+                              : null);
+        AccessLog.rows(response.content().size());
+      return ResponseEntity.ok(response);
+    }
+
+    // Búsqueda en modo cursor: ordenada siempre por (startAt, id)
+    @PreAuthorize("hasAnyRole('ADMIN','MUSICIAN')")
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<CursorPaginatedResponse<EventDTO>> searchEventsByCursor(
+            @RequestParam(required = false, name = "q") String qText,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) EventType type,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) EventVisibility visibility,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
     ) {
-      logger.info("Calling searchEvents with qText={}, title={}, description={}, location={}, type={}, status={}, visibility={}, pageable={}",
-              qText, title, description, location, type, status, visibility, pageable);
-      PaginatedResponse<EventDTO> response = PaginatedResponse.from(eventService.searchEvents(
-              qText, title, description, location, type, status, visibility, pageable
+      CursorPaginatedResponse<EventDTO> response = CursorPaginatedResponse.from(eventService.scrollSearchEvents(
+              qText, title, description, location, type, status, visibility,
+              CursorUtils.decode(cursor), CursorUtils.checkSize(size)
       ));
-        logger.info("searchEvents returning: {}", response);
+      AccessLog.rows(response.content().size());
       return ResponseEntity.ok(response);
     }
 
+    // Exportación masiva en streaming (NDJSON o CSV): rango opcional + mismos filtros que /search
+    @PreAuthorize("hasAnyRole('ADMIN','MUSICIAN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false, name = "q") String qText,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) EventType type,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) EventVisibility visibility,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        if ((from == null) != (to == null)) {
+            throw new BadRequestException("from and to must be provided together");
+        }
+        LongConsumer rows = AccessLog.rowsRecorder();
+        StreamingResponseBody body = out -> {
+            EventExportWriter writer = new EventExportWriter(format, out, objectMapper);
+            eventService.exportEvents(from, to, qText, title, description, location, type, status, visibility, writer);
+            rows.accept(writer.finish());
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("events." + format.extension()).build().toString())
+                .body(body);
+    }
+
     // Placeholder para partituras (hasta que exista el micro de Partituras)
     @GetMapping("/{eventId}/scores")
     public ResponseEntity<PaginatedResponse<Object>> scoresPlaceholder(@PathVariable String eventId) {
@@ -0,0 +1,15 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Resumen de un día (UTC) para las vistas mes/semana: solo los días con eventos
+public record CalendarDaySummaryDTO(
+    LocalDate day,
+    long total,
+    Map<EventType, Long> byType,
+    Map<EventStatus, Long> byStatus
+) {}
@@ -7,6 +7,7 @@ import java.time.Instant;
 
 public record CalendarEventItemDTO(
     String id,
+    int version,
     String title,
     Instant start,
     Instant end,
@@ -14,4 +15,4 @@ public record CalendarEventItemDTO(
     EventType type,
     EventStatus status,
     String location
-) {}
+) implements Versioned {}
@@ -0,0 +1,7 @@
+package com.tfm.bandas.events.dto;
+
+// Feed .ics ya renderizado (UTF-8) y su ETag
+public record CalendarFeedDTO(
+    byte[] content,
+    String etag
+) {}
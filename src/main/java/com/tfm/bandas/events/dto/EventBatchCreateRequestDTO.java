@@ -0,0 +1,12 @@
+package com.tfm.bandas.events.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+// Alta masiva: todo o nada; el tamaño máximo lo fija events.rules.max-batch-size
+public record EventBatchCreateRequestDTO(
+    @NotEmpty List<@Valid @NotNull EventCreateRequestDTO> events
+) {}
@@ -0,0 +1,8 @@
+package com.tfm.bandas.events.dto;
+
+// Resultado por elemento del lote, en el mismo orden que la petición
+public record EventBatchItemResultDTO(
+    int index,
+    String etag,
+    EventDTO event
+) {}
@@ -0,0 +1,12 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventChangeType;
+
+// Notificación de cambio (SSE /api/events/stream). En DELETED, event es el último estado conocido. En una serie,
+// id es el de la serie y event la ocurrencia afectada
+public record EventChangeDTO(
+    EventChangeType type,
+    String id,
+    int version,
+    CalendarEventItemDTO event
+) {}
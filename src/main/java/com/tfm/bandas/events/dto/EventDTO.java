@@ -17,4 +17,4 @@ public record EventDTO(
     EventVisibility visibility,
     Instant startAt,
     Instant endAt
-) {}
+) implements Versioned {}
@@ -0,0 +1,14 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+
+import java.time.LocalDate;
+
+// Fila agregada de event_day_summary: eventos de un día con un tipo y estado concretos
+public record EventDaySummaryRowDTO(
+    LocalDate day,
+    EventType type,
+    EventStatus status,
+    Long count
+) {}
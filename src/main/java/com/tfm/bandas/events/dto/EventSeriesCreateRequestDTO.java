@@ -0,0 +1,33 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import com.tfm.bandas.events.utils.RecurrenceFrequency;
+import jakarta.validation.constraints.*;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Set;
+
+public record EventSeriesCreateRequestDTO(
+        @NotBlank @Size(max = 200) String title,
+        @Size(max = 5000) String description,
+        @Size(max = 255) String location,
+        @NotNull EventType type,
+        EventStatus status, // opcional; si null => SCHEDULED
+        @NotNull EventVisibility visibility,
+
+        // Primera ocurrencia; su hora local en timeZone se repite en todas las demás
+        @NotNull Instant startAt,
+        @NotNull Instant endAt,
+        @NotBlank @Size(max = 50) String timeZone,
+
+        @NotNull RecurrenceFrequency frequency,
+        @Min(1) Integer interval, // opcional; si null => 1
+        Set<DayOfWeek> byDays,    // solo WEEKLY; si vacío => el día de startAt
+
+        // Exactamente uno de los dos
+        Instant until,
+        @Positive Integer count
+) {}
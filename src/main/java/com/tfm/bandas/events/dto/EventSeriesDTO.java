@@ -0,0 +1,30 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import com.tfm.bandas.events.utils.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public record EventSeriesDTO(
+    String id,
+    int version,
+    String title,
+    String description,
+    String location,
+    EventType type,
+    EventStatus status,
+    EventVisibility visibility,
+    Instant startAt,
+    Instant endAt,
+    String timeZone,
+    RecurrenceFrequency frequency,
+    int interval,
+    Set<DayOfWeek> byDays,
+    Instant lastStartAt,
+    List<EventSeriesExceptionDTO> exceptions
+) {}
@@ -0,0 +1,16 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventStatus;
+
+import java.time.Instant;
+
+public record EventSeriesExceptionDTO(
+    String occurrenceId,
+    Instant originalStartAt,
+    boolean canceled,
+    Instant startAt,
+    Instant endAt,
+    String title,
+    String location,
+    EventStatus status
+) {}
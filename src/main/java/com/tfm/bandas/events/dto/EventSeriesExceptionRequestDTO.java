@@ -0,0 +1,16 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventStatus;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+// Cambios sobre una ocurrencia; los campos null conservan el valor de la serie
+public record EventSeriesExceptionRequestDTO(
+        boolean canceled,
+        Instant startAt,
+        Instant endAt,
+        @Size(max = 200) String title,
+        @Size(max = 255) String location,
+        EventStatus status
+) {}
@@ -0,0 +1,17 @@
+package com.tfm.bandas.events.dto;
+
+import com.tfm.bandas.events.utils.EventChangeType;
+
+import java.time.Instant;
+
+// Cambio de GET /api/events/changes. changedAt es updated_at (o el momento del borrado), solo informativo: el orden
+// del flujo es el de commit (sync_seq). Un cambio de serie lleva series (con sus excepciones) en lugar de event; en
+// DELETED ambos son null y el id puede ser de un evento o de una serie (con todas sus ocurrencias)
+public record EventSyncChangeDTO(
+    EventChangeType type,
+    String id,
+    int version,
+    Instant changedAt,
+    EventDTO event,
+    EventSeriesDTO series
+) {}
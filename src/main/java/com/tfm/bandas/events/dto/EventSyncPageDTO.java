@@ -0,0 +1,10 @@
+package com.tfm.bandas.events.dto;
+
+import java.util.List;
+
+// Página de sincronización delta: el cliente guarda nextToken y lo envía como since; si hasMore, pide ya la siguiente
+public record EventSyncPageDTO(
+    List<EventSyncChangeDTO> changes,
+    String nextToken,
+    boolean hasMore
+) {}
@@ -0,0 +1,10 @@
+package com.tfm.bandas.events.dto;
+
+import java.time.Instant;
+
+// Huella barata de una ventana de eventos: cualquier alta, baja o modificación cambia al menos uno de los campos
+public record EventWindowStatsDTO(
+    Long count,
+    Instant maxUpdatedAt,
+    Long versionSum
+) {}
@@ -0,0 +1,11 @@
+package com.tfm.bandas.events.dto;
+
+import java.time.Instant;
+
+// Franja ocupada en una ubicación (solo lo necesario para validar solapes)
+public record LocationSlotDTO(
+    String id,
+    String location,
+    Instant startAt,
+    Instant endAt
+) {}
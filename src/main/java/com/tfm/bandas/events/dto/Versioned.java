@@ -0,0 +1,8 @@
+package com.tfm.bandas.events.dto;
+
+// Fila con @Version: id y versión bastan para saber si ha cambiado (ETag de colección, EtagUtils)
+public interface Versioned {
+  String id();
+
+  int version();
+}
@@ -4,11 +4,12 @@ import com.tfm.bandas.events.dto.CalendarEventItemDTO;
 import com.tfm.bandas.events.dto.EventCreateRequestDTO;
 import com.tfm.bandas.events.dto.EventDTO;
 import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.model.entity.EventArchiveEntity;
 import com.tfm.bandas.events.model.entity.EventEntity;
 import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.Uuids;
 
 import java.time.Instant;
-import java.util.UUID;
 
 public class EventMapper {
 
@@ -18,7 +19,7 @@ public class EventMapper {
     }
 
     return EventEntity.builder()
-        .id(UUID.randomUUID().toString())
+        .id(Uuids.v7())
         .title(req.title())
         .description(req.description())
         .location(req.location())
@@ -60,9 +61,25 @@ public class EventMapper {
     );
   }
 
+  public static EventDTO toResponse(EventArchiveEntity e) {
+    return new EventDTO(
+        e.getId(),
+        e.getVersion(),
+        e.getTitle(),
+        e.getDescription(),
+        e.getLocation(),
+        e.getType(),
+        e.getStatus(),
+        e.getVisibility(),
+        e.getStartAt(),
+        e.getEndAt()
+    );
+  }
+
   public static CalendarEventItemDTO toCalendarItem(EventEntity e) {
     return new CalendarEventItemDTO(
         e.getId(),
+        e.getVersion(),
         e.getTitle(),
         e.getStartAt(),
         e.getEndAt(),
@@ -72,4 +89,32 @@ public class EventMapper {
         e.getLocation()
     );
   }
+
+  public static CalendarEventItemDTO toCalendarItem(EventArchiveEntity e) {
+    return new CalendarEventItemDTO(
+        e.getId(),
+        e.getVersion(),
+        e.getTitle(),
+        e.getStartAt(),
+        e.getEndAt(),
+        false,
+        e.getType(),
+        e.getStatus(),
+        e.getLocation()
+    );
+  }
+
+  public static CalendarEventItemDTO toCalendarItem(EventDTO e) {
+    return new CalendarEventItemDTO(
+        e.id(),
+        e.version(),
+        e.title(),
+        e.startAt(),
+        e.endAt(),
+        false,
+        e.type(),
+        e.status(),
+        e.location()
+    );
+  }
 }
@@ -0,0 +1,141 @@
+package com.tfm.bandas.events.dto.mapper;
+
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.dto.EventSeriesCreateRequestDTO;
+import com.tfm.bandas.events.dto.EventSeriesDTO;
+import com.tfm.bandas.events.dto.EventSeriesExceptionDTO;
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.model.entity.EventSeriesEntity;
+import com.tfm.bandas.events.model.entity.EventSeriesExceptionEntity;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.Recurrence;
+import com.tfm.bandas.events.utils.RecurrenceFrequency;
+import com.tfm.bandas.events.utils.Uuids;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class EventSeriesMapper {
+
+  // RECURRENCE-ID en UTC (RFC 5545): el id de una ocurrencia es "<serie>_20251006T180000Z"
+  private static final DateTimeFormatter RECURRENCE_ID =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+  public static EventSeriesEntity toEntityNew(EventSeriesCreateRequestDTO req) {
+    if (!req.endAt().isAfter(req.startAt())) {
+      throw new BadRequestException("end must be after start");
+    }
+    if ((req.until() == null) == (req.count() == null)) {
+      throw new BadRequestException("exactly one of until and count must be provided");
+    }
+    zone(req.timeZone());
+
+    return EventSeriesEntity.builder()
+        .id(Uuids.v7())
+        .title(req.title())
+        .description(req.description())
+        .location(req.location())
+        .type(req.type())
+        .status(req.status() == null ? EventStatus.SCHEDULED : req.status())
+        .visibility(req.visibility())
+        .timeZone(req.timeZone())
+        .firstStartAt(req.startAt())
+        .durationMinutes((int) Duration.between(req.startAt(), req.endAt()).toMinutes())
+        .frequency(req.frequency())
+        .intervalCount(req.interval() == null ? 1 : req.interval())
+        .byDays(req.frequency() == RecurrenceFrequency.WEEKLY && req.byDays() != null && !req.byDays().isEmpty()
+            ? Recurrence.formatDays(req.byDays()) : null)
+        .build();
+  }
+
+  public static Recurrence toRecurrence(EventSeriesEntity s, Instant until) {
+    return new Recurrence(s.getFirstStartAt(), zone(s.getTimeZone()), s.getFrequency(), s.getIntervalCount(),
+        Recurrence.parseDays(s.getByDays()), until);
+  }
+
+  public static Recurrence toRecurrence(EventSeriesEntity s) {
+    return toRecurrence(s, s.getUntilAt());
+  }
+
+  public static EventSeriesDTO toResponse(EventSeriesEntity s, List<EventSeriesExceptionEntity> exceptions) {
+    Recurrence recurrence = toRecurrence(s);
+    return new EventSeriesDTO(
+        s.getId(),
+        s.getVersion(),
+        s.getTitle(),
+        s.getDescription(),
+        s.getLocation(),
+        s.getType(),
+        s.getStatus(),
+        s.getVisibility(),
+        s.getFirstStartAt(),
+        s.getFirstStartAt().plus(Duration.ofMinutes(s.getDurationMinutes())),
+        s.getTimeZone(),
+        s.getFrequency(),
+        s.getIntervalCount(),
+        recurrence.byDays(),
+        s.getUntilAt(),
+        exceptions.stream().map(EventSeriesMapper::toExceptionResponse).toList()
+    );
+  }
+
+  public static EventSeriesExceptionDTO toExceptionResponse(EventSeriesExceptionEntity x) {
+    return new EventSeriesExceptionDTO(
+        occurrenceId(x.getSeriesId(), x.getOriginalStartAt()),
+        x.getOriginalStartAt(),
+        x.isCanceled(),
+        x.getStartAt(),
+        x.getEndAt(),
+        x.getTitle(),
+        x.getLocation(),
+        x.getStatus()
+    );
+  }
+
+  // Ocurrencia con la excepción aplicada (exception puede ser null); la versión es la de la serie
+  public static EventDTO toOccurrence(EventSeriesEntity s, Instant originalStart, EventSeriesExceptionEntity exception) {
+    Instant start = originalStart;
+    Instant end = originalStart.plus(Duration.ofMinutes(s.getDurationMinutes()));
+    String title = s.getTitle();
+    String location = s.getLocation();
+    EventStatus status = s.getStatus();
+    if (exception != null) {
+      if (exception.getStartAt() != null) {
+        start = exception.getStartAt();
+        end = exception.getEndAt();
+      }
+      if (exception.getTitle() != null) title = exception.getTitle();
+      if (exception.getLocation() != null) location = exception.getLocation();
+      if (exception.getStatus() != null) status = exception.getStatus();
+    }
+    return new EventDTO(
+        occurrenceId(s.getId(), originalStart),
+        s.getVersion(),
+        title,
+        s.getDescription(),
+        location,
+        s.getType(),
+        status,
+        s.getVisibility(),
+        start,
+        end
+    );
+  }
+
+  public static String occurrenceId(String seriesId, Instant originalStart) {
+    return seriesId + "_" + RECURRENCE_ID.format(originalStart);
+  }
+
+  private static ZoneId zone(String timeZone) {
+    try {
+      return ZoneId.of(timeZone);
+    } catch (DateTimeException e) {
+      throw new BadRequestException("invalid timeZone: " + timeZone);
+    }
+  }
+}
@@ -4,9 +4,11 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,6 +30,13 @@ public class ApiExceptionHandler {
     return Map.of("error", "Not Found", "message", ex.getMessage());
   }
 
+  // Más específico que BadRequestException: añade los ids en conflicto
+  @ExceptionHandler(OverlapConflictException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Map<String, Object> handleOverlap(OverlapConflictException ex) {
+    return Map.of("error", "Bad Request", "message", ex.getMessage(), "conflictingEventIds", ex.getConflictingEventIds());
+  }
+
   @ExceptionHandler({ BadRequestException.class, IllegalArgumentException.class })
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public Map<String, Object> handleBadRequest(RuntimeException ex) {
@@ -84,12 +94,38 @@ public class ApiExceptionHandler {
     return Map.of("error", "Precondition Failed", "message", ex.getMessage());
   }
 
+  // Los eventos archivados (event_archive) son de solo lectura
+  @ExceptionHandler(ArchivedEventException.class)
+  @ResponseStatus(HttpStatus.CONFLICT) // 409
+  public Map<String, Object> handleArchived(RuntimeException ex) {
+    return Map.of("error", "Archived", "message", ex.getMessage());
+  }
+
+  // Token de sincronización anterior a la retención de lápidas: el cliente debe resincronizar sin since
+  @ExceptionHandler(SyncTokenExpiredException.class)
+  @ResponseStatus(HttpStatus.GONE) // 410
+  public Map<String, Object> handleSyncTokenExpired(RuntimeException ex) {
+    return Map.of("error", "Gone", "message", ex.getMessage());
+  }
+
   @ExceptionHandler(OptimisticLockingFailureException.class)
   @ResponseStatus(HttpStatus.CONFLICT) // 409
   public Map<String, Object> handleOptimisticLock(OptimisticLockingFailureException ex) {
     return Map.of("error", "Optimistic Lock", "message", ex.getMessage() != null ? ex.getMessage() : "Concurrent update detected");
   }
 
+  // Sin conexión libre en el pool tras connection-timeout: saturación transitoria, no error interno
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<Map<String, Object>> handleNoConnection(CannotCreateTransactionException ex) {
+    if (!(ex.getMostSpecificCause() instanceof SQLTransientConnectionException)) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body(Map.of("error", "Internal Error", "message", String.valueOf(ex.getMessage())));
+    }
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(Map.of("error", "Service Unavailable", "message", "Database connection pool exhausted, retry later"));
+  }
+
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public Map<String, Object> handleGeneric(Exception ex) {
@@ -0,0 +1,5 @@
+package com.tfm.bandas.events.exception;
+
+public class ArchivedEventException extends RuntimeException {
+  public ArchivedEventException(String msg) { super(msg); }
+}
@@ -0,0 +1,14 @@
+package com.tfm.bandas.events.exception;
+
+import java.util.List;
+
+public class OverlapConflictException extends BadRequestException {
+  private final List<String> conflictingEventIds;
+
+  public OverlapConflictException(String msg, List<String> conflictingEventIds) {
+    super(msg);
+    this.conflictingEventIds = List.copyOf(conflictingEventIds);
+  }
+
+  public List<String> getConflictingEventIds() { return conflictingEventIds; }
+}
@@ -0,0 +1,5 @@
+package com.tfm.bandas.events.exception;
+
+public class SyncTokenExpiredException extends RuntimeException {
+  public SyncTokenExpiredException(String msg) { super(msg); }
+}
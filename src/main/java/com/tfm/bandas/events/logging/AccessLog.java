@@ -0,0 +1,31 @@
+package com.tfm.bandas.events.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.LongConsumer;
+
+// Datos que el controlador aporta a la línea de access log (ids y recuentos, nunca payloads)
+public final class AccessLog {
+  private AccessLog() {}
+
+  static final String ROWS_ATTRIBUTE = AccessLog.class.getName() + ".rows";
+
+  public static void rows(long rows) {
+    rowsRecorder().accept(rows);
+  }
+
+  // Para respuestas en streaming: se obtiene en el hilo de la petición y se invoca desde el hilo asíncrono
+  // (se usa la petición y no RequestAttributes, que dejan de aceptar atributos al salir del hilo original)
+  public static LongConsumer rowsRecorder() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return rows -> {};
+    HttpServletRequest request = attributes.getRequest();
+    return rows -> request.setAttribute(ROWS_ATTRIBUTE, rows);
+  }
+
+  static String truncate(String value, int maxLength) {
+    if (value == null || value.length() <= maxLength) return value;
+    return value.substring(0, maxLength) + "...(" + value.length() + ")";
+  }
+}
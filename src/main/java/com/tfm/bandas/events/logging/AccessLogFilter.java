@@ -0,0 +1,90 @@
+package com.tfm.bandas.events.logging;
+
+import com.tfm.bandas.events.config.EventLoggingProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Una línea por petición en el logger events.access: método, ruta, estado, duración, filas y principal.
+ * Muestreo configurable para las correctas; errores y peticiones lentas se registran siempre.
+ * Se ejecuta antes de la cadena de seguridad para registrar también los 401/403 que esta corta. Al volver de la
+ * cadena el SecurityContextHolder ya está limpio: el principal se lee al escribir la línea del atributo de petición
+ * donde BearerTokenAuthenticationFilter guarda el contexto.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+  private static final Logger accessLog = LoggerFactory.getLogger("events.access");
+  private static final SecurityContextRepository contexts = new RequestAttributeSecurityContextRepository();
+
+  private final EventLoggingProperties props;
+
+  public AccessLogFilter(EventLoggingProperties props) {
+    this.props = props;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !props.accessLogEnabled() || !accessLog.isInfoEnabled() || request.getRequestURI().startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long started = System.nanoTime();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (request.isAsyncStarted()) {
+        // Streaming/SSE: el estado y las filas definitivos se conocen al terminar la respuesta asíncrona
+        request.getAsyncContext().addListener(new AsyncListener() {
+          @Override public void onComplete(AsyncEvent event) { log(request, response, started); }
+          @Override public void onTimeout(AsyncEvent event) {}
+          @Override public void onError(AsyncEvent event) {}
+          @Override public void onStartAsync(AsyncEvent event) {}
+        });
+      } else {
+        log(request, response, started);
+      }
+    }
+  }
+
+  private void log(HttpServletRequest request, HttpServletResponse response, long started) {
+    long durationMs = (System.nanoTime() - started) / 1_000_000;
+    int status = response.getStatus();
+    boolean always = status >= 400 || durationMs >= props.slowThreshold().toMillis();
+    if (!always && ThreadLocalRandom.current().nextDouble() >= props.accessSampleRate()) return;
+
+    accessLog.info("method={} path={} query=\"{}\" status={} durationMs={} rows={} principal={}",
+        request.getMethod(),
+        request.getRequestURI(),
+        AccessLog.truncate(request.getQueryString(), props.maxValueLength()),
+        status,
+        durationMs,
+        request.getAttribute(AccessLog.ROWS_ATTRIBUTE),
+        principal(request));
+  }
+
+  // Sin token (401) no hay principal; con un rol insuficiente (403) sí
+  private static String principal(HttpServletRequest request) {
+    Authentication auth = contexts.loadDeferredContext(request).get().getAuthentication();
+    return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+  }
+}
@@ -0,0 +1,36 @@
+package com.tfm.bandas.events.logging;
+
+import com.tfm.bandas.events.config.EventLoggingProperties;
+import com.tfm.bandas.events.dto.EventChangeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Auditoría de escrituras confirmadas (logger events.audit, sin muestreo): quién, qué evento y qué versión
+@Component
+public class AuditLogListener {
+
+  private static final Logger auditLog = LoggerFactory.getLogger("events.audit");
+
+  private final EventLoggingProperties props;
+
+  public AuditLogListener(EventLoggingProperties props) {
+    this.props = props;
+  }
+
+  // Tras el commit y en el hilo de la petición: el SecurityContext sigue disponible
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEventChanged(EventChangeDTO change) {
+    if (!auditLog.isInfoEnabled()) return;
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    auditLog.info("action={} eventId={} version={} principal={} title=\"{}\"",
+        change.type(),
+        change.id(),
+        change.version(),
+        auth != null ? auth.getName() : null,
+        change.event() != null ? AccessLog.truncate(change.event().title(), props.maxValueLength()) : null);
+  }
+}
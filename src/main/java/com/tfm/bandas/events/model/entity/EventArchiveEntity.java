@@ -0,0 +1,71 @@
+package com.tfm.bandas.events.model.entity;
+
+import com.tfm.bandas.events.config.UuidBinaryType;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
+
+// Evento archivado (event_archive): solo lectura. Lo escribe EventArchiver con INSERT ... SELECT desde event
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "event_archive", indexes = {
+  @Index(name = "idx_event_archive_start_at", columnList = "start_at"),
+  @Index(name = "idx_event_archive_visibility_start", columnList = "visibility,start_at"),
+  @Index(name = "idx_event_archive_calendar", columnList = "start_at,end_at,type,status,location,title"),
+  @Index(name = "idx_event_archive_visibility_calendar", columnList = "visibility,start_at,end_at,type,status,location,title"),
+  @Index(name = "idx_event_archive_end", columnList = "end_at")
+})
+public class EventArchiveEntity {
+
+  @Id
+  @Type(UuidBinaryType.class)
+  @Column(columnDefinition = "binary(16)", nullable = false)
+  private String id;
+
+  @Column(name = "version", nullable = false)
+  private Integer version;
+
+  @Column(nullable = false, length = 200)
+  private String title;
+
+  @Column(columnDefinition = "text")
+  private String description;
+
+  @Column(name = "start_at", nullable = false)
+  private Instant startAt;
+
+  @Column(name = "end_at", nullable = false)
+  private Instant endAt;
+
+  @Column(length = 255)
+  private String location;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventType type;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventVisibility visibility;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Column(name = "archived_at", nullable = false)
+  private Instant archivedAt;
+}
@@ -0,0 +1,50 @@
+package com.tfm.bandas.events.model.entity;
+
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Contador de eventos por día (UTC), visibilidad, tipo y estado. Solo se modifica con upserts de EventDaySummaryRepository
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Entity
+@Table(name = "event_day_summary")
+@IdClass(EventDaySummaryEntity.Key.class)
+public class EventDaySummaryEntity {
+
+  @Id
+  @Column(nullable = false)
+  private LocalDate day;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventVisibility visibility;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventType type;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventStatus status;
+
+  @Column(name = "event_count", nullable = false)
+  private int eventCount;
+
+  @Data
+  @NoArgsConstructor @AllArgsConstructor
+  public static class Key implements Serializable {
+    private LocalDate day;
+    private EventVisibility visibility;
+    private EventType type;
+    private EventStatus status;
+  }
+}
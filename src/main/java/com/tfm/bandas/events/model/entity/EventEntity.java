@@ -1,11 +1,13 @@
 package com.tfm.bandas.events.model.entity;
 
+import com.tfm.bandas.events.config.UuidBinaryType;
 import com.tfm.bandas.events.utils.EventStatus;
 import com.tfm.bandas.events.utils.EventType;
 import com.tfm.bandas.events.utils.EventVisibility;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.Instant;
 
@@ -13,14 +15,21 @@ import java.time.Instant;
 @NoArgsConstructor @AllArgsConstructor
 @Entity
 @Table(name = "event", indexes = {
-  @Index(name = "idx_events_start_at", columnList = "start_at"),
-  @Index(name = "idx_events_visibility_start", columnList = "visibility,start_at")
+  @Index(name = "idx_event_start_at", columnList = "start_at"),
+  @Index(name = "idx_event_visibility_start", columnList = "visibility,start_at"),
+  @Index(name = "idx_event_calendar", columnList = "start_at,end_at,type,status,location,title"),
+  @Index(name = "idx_event_visibility_calendar", columnList = "visibility,start_at,end_at,type,status,location,title"),
+  @Index(name = "idx_event_location_start_end", columnList = "location,start_at,end_at"),
+  @Index(name = "idx_event_sync", columnList = "sync_seq,id"),
+  @Index(name = "idx_event_end", columnList = "end_at")
 })
 public class EventEntity {
 
+  // UUIDv7 canónico en la API, BINARY(16) en la tabla
   @Id
-  @Column(length = 36, nullable = false)
-  private String id; // UUID as String
+  @Type(UuidBinaryType.class)
+  @Column(columnDefinition = "binary(16)", nullable = false)
+  private String id;
 
   @Version
   @Column(name = "version")
@@ -61,5 +70,9 @@ public class EventEntity {
   @Column(name = "updated_at")
   private Instant updatedAt;
 
+  // Posición en GET /api/events/changes: la escribe EventSyncClock antes del commit, nunca Hibernate
+  @Column(name = "sync_seq", insertable = false, updatable = false)
+  private Long syncSeq;
+
 
 }
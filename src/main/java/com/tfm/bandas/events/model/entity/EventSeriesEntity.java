@@ -0,0 +1,92 @@
+package com.tfm.bandas.events.model.entity;
+
+import com.tfm.bandas.events.config.UuidBinaryType;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import com.tfm.bandas.events.utils.RecurrenceFrequency;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+@Entity
+@Table(name = "event_series", indexes = {
+  @Index(name = "idx_event_series_window", columnList = "first_start_at,until_at"),
+  @Index(name = "idx_event_series_location", columnList = "location,first_start_at"),
+  @Index(name = "idx_event_series_sync", columnList = "sync_seq,id")
+})
+public class EventSeriesEntity {
+
+  @Id
+  @Type(UuidBinaryType.class)
+  @Column(columnDefinition = "binary(16)", nullable = false)
+  private String id;
+
+  @Version
+  @Column(name = "version")
+  private Integer version;
+
+  @Column(nullable = false, length = 200)
+  private String title;
+
+  @Column(columnDefinition = "text")
+  private String description;
+
+  @Column(length = 255)
+  private String location;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventType type;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private EventVisibility visibility;
+
+  // Zona en la que se repite la hora local de la primera ocurrencia
+  @Column(name = "time_zone", nullable = false, length = 50)
+  private String timeZone;
+
+  @Column(name = "first_start_at", nullable = false)
+  private Instant firstStartAt;
+
+  // Inicio de la última ocurrencia (calculado al crear a partir de until o count)
+  @Column(name = "until_at", nullable = false)
+  private Instant untilAt;
+
+  @Column(name = "duration_minutes", nullable = false)
+  private int durationMinutes;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private RecurrenceFrequency frequency;
+
+  @Column(name = "interval_count", nullable = false)
+  private int intervalCount;
+
+  // BYDAY ("MO,WE"); solo en WEEKLY
+  @Column(name = "by_days", length = 32)
+  private String byDays;
+
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private Instant createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private Instant updatedAt;
+
+  // Igual que EventEntity.syncSeq
+  @Column(name = "sync_seq", insertable = false, updatable = false)
+  private Long syncSeq;
+}
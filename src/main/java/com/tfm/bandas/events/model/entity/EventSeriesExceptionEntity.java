@@ -0,0 +1,54 @@
+package com.tfm.bandas.events.model.entity;
+
+import com.tfm.bandas.events.config.UuidBinaryType;
+import com.tfm.bandas.events.utils.EventStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+// Excepción de una ocurrencia concreta, identificada por su inicio original. Los campos null heredan de la serie
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+@Entity
+@Table(name = "event_series_exception")
+@IdClass(EventSeriesExceptionEntity.Key.class)
+public class EventSeriesExceptionEntity {
+
+  @Id
+  @Type(UuidBinaryType.class)
+  @Column(name = "series_id", columnDefinition = "binary(16)", nullable = false)
+  private String seriesId;
+
+  @Id
+  @Column(name = "original_start_at", nullable = false)
+  private Instant originalStartAt;
+
+  @Column(nullable = false)
+  private boolean canceled;
+
+  @Column(name = "start_at")
+  private Instant startAt;
+
+  @Column(name = "end_at")
+  private Instant endAt;
+
+  @Column(length = 200)
+  private String title;
+
+  @Column(length = 255)
+  private String location;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 32)
+  private EventStatus status;
+
+  @Data
+  @NoArgsConstructor @AllArgsConstructor
+  public static class Key implements Serializable {
+    private String seriesId;
+    private Instant originalStartAt;
+  }
+}
@@ -0,0 +1,34 @@
+package com.tfm.bandas.events.model.entity;
+
+import com.tfm.bandas.events.config.UuidBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
+
+// Evento borrado: se conserva id, última versión y momento del borrado hasta que lo compacta EventTombstoneCompactor
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+@Entity
+@Table(name = "event_tombstone", indexes = {
+  @Index(name = "idx_event_tombstone_deleted", columnList = "deleted_at,id"),
+  @Index(name = "idx_event_tombstone_sync", columnList = "sync_seq,id")
+})
+public class EventTombstoneEntity {
+
+  @Id
+  @Type(UuidBinaryType.class)
+  @Column(columnDefinition = "binary(16)", nullable = false)
+  private String id;
+
+  @Column(nullable = false)
+  private Integer version;
+
+  @Column(name = "deleted_at", nullable = false)
+  private Instant deletedAt;
+
+  // Igual que EventEntity.syncSeq
+  @Column(name = "sync_seq", insertable = false, updatable = false)
+  private Long syncSeq;
+}
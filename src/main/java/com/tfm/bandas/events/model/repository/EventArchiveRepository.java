@@ -0,0 +1,48 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+import com.tfm.bandas.events.model.entity.EventArchiveEntity;
+import com.tfm.bandas.events.utils.EventVisibility;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Espejo de las lecturas por ventana de EventRepository sobre event_archive; EventServiceImpl mezcla ambas capas
+public interface EventArchiveRepository extends JpaRepository<EventArchiveEntity, String>,
+        JpaSpecificationExecutor<EventArchiveEntity>, EventArchiveRepositoryCustom {
+
+  Slice<EventArchiveEntity> findSliceByStartAtBetween(Instant from, Instant to, Pageable pageable);
+  Slice<EventArchiveEntity> findSliceByEndAtBefore(Instant before, Pageable pageable);
+
+  @Query("""
+  select new com.tfm.bandas.events.dto.CalendarEventItemDTO(e.id, e.version, e.title, e.startAt, e.endAt, false, e.type, e.status, e.location)
+  from EventArchiveEntity e
+  where e.startAt between :from and :to
+""")
+  Slice<CalendarEventItemDTO> findCalendarSliceByStartAtBetween(Instant from, Instant to, Pageable pageable);
+
+  @Query("""
+  select new com.tfm.bandas.events.dto.CalendarEventItemDTO(e.id, e.version, e.title, e.startAt, e.endAt, false, e.type, e.status, e.location)
+  from EventArchiveEntity e
+  where e.visibility = :visibility and e.startAt between :from and :to
+""")
+  Slice<CalendarEventItemDTO> findCalendarSliceByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to,
+                                                                             Pageable pageable);
+
+  long countByStartAtBetween(Instant from, Instant to);
+  long countByEndAtGreaterThanEqualAndEndAtBefore(Instant from, Instant before);
+  long countByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to);
+
+  // Archivados con end_at anterior al día day (UTC): una fila por día de event_archive_day_count
+  @Query(value = "SELECT COALESCE(SUM(event_count), 0) FROM event_archive_day_count WHERE day < :day", nativeQuery = true)
+  long countEndedBeforeDay(LocalDate day);
+
+  // Último fin archivado, servido por idx_event_archive_end (null si el archivo está vacío)
+  @Query("select max(e.endAt) from EventArchiveEntity e")
+  Instant maxEndAt();
+}
@@ -0,0 +1,12 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.model.entity.EventArchiveEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface EventArchiveRepositoryCustom {
+  // Como EventRepositoryCustom.streamAll, sobre event_archive
+  Stream<EventArchiveEntity> streamAll(Specification<EventArchiveEntity> spec, Sort sort);
+}
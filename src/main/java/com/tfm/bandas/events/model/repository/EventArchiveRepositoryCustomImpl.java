@@ -0,0 +1,20 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.model.entity.EventArchiveEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public class EventArchiveRepositoryCustomImpl implements EventArchiveRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  public Stream<EventArchiveEntity> streamAll(Specification<EventArchiveEntity> spec, Sort sort) {
+    return EventRepositoryCustomImpl.stream(em, EventArchiveEntity.class, spec, sort);
+  }
+}
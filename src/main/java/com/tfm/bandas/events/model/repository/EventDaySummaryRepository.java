@@ -0,0 +1,44 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.dto.EventDaySummaryRowDTO;
+import com.tfm.bandas.events.model.entity.EventDaySummaryEntity;
+import com.tfm.bandas.events.utils.EventVisibility;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EventDaySummaryRepository extends JpaRepository<EventDaySummaryEntity, EventDaySummaryEntity.Key> {
+
+  // Incremento atómico en la fila del día (la crea si no existe); delta negativo en bajas y cambios de clave
+  @Modifying
+  @Query(value = """
+  INSERT INTO event_day_summary (day, visibility, type, status, event_count)
+  VALUES (:day, :visibility, :type, :status, :delta)
+  ON DUPLICATE KEY UPDATE event_count = event_count + :delta
+""", nativeQuery = true)
+  void addToDay(LocalDate day, String visibility, String type, String status, int delta);
+
+  // Recorre la clave primaria (day, ...) dentro del rango: coste proporcional a los días, no a los eventos
+  @Query("""
+  select new com.tfm.bandas.events.dto.EventDaySummaryRowDTO(s.day, s.type, s.status, sum(s.eventCount))
+  from EventDaySummaryEntity s
+  where s.day between :from and :to
+  group by s.day, s.type, s.status
+  having sum(s.eventCount) > 0
+  order by s.day
+""")
+  List<EventDaySummaryRowDTO> sumByDayBetween(LocalDate from, LocalDate to);
+
+  @Query("""
+  select new com.tfm.bandas.events.dto.EventDaySummaryRowDTO(s.day, s.type, s.status, sum(s.eventCount))
+  from EventDaySummaryEntity s
+  where s.day between :from and :to and s.visibility = :visibility
+  group by s.day, s.type, s.status
+  having sum(s.eventCount) > 0
+  order by s.day
+""")
+  List<EventDaySummaryRowDTO> sumByDayBetweenAndVisibility(LocalDate from, LocalDate to, EventVisibility visibility);
+}
@@ -1,29 +1,125 @@
 package com.tfm.bandas.events.model.repository;
 
+import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+import com.tfm.bandas.events.dto.EventWindowStatsDTO;
+import com.tfm.bandas.events.dto.LocationSlotDTO;
 import com.tfm.bandas.events.model.entity.EventEntity;
 import com.tfm.bandas.events.utils.EventVisibility;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 public interface EventRepository extends JpaRepository<EventEntity, String>,
-        JpaSpecificationExecutor<EventEntity> {
+        JpaSpecificationExecutor<EventEntity>, EventRepositoryCustom {
   Page<EventEntity> findAllByStartAtBetween(Instant from, Instant to, Pageable pageable);
   Page<EventEntity> findAllByEndAtBefore(Instant before, Pageable pageable);
   Page<EventEntity> findAllByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to, Pageable pageable);
 
+  // Variantes Slice: piden size+1 filas y no lanzan el count(*)
+  Slice<EventEntity> findSliceByStartAtBetween(Instant from, Instant to, Pageable pageable);
+  Slice<EventEntity> findSliceByEndAtBefore(Instant before, Pageable pageable);
+  Slice<EventEntity> findSliceByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to, Pageable pageable);
+
+  // /past partido en el horizonte del archivo (TierMerger.Split): por end_at y por start_at
+  Slice<EventEntity> findSliceByEndAtGreaterThanEqualAndEndAtBefore(Instant from, Instant before, Pageable pageable);
+  Slice<EventEntity> findSliceByEndAtBeforeAndStartAtGreaterThanEqual(Instant before, Instant from, Pageable pageable);
+  Slice<EventEntity> findSliceByEndAtBeforeAndStartAtBefore(Instant before, Instant startBefore, Pageable pageable);
+
+  // Calendario: proyección directa al DTO (sin entidades gestionadas ni snapshots), servida por idx_event_calendar
+  @Query(value = """
+  select new com.tfm.bandas.events.dto.CalendarEventItemDTO(e.id, e.version, e.title, e.startAt, e.endAt, false, e.type, e.status, e.location)
+  from EventEntity e
+  where e.startAt between :from and :to
+""", countQuery = "select count(e) from EventEntity e where e.startAt between :from and :to")
+  Page<CalendarEventItemDTO> findCalendarByStartAtBetween(Instant from, Instant to, Pageable pageable);
+
+  @Query("""
+  select new com.tfm.bandas.events.dto.CalendarEventItemDTO(e.id, e.version, e.title, e.startAt, e.endAt, false, e.type, e.status, e.location)
+  from EventEntity e
+  where e.startAt between :from and :to
+""")
+  Slice<CalendarEventItemDTO> findCalendarSliceByStartAtBetween(Instant from, Instant to, Pageable pageable);
+
+  // Servidas por idx_event_visibility_calendar
+  @Query(value = """
+  select new com.tfm.bandas.events.dto.CalendarEventItemDTO(e.id, e.version, e.title, e.startAt, e.endAt, false, e.type, e.status, e.location)
+  from EventEntity e
+  where e.visibility = :visibility and e.startAt between :from and :to
+""", countQuery = "select count(e) from EventEntity e where e.visibility = :visibility and e.startAt between :from and :to")
+  Page<CalendarEventItemDTO> findCalendarByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to,
+                                                                       Pageable pageable);
+
+  @Query("""
+  select new com.tfm.bandas.events.dto.CalendarEventItemDTO(e.id, e.version, e.title, e.startAt, e.endAt, false, e.type, e.status, e.location)
+  from EventEntity e
+  where e.visibility = :visibility and e.startAt between :from and :to
+""")
+  Slice<CalendarEventItemDTO> findCalendarSliceByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to,
+                                                                             Pageable pageable);
+
+  long countByStartAtBetween(Instant from, Instant to);
+  long countByEndAtBefore(Instant before);
+  long countByEndAtGreaterThanEqualAndEndAtBefore(Instant from, Instant before);
+  long countByEndAtBeforeAndStartAtGreaterThanEqual(Instant before, Instant from);
+
+  long countByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to);
+
+  // Huella de ventana del feed .ics: decide si hay que volver a generarlo (CalendarFeedServiceImpl)
+  @Query("""
+  select new com.tfm.bandas.events.dto.EventWindowStatsDTO(count(e), max(e.updatedAt), coalesce(sum(e.version), 0L))
+  from EventEntity e
+  where e.startAt between :from and :to
+""")
+  EventWindowStatsDTO statsByStartAtBetween(Instant from, Instant to);
+
+  @Query("""
+  select new com.tfm.bandas.events.dto.EventWindowStatsDTO(count(e), max(e.updatedAt), coalesce(sum(e.version), 0L))
+  from EventEntity e
+  where e.visibility = :visibility and e.startAt between :from and :to
+""")
+  EventWindowStatsDTO statsByVisibilityAndStartAtBetween(EventVisibility visibility, Instant from, Instant to);
+
+  // Seek acotado sobre idx_event_location_start_end: ningún evento dura más de la duración máxima,
+  // así que basta con recorrer los que empiezan en [earliestStart, end) en esa ubicación
   @Query("""
-  select count(e) from EventEntity e
-  where (:location is not null and e.location = :location)
+  select e.id from EventEntity e
+  where e.location = :location
+    and e.startAt >= :earliestStart
+    and e.startAt < :end
+    and e.endAt   > :start
     and e.status <> com.tfm.bandas.events.utils.EventStatus.CANCELED
     and (:excludeId is null or e.id <> :excludeId)
+  order by e.startAt
+""")
+  List<String> findConflictIdsAtLocation(String location, Instant start, Instant end, Instant earliestStart,
+                                         String excludeId, Limit limit);
+
+  // Validación de lotes: una sola consulta con las franjas de todas las ubicaciones implicadas
+  @Query("""
+  select new com.tfm.bandas.events.dto.LocationSlotDTO(e.id, e.location, e.startAt, e.endAt)
+  from EventEntity e
+  where e.location in :locations
+    and e.startAt >= :earliestStart
     and e.startAt < :end
-    and e.endAt   > :start
+    and e.status <> com.tfm.bandas.events.utils.EventStatus.CANCELED
+""")
+  List<LocationSlotDTO> findSlotsAtLocations(Collection<String> locations, Instant earliestStart, Instant end);
+
+  // Sincronización delta: seek sobre idx_event_sync (sync_seq, id) hasta el seq leído de event_sync_clock
+  @Query("""
+  select e from EventEntity e
+  where (e.syncSeq > :sinceSeq or (e.syncSeq = :sinceSeq and e.id > :sinceId))
+    and e.syncSeq <= :untilSeq
+  order by e.syncSeq, e.id
 """)
-  long countConflictsAtLocation(String location, Instant start, Instant end, String excludeId);
+  List<EventEntity> findChangedAfter(long sinceSeq, String sinceId, long untilSeq, Limit limit);
 
 }
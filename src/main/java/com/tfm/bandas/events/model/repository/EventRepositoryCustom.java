@@ -0,0 +1,12 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.model.entity.EventEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface EventRepositoryCustom {
+  // Recorrido forward-only en streaming; el Stream debe cerrarse y consumirse dentro de la transacción
+  Stream<EventEntity> streamAll(Specification<EventEntity> spec, Sort sort);
+}
@@ -0,0 +1,50 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.model.entity.EventEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.stream.Stream;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+  // Connector/J solo envía las filas de una en una (sin cargar el ResultSet entero) con fetchSize = Integer.MIN_VALUE
+  private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  public Stream<EventEntity> streamAll(Specification<EventEntity> spec, Sort sort) {
+    return stream(em, EventEntity.class, spec, sort);
+  }
+
+  // También para event_archive (EventArchiveRepositoryCustomImpl). Un solo stream abierto por conexión: Connector/J
+  // no admite otra consulta mientras no se haya leído entero
+  static <T> Stream<T> stream(EntityManager em, Class<T> type, Specification<T> spec, Sort sort) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<T> query = cb.createQuery(type);
+    Root<T> root = query.from(type);
+    Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+    if (predicate != null) query.where(predicate);
+    if (sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+    return em.createQuery(query)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, MYSQL_STREAMING_FETCH_SIZE)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream()
+        // Sin esto el contexto de persistencia retendría todas las filas leídas
+        .map(e -> {
+          em.detach(e);
+          return e;
+        });
+  }
+}
@@ -0,0 +1,24 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.model.entity.EventSeriesExceptionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventSeriesExceptionRepository
+        extends JpaRepository<EventSeriesExceptionEntity, EventSeriesExceptionEntity.Key> {
+
+  // Una sola consulta para las excepciones de todas las series de la ventana
+  List<EventSeriesExceptionEntity> findBySeriesIdInAndOriginalStartAtBetween(Collection<String> seriesIds,
+                                                                             Instant from, Instant to);
+
+  // Ocurrencias trasladadas a otra ubicación: también cuentan para los solapes de esa ubicación
+  List<EventSeriesExceptionEntity> findByLocationInAndOriginalStartAtBetween(Collection<String> locations,
+                                                                             Instant from, Instant to);
+
+  List<EventSeriesExceptionEntity> findBySeriesIdOrderByOriginalStartAt(String seriesId);
+
+  List<EventSeriesExceptionEntity> findBySeriesIdInOrderByOriginalStartAt(Collection<String> seriesIds);
+}
@@ -0,0 +1,66 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.dto.EventWindowStatsDTO;
+import com.tfm.bandas.events.model.entity.EventSeriesEntity;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventSeriesRepository extends JpaRepository<EventSeriesEntity, String> {
+
+  // Series con alguna ocurrencia posible en [from, to]; son pocas filas (una por serie, no por ocurrencia)
+  @Query("""
+  select s from EventSeriesEntity s
+  where s.firstStartAt <= :to and s.untilAt >= :from
+    and (:visibility is null or s.visibility = :visibility)
+""")
+  List<EventSeriesEntity> findInWindow(Instant from, Instant to, EventVisibility visibility);
+
+  // Candidatas de /search y /export: las excepciones no cambian ni el tipo ni la visibilidad
+  @Query("""
+  select s from EventSeriesEntity s
+  where s.firstStartAt <= :to and s.untilAt >= :from
+    and (:type is null or s.type = :type)
+    and (:visibility is null or s.visibility = :visibility)
+""")
+  List<EventSeriesEntity> findForSearch(EventType type, EventVisibility visibility, Instant from, Instant to);
+
+  // Huella de las series de la ventana para el feed .ics; un cambio de excepciones sube version y updated_at
+  @Query("""
+  select new com.tfm.bandas.events.dto.EventWindowStatsDTO(count(s), max(s.updatedAt), coalesce(sum(s.version), 0L))
+  from EventSeriesEntity s
+  where s.firstStartAt <= :to and s.untilAt >= :from
+    and (:visibility is null or s.visibility = :visibility)
+""")
+  EventWindowStatsDTO statsInWindow(Instant from, Instant to, EventVisibility visibility);
+
+  // Sincronización delta: seek sobre idx_event_series_sync, mismo orden (sync_seq, id) que EventRepository.findChangedAfter
+  @Query("""
+  select s from EventSeriesEntity s
+  where (s.syncSeq > :sinceSeq or (s.syncSeq = :sinceSeq and s.id > :sinceId))
+    and s.syncSeq <= :untilSeq
+  order by s.syncSeq, s.id
+""")
+  List<EventSeriesEntity> findChangedAfter(long sinceSeq, String sinceId, long untilSeq, Limit limit);
+
+  @Query("""
+  select s from EventSeriesEntity s
+  where s.location in :locations
+    and s.firstStartAt <= :to and s.untilAt >= :from
+""")
+  List<EventSeriesEntity> findInWindowAtLocations(Collection<String> locations, Instant from, Instant to);
+
+  // Bloqueo de fila para modificar la serie o sus excepciones
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from EventSeriesEntity s where s.id = :id")
+  Optional<EventSeriesEntity> findForUpdate(String id);
+}
@@ -0,0 +1,41 @@
+package com.tfm.bandas.events.model.repository;
+
+import com.tfm.bandas.events.model.entity.EventTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EventTombstoneRepository extends JpaRepository<EventTombstoneEntity, String> {
+
+  // INSERT directo: con id asignado, save() haría antes un SELECT para decidir entre persist y merge
+  @Modifying
+  @Query(value = "INSERT INTO event_tombstone (id, version, deleted_at) VALUES (UUID_TO_BIN(:id), :version, :deletedAt)",
+      nativeQuery = true)
+  void insert(String id, int version, Instant deletedAt);
+
+  // Seek sobre idx_event_tombstone_sync, mismo orden (sync_seq, id) que EventRepository.findChangedAfter
+  @Query("""
+  select t from EventTombstoneEntity t
+  where (t.syncSeq > :sinceSeq or (t.syncSeq = :sinceSeq and t.id > :sinceId))
+    and t.syncSeq <= :untilSeq
+  order by t.syncSeq, t.id
+""")
+  List<EventTombstoneEntity> findDeletedAfter(long sinceSeq, String sinceId, long untilSeq, Limit limit);
+
+  // Mayor sync_seq de las lápidas que va a borrar la compactación
+  @Query(value = "SELECT COALESCE(MAX(sync_seq), 0) FROM event_tombstone WHERE deleted_at < :horizon", nativeQuery = true)
+  long maxSyncSeqBefore(Instant horizon);
+
+  // Compactación por lotes: cada llamada es una transacción corta que no bloquea la tabla entera. Por sync_seq y no
+  // por deleted_at, para que lo borrado sea exactamente lo que cubre event_sync_clock.compacted_seq
+  @Transactional
+  @Modifying
+  @Query(value = "DELETE FROM event_tombstone WHERE sync_seq <= :maxSeq ORDER BY sync_seq LIMIT :batchSize",
+      nativeQuery = true)
+  int deleteUpTo(long maxSeq, int batchSize);
+}
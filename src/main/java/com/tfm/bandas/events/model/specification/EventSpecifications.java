@@ -1,61 +1,160 @@
 package com.tfm.bandas.events.model.specification;
 
-import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.config.FullTextFunctionContributor;
 import com.tfm.bandas.events.utils.EventStatus;
 import com.tfm.bandas.events.utils.EventType;
 import com.tfm.bandas.events.utils.EventVisibility;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
 public class EventSpecifications {
-    public static Specification<EventEntity> all() {
+    // Valor por defecto de innodb_ft_min_token_size
+    static final int MIN_TOKEN_SIZE = 3;
+
+    // Lista por defecto de InnoDB (INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD); incluye "de", "la" y "en"
+    static final Set<String> STOPWORDS = Set.of("a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en",
+            "for", "from", "how", "i", "in", "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was",
+            "what", "when", "where", "who", "will", "with", "und", "www");
+
+    // Todas valen para event y event_archive (mismas propiedades; los MATCH usan los índices FULLTEXT de cada tabla)
+    public static <T> Specification<T> all() {
         return (root, q, cb) -> cb.conjunction();
     }
 
-    public static Specification<EventEntity> text(String qText) {
-        if (qText == null || qText.isBlank()) return null;
-        String like = "%" + qText.trim().toLowerCase() + "%";
-        return (root, q, cb) -> cb.or(
-                cb.like(cb.lower(root.get("title")), like),
-                cb.like(cb.lower(root.get("description")), like),
-                cb.like(cb.lower(root.get("location")), like)
-        );
+    public static <T> Specification<T> startBetween(Instant from, Instant to) {
+        if (from == null || to == null) return null;
+        return (root, q, cb) -> cb.between(root.get("startAt"), from, to);
+    }
+
+    public static <T> Specification<T> endBefore(Instant before) {
+        if (before == null) return null;
+        return (root, q, cb) -> cb.lessThan(root.get("endAt"), before);
+    }
+
+    // Tramos de una lectura partida en el horizonte de event_archive (EventArchiveTier)
+    public static <T> Specification<T> startAtOrAfter(Instant from) {
+        if (from == null) return null;
+        return (root, q, cb) -> cb.greaterThanOrEqualTo(root.get("startAt"), from);
+    }
+
+    public static <T> Specification<T> startBefore(Instant before) {
+        if (before == null) return null;
+        return (root, q, cb) -> cb.lessThan(root.get("startAt"), before);
+    }
+
+    public static <T> Specification<T> endAtOrAfter(Instant from) {
+        if (from == null) return null;
+        return (root, q, cb) -> cb.greaterThanOrEqualTo(root.get("endAt"), from);
+    }
+
+    // Texto libre sobre el índice FULLTEXT ft_event_text (title, description, location)
+    public static <T> Specification<T> text(String qText) {
+        String against = toBooleanModeQuery(qText);
+        if (against == null) return null;
+        return (root, q, cb) -> against.isEmpty() ? cb.disjunction() : cb.greaterThan(matchText(root, cb, against), 0.0);
+    }
+
+    // Ordena por relevancia (desc) y, en caso de empate, por la ordenación pedida; no se aplica a las consultas count.
+    // La paginación debe ir sin ordenar: si no, Spring Data sustituye este orderBy por el suyo
+    public static <T> Specification<T> orderByRelevance(String qText, Sort tieBreakers) {
+        String against = toBooleanModeQuery(qText);
+        if (against == null || against.isEmpty()) return null;
+        return (root, q, cb) -> {
+            if (!Long.class.equals(q.getResultType())) {
+                List<Order> orders = new ArrayList<>();
+                orders.add(cb.desc(matchText(root, cb, against)));
+                for (Sort.Order o : tieBreakers) {
+                    Expression<?> property = root.get(o.getProperty());
+                    orders.add(o.isAscending() ? cb.asc(property) : cb.desc(property));
+                }
+                if (tieBreakers.getOrderFor("startAt") == null) orders.add(cb.asc(root.get("startAt")));
+                if (tieBreakers.getOrderFor("id") == null) orders.add(cb.asc(root.get("id")));
+                q.orderBy(orders);
+            }
+            return cb.conjunction();
+        };
+    }
+
+    public static <T> Specification<T> titleContains(String title) {
+        String against = toBooleanModeQuery(title);
+        if (against == null) return null;
+        return (root, q, cb) -> against.isEmpty() ? cb.disjunction() : cb.greaterThan(
+                cb.function(FullTextFunctionContributor.MATCH, Double.class, root.get("title"), cb.literal(against)), 0.0);
+    }
+
+    public static <T> Specification<T> descriptionContains(String description) {
+        String against = toBooleanModeQuery(description);
+        if (against == null) return null;
+        return (root, q, cb) -> against.isEmpty() ? cb.disjunction() : cb.greaterThan(
+                cb.function(FullTextFunctionContributor.MATCH, Double.class, root.get("description"), cb.literal(against)), 0.0);
+    }
+
+    // "ensayo de la banda" => "+ensayo* +banda*": todas las palabras significativas, por prefijo. Las stopwords y
+    // las más cortas que innodb_ft_min_token_size no están en el índice: con "+" ninguna fila casaría, así que se
+    // descartan. Devuelve "" si no queda ninguna (no hay nada que buscar en el índice) y null si no hay texto.
+    // Se eliminan los operadores booleanos del usuario; acentos y mayúsculas los resuelve utf8mb4_unicode_ci
+    static String toBooleanModeQuery(String text) {
+        List<String> terms = searchTerms(text);
+        if (terms == null) return null;
+        var sb = new StringBuilder();
+        for (String term : terms) {
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append('+').append(term).append('*');
+        }
+        return sb.toString();
     }
 
-    public static Specification<EventEntity> titleContains(String title) {
-        if (title == null || title.isBlank()) return null;
-        String like = "%" + title.trim().toLowerCase() + "%";
-        return (root, q, cb) -> cb.like(cb.lower(root.get("title")), like);
+    // Palabras significativas de un texto de búsqueda (las que llegan al índice); null si no hay texto. También
+    // las usan las ocurrencias de series, que se filtran en memoria con el mismo criterio
+    public static List<String> searchTerms(String text) {
+        if (text == null || text.isBlank()) return null;
+        List<String> terms = new ArrayList<>();
+        for (String term : text.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+")) {
+            if (term.codePointCount(0, term.length()) < MIN_TOKEN_SIZE
+                    || STOPWORDS.contains(term.toLowerCase(Locale.ROOT))) continue;
+            terms.add(term);
+        }
+        return terms;
     }
 
-    public static Specification<EventEntity> descriptionContains(String description) {
-        if (description == null || description.isBlank()) return null;
-        String like = "%" + description.trim().toLowerCase() + "%";
-        return (root, q, cb) -> cb.like(cb.lower(root.get("description")), like);
+    private static Expression<Double> matchText(Root<?> root, CriteriaBuilder cb, String against) {
+        return cb.function(FullTextFunctionContributor.MATCH_TEXT, Double.class,
+                root.get("title"), root.get("description"), root.get("location"), cb.literal(against));
     }
 
-    public static Specification<EventEntity> locationEquals(String location) {
+    public static <T> Specification<T> locationEquals(String location) {
         if (location == null || location.isBlank()) return null;
         return (root, q, cb) -> cb.equal(root.get("location"), location);
     }
 
-    public static Specification<EventEntity> locationContains(String location) {
+    public static <T> Specification<T> locationContains(String location) {
         if (location == null || location.isBlank()) return null;
         String like = "%" + location.trim().toLowerCase() + "%";
         return (root, q, cb) -> cb.like(cb.lower(root.get("location")), like);
     }
 
 
-    public static Specification<EventEntity> typeEquals(EventType type) {
+    public static <T> Specification<T> typeEquals(EventType type) {
         if (type == null) return null;
         return (root, q, cb) -> cb.equal(root.get("type"), type);
     }
 
-    public static Specification<EventEntity> statusEquals(EventStatus status) {
+    public static <T> Specification<T> statusEquals(EventStatus status) {
         if (status == null) return null;
         return (root, q, cb) -> cb.equal(root.get("status"), status);
     }
 
-    public static Specification<EventEntity> visibilityEquals(EventVisibility visibility) {
+    public static <T> Specification<T> visibilityEquals(EventVisibility visibility) {
         if (visibility == null) return null;
         return (root, q, cb) -> cb.equal(root.get("visibility"), visibility);
     }
@@ -0,0 +1,104 @@
+package com.tfm.bandas.events.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfm.bandas.events.config.EventOutboxProperties;
+import com.tfm.bandas.events.dto.EventSeriesDTO;
+import com.tfm.bandas.events.dto.mapper.EventMapper;
+import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.utils.EventChangeType;
+import com.tfm.bandas.events.utils.Uuids;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escritura en event_outbox dentro de la transacción de EventServiceImpl o EventSeriesServiceImpl. Los mensajes de una transacción se
+ * acumulan y se insertan juntos justo antes del commit: un único INSERT multi-fila (rewriteBatchedStatements)
+ * también en las altas por lotes. JdbcTemplate usa la misma conexión que JPA, así que o se confirman el
+ * cambio y su mensaje, o ninguno.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+  private final JdbcTemplate jdbc;
+  private final ObjectMapper objectMapper;
+  private final EventOutboxProperties props;
+
+  @PersistenceContext
+  private EntityManager em;
+
+  public void add(EventChangeType type, EventEntity e) {
+    if (!props.enabled()) return;
+    add(row(OutboxAggregate.EVENT, e.getId(), e.getVersion(), type, EventMapper.toResponse(e)));
+  }
+
+  // Series: cualquier cambio de sus excepciones es un UPDATED de la serie con su nueva versión
+  public void add(EventChangeType type, EventSeriesDTO series) {
+    if (!props.enabled()) return;
+    add(row(OutboxAggregate.SERIES, series.id(), series.version(), type, series));
+  }
+
+  private void add(Object[] row) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      insert(List.<Object[]>of(row));
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      List<Object[]> rows = new ArrayList<>();
+      TransactionSynchronizationManager.bindResource(this, rows);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+          // Primero los cambios de event o event_series (y sus bloqueos de fila): así el seq de los mensajes
+          // de un mismo evento o serie sigue el orden en que se confirman sus transacciones
+          em.flush();
+          insert(rows);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(EventOutbox.this);
+        }
+      });
+      pending = rows;
+    }
+    pending.add(row);
+  }
+
+  private Object[] row(OutboxAggregate aggregate, String id, int version, EventChangeType type, Object payload) {
+    try {
+      return new Object[] {
+          id + ":" + version + ":" + type.name(),
+          aggregate.name(),
+          Uuids.toBytes(id),
+          type.name(),
+          version,
+          objectMapper.writeValueAsString(payload),
+          LocalDateTime.now(ZoneOffset.UTC)
+      };
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void insert(List<Object[]> rows) {
+    jdbc.batchUpdate("""
+        insert into event_outbox (message_key, aggregate, aggregate_id, change_type, aggregate_version, payload, created_at)
+        values (?, ?, ?, ?, ?, ?, ?)
+        """, rows);
+  }
+}
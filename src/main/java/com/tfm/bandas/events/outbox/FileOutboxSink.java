@@ -0,0 +1,54 @@
+package com.tfm.bandas.events.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfm.bandas.events.config.EventOutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sink local: añade cada lote al fichero events.outbox.file en JSON Lines (un OutboxMessage por línea) y hace
+ * fsync antes de volver, para que el relay solo borre lo que ya está en disco. Pensado para desarrollo y pruebas
+ * de integración de otros servicios, que pueden leer el fichero como si fuera la cola.
+ */
+@Component
+@ConditionalOnProperty(prefix = "events.outbox", name = "sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+  private final ObjectMapper objectMapper;
+  private final Path file;
+  // ReentrantLock y no synchronized: la escritura bloquea en disco y el relay corre en un hilo virtual
+  private final ReentrantLock lock = new ReentrantLock();
+
+  public FileOutboxSink(ObjectMapper objectMapper, EventOutboxProperties props) {
+    this.objectMapper = objectMapper;
+    this.file = props.file();
+  }
+
+  @Override
+  public void publish(List<OutboxMessage> batch) throws IOException {
+    StringBuilder lines = new StringBuilder();
+    for (OutboxMessage message : batch) lines.append(objectMapper.writeValueAsString(message)).append('\n');
+    ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+    lock.lock();
+    try {
+      if (file.getParent() != null) Files.createDirectories(file.getParent());
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.APPEND)) {
+        while (bytes.hasRemaining()) channel.write(bytes);
+        channel.force(false);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.tfm.bandas.events.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sink en memoria para pruebas: cuenta los mensajes recibidos y conserva los últimos CAPACITY
+ * (el arnés de carga puede generar millones).
+ */
+@Component
+@ConditionalOnProperty(prefix = "events.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+  static final int CAPACITY = 10_000;
+
+  private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final AtomicLong received = new AtomicLong();
+
+  @Override
+  public void publish(List<OutboxMessage> batch) {
+    lock.lock();
+    try {
+      for (OutboxMessage message : batch) {
+        if (messages.size() == CAPACITY) messages.removeFirst();
+        messages.addLast(message);
+      }
+    } finally {
+      lock.unlock();
+    }
+    received.addAndGet(batch.size());
+  }
+
+  public List<OutboxMessage> messages() {
+    lock.lock();
+    try {
+      return new ArrayList<>(messages);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long received() {
+    return received.get();
+  }
+
+  public void clear() {
+    lock.lock();
+    try {
+      messages.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
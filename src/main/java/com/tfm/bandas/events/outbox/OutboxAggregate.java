@@ -0,0 +1,6 @@
+package com.tfm.bandas.events.outbox;
+
+// Tabla de la que sale un mensaje de event_outbox: event o event_series (con sus excepciones)
+public enum OutboxAggregate {
+  EVENT, SERIES
+}
@@ -0,0 +1,22 @@
+package com.tfm.bandas.events.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.tfm.bandas.events.utils.EventChangeType;
+
+import java.time.Instant;
+
+/**
+ * Mensaje de event_outbox. key ({@code <aggregateId>:<version>:<tipo>}) es estable entre reentregas: el consumidor
+ * la usa para descartar duplicados. payload es el EventDTO (o EventSeriesDTO, con sus excepciones) en JSON; en
+ * DELETED, el último estado conocido. Un DELETED lleva la misma versión que el último cambio y lo sustituye.
+ */
+public record OutboxMessage(
+    long seq,
+    String key,
+    OutboxAggregate aggregate,
+    String aggregateId,
+    EventChangeType type,
+    int version,
+    @JsonRawValue String payload,
+    Instant createdAt
+) {}
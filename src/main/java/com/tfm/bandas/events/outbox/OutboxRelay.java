@@ -0,0 +1,210 @@
+package com.tfm.bandas.events.outbox;
+
+import com.tfm.bandas.events.config.EventOutboxProperties;
+import com.tfm.bandas.events.utils.EventChangeType;
+import com.tfm.bandas.events.utils.Uuids;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Vacía event_outbox hacia el {@link OutboxSink}. Cada lote es una transacción: reclama hasta batch-size filas
+ * en orden de seq con un único SELECT ... FOR UPDATE, las entrega y las borra. Si el sink falla, la transacción
+ * se deshace y nada se borra (al menos una vez; los consumidores deduplican por key).
+ * <p>
+ * Tras un lote fallido, la misma pasada lo reintenta mensaje a mensaje para aislar el que el sink rechaza: ese suma un
+ * intento en attempts (y la pasada se detiene para no adelantarle los siguientes) y, al llegar a max-attempts,
+ * pasa a event_outbox_dead_letter con el último error. Entre pasadas con fallos la espera se duplica desde
+ * poll-interval hasta max-backoff, así que una caída del sink tarda varios minutos en apartar un mensaje.
+ * <p>
+ * READ COMMITTED evita los bloqueos de hueco: las inserciones de EventOutbox no esperan al relay. El FOR UPDATE
+ * (sin SKIP LOCKED) espera a las filas aún sin confirmar y a los lotes de otra instancia, así que aunque el relay
+ * corra en varias instancias solo una entrega a la vez y los mensajes de un mismo evento salen en orden de versión.
+ */
+@Component
+@ConditionalOnProperty(prefix = "events.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+  // Tamaño de event_outbox_dead_letter.last_error
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private static final RowMapper<OutboxMessage> MESSAGE = (rs, i) -> new OutboxMessage(
+      rs.getLong("seq"),
+      rs.getString("message_key"),
+      OutboxAggregate.valueOf(rs.getString("aggregate")),
+      Uuids.fromBytes(rs.getBytes("aggregate_id")),
+      EventChangeType.valueOf(rs.getString("change_type")),
+      rs.getInt("aggregate_version"),
+      rs.getString("payload"),
+      rs.getObject("created_at", LocalDateTime.class).toInstant(ZoneOffset.UTC));
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final OutboxSink sink;
+  private final EventOutboxProperties props;
+  private final Counter published;
+  private final Counter deadLettered;
+  private final Timer publishTime;
+  // Solo lo usa el hilo de @Scheduled
+  private int failures;
+  private Instant retryAt = Instant.MIN;
+
+  public OutboxRelay(JdbcTemplate jdbc, PlatformTransactionManager transactionManager, OutboxSink sink,
+                     EventOutboxProperties props, MeterRegistry registry) {
+    this.jdbc = jdbc;
+    this.sink = sink;
+    this.props = props;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    this.published = Counter.builder("events.outbox.published")
+        .description("Mensajes de event_outbox entregados al sink")
+        .register(registry);
+    this.deadLettered = Counter.builder("events.outbox.dead_lettered")
+        .description("Mensajes apartados a event_outbox_dead_letter tras max-attempts entregas fallidas")
+        .register(registry);
+    this.publishTime = Timer.builder("events.outbox.publish")
+        .description("Entrega de un lote al sink")
+        .register(registry);
+  }
+
+  @Scheduled(fixedDelayString = "${events.outbox.poll-interval:500ms}")
+  public void drain() {
+    if (Instant.now().isBefore(retryAt)) return;
+    try {
+      // Con backlog se encadenan lotes completos sin esperar a la siguiente pasada
+      int sent;
+      do {
+        sent = relayBatch();
+      } while (sent == props.batchSize());
+      failures = 0;
+    } catch (RuntimeException ex) {
+      Duration backoff = backoff(++failures);
+      retryAt = Instant.now().plus(backoff);
+      logger.warn("Outbox relay failed, retrying in {}: {}", backoff, ex.toString());
+    }
+  }
+
+  int relayBatch() {
+    try {
+      return relay(props.batchSize());
+    } catch (RuntimeException ex) {
+      logger.warn("Outbox batch failed, relaying its messages one by one: {}", ex.toString());
+    }
+    int sent = 0;
+    while (sent < props.batchSize()) {
+      // Lanza si el mensaje aún tiene intentos: la pasada termina y drain aplica la espera
+      if (relayOne() == 0) break;
+      sent++;
+    }
+    return sent;
+  }
+
+  private int relay(int limit) {
+    Integer sent = tx.execute(status -> {
+      List<OutboxMessage> batch = claim(limit);
+      if (batch.isEmpty()) return 0;
+      publish(batch);
+      delete(batch);
+      return batch.size();
+    });
+    return sent == null ? 0 : sent;
+  }
+
+  // Entrega (o aparta) el primer mensaje; el intento fallido se confirma aunque la entrega no
+  private int relayOne() {
+    RuntimeException[] failure = new RuntimeException[1];
+    Integer done = tx.execute(status -> {
+      List<OutboxMessage> head = claim(1);
+      if (head.isEmpty()) return 0;
+      OutboxMessage message = head.get(0);
+      try {
+        publish(head);
+        delete(head);
+        return 1;
+      } catch (RuntimeException ex) {
+        int attempts = jdbc.queryForObject("select attempts from event_outbox where seq = ?", Integer.class,
+            message.seq()) + 1;
+        if (attempts < props.maxAttempts()) {
+          jdbc.update("update event_outbox set attempts = ? where seq = ?", attempts, message.seq());
+          failure[0] = ex;
+          return 0;
+        }
+        deadLetter(message, attempts, ex);
+        return 1;
+      }
+    });
+    if (failure[0] != null) throw failure[0];
+    return done == null ? 0 : done;
+  }
+
+  private List<OutboxMessage> claim(int limit) {
+    return jdbc.query("""
+        select seq, message_key, aggregate, aggregate_id, change_type, aggregate_version, payload, created_at
+        from event_outbox
+        order by seq
+        limit ?
+        for update
+        """, MESSAGE, limit);
+  }
+
+  private void deadLetter(OutboxMessage message, int attempts, RuntimeException ex) {
+    jdbc.update("""
+        insert into event_outbox_dead_letter (seq, message_key, aggregate, aggregate_id, change_type, aggregate_version,
+                                              payload, created_at, attempts, last_error, failed_at)
+        select seq, message_key, aggregate, aggregate_id, change_type, aggregate_version, payload, created_at, ?, ?, ?
+        from event_outbox where seq = ?
+        """, attempts, truncate(ex.toString()), LocalDateTime.now(ZoneOffset.UTC), message.seq());
+    delete(List.of(message));
+    deadLettered.increment();
+    logger.error("Outbox message {} ({}) moved to event_outbox_dead_letter after {} attempts: {}",
+        message.seq(), message.key(), attempts, ex.toString());
+  }
+
+  private void delete(List<OutboxMessage> batch) {
+    // Por seq exactos y no por rango: un INSERT multi-fila puede reservar un seq antes de escribir su fila
+    String seqs = batch.stream().map(m -> Long.toString(m.seq())).collect(Collectors.joining(","));
+    jdbc.update("delete from event_outbox where seq in (" + seqs + ")");
+  }
+
+  private Duration backoff(int failures) {
+    Duration backoff = props.pollInterval().multipliedBy(1L << Math.min(failures, 20));
+    return backoff.compareTo(props.maxBackoff()) > 0 ? props.maxBackoff() : backoff;
+  }
+
+  private static String truncate(String error) {
+    return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+  }
+
+  private void publish(List<OutboxMessage> batch) {
+    long started = System.nanoTime();
+    try {
+      sink.publish(batch);
+    } catch (RuntimeException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      throw new IllegalStateException("Outbox sink failed: " + ex.getMessage(), ex);
+    }
+    publishTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    published.increment(batch.size());
+  }
+}
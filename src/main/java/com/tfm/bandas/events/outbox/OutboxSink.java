@@ -0,0 +1,14 @@
+package com.tfm.bandas.events.outbox;
+
+import java.util.List;
+
+/**
+ * Destino de los mensajes de event_outbox (broker, otro servicio, fichero...). Recibe cada lote en orden de seq
+ * y solo debe volver cuando el lote está entregado de forma duradera: si lanza, OutboxRelay no borra el lote
+ * y reintenta sus mensajes uno a uno, así que el mismo mensaje puede llegar más de una vez. Un mensaje que
+ * sigue fallando acaba en event_outbox_dead_letter.
+ */
+public interface OutboxSink {
+
+  void publish(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,11 @@
+package com.tfm.bandas.events.service;
+
+import com.tfm.bandas.events.dto.CalendarFeedDTO;
+
+import java.time.Instant;
+
+public interface CalendarFeedService {
+  // from/to opcionales; se normalizan a días completos (UTC)
+  CalendarFeedDTO bandFeed(Instant from, Instant to);
+  CalendarFeedDTO publicFeed(Instant from, Instant to);
+}
@@ -0,0 +1,200 @@
+package com.tfm.bandas.events.service;
+
+import com.tfm.bandas.events.config.EventStreamProperties;
+import com.tfm.bandas.events.dto.EventChangeDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Difusión de cambios por SSE. Los {@link SseEmitter} son asíncronos (Servlet async): una conexión inactiva
+ * no ocupa ningún hilo de petición. El estado compartido (buffer circular y secuencia) se gestiona desde un único
+ * hilo despachador, que nunca escribe en un socket: solo encola en la cola acotada de cada suscriptor, y un hilo
+ * virtual propio de ese suscriptor la vacía. Un cliente lento solo se retrasa a sí mismo; si su cola se llena se le
+ * desconecta, y al reconectar con Last-Event-ID se reanuda desde el buffer o recibe {@code reset}.
+ * <p>
+ * Los ids SSE tienen la forma {@code <arranque>-<secuencia>}: tras un reinicio o si el cliente se ha quedado
+ * más atrás que el buffer, se le envía {@code reset} y debe volver a cargar el calendario.
+ */
+@Component
+public class EventChangeHub {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventChangeHub.class);
+
+  static final String RESET = "reset";
+
+  private final EventStreamProperties props;
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ThreadFactory drainers = new VirtualThreadTaskExecutor("event-stream-").getVirtualThreadFactory();
+  private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "event-stream-dispatcher");
+    t.setDaemon(true);
+    return t;
+  });
+
+  // Solo se accede desde el hilo despachador
+  private final EventChangeDTO[] ring;
+  private long lastSeq = 0;
+
+  public EventChangeHub(EventStreamProperties props) {
+    this.props = props;
+    this.ring = new EventChangeDTO[props.bufferSize()];
+  }
+
+  public SseEmitter subscribe(String lastEventId) {
+    Subscriber subscriber = new Subscriber(new SseEmitter(props.emitterTimeout().toMillis()));
+    subscriber.emitter.onCompletion(subscriber::close);
+    subscriber.emitter.onTimeout(subscriber.emitter::complete);
+    subscriber.emitter.onError(ex -> subscriber.close());
+    dispatcher.execute(() -> {
+      // La reanudación se calcula en el despachador: lo siguiente que se encole ya es posterior
+      if (subscriber.closed) return;
+      subscriber.start(replay(lastEventId));
+      subscribers.add(subscriber);
+      // El cliente pudo desconectarse mientras tanto
+      if (subscriber.closed) subscribers.remove(subscriber);
+    });
+    return subscriber.emitter;
+  }
+
+  // Solo tras el commit: un rollback no debe notificarse
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEventChanged(EventChangeDTO change) {
+    dispatcher.execute(() -> {
+      long seq = ++lastSeq;
+      ring[(int) (seq % ring.length)] = change;
+      subscribers.forEach(subscriber -> subscriber.offer(changeEvent(seq, change)));
+    });
+  }
+
+  @Scheduled(fixedDelayString = "${events.stream.heartbeat-interval:25s}")
+  public void heartbeat() {
+    dispatcher.execute(() -> subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("ping"))));
+  }
+
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    dispatcher.shutdownNow();
+    subscribers.forEach(subscriber -> {
+      subscriber.close();
+      subscriber.emitter.complete();
+    });
+  }
+
+  // Cambios posteriores a lastEventId, o un reset si no se puede reanudar
+  private List<SseEmitter.SseEventBuilder> replay(String lastEventId) {
+    if (lastEventId == null || lastEventId.isBlank()) return List.of();
+    long from = resumeSeq(lastEventId.trim());
+    if (from < 0) {
+      return List.of(SseEmitter.event().name(RESET).data("{}", MediaType.APPLICATION_JSON));
+    }
+    List<SseEmitter.SseEventBuilder> events = new ArrayList<>((int) (lastSeq - from));
+    for (long seq = from + 1; seq <= lastSeq; seq++) {
+      events.add(changeEvent(seq, ring[(int) (seq % ring.length)]));
+    }
+    return events;
+  }
+
+  private SseEmitter.SseEventBuilder changeEvent(long seq, EventChangeDTO change) {
+    return SseEmitter.event()
+        .id(epoch + "-" + seq)
+        .name(change.type().name().toLowerCase())
+        .data(change, MediaType.APPLICATION_JSON);
+  }
+
+  // Secuencia desde la que reanudar, o -1 si no es posible (otro arranque, id inválido o fuera del buffer)
+  private long resumeSeq(String lastEventId) {
+    int sep = lastEventId.lastIndexOf('-');
+    if (sep <= 0 || !epoch.equals(lastEventId.substring(0, sep))) return -1;
+    try {
+      long seq = Long.parseLong(lastEventId.substring(sep + 1));
+      boolean inBuffer = seq <= lastSeq && lastSeq - seq <= ring.length;
+      return inBuffer ? seq : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  // Cola acotada y escritor propio: solo su hilo virtual escribe en el emisor
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private volatile Thread drainer;
+    private volatile boolean closed;
+
+    private Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(props.subscriberQueueSize());
+    }
+
+    private void start(List<SseEmitter.SseEventBuilder> replay) {
+      drainer = drainers.newThread(() -> drain(replay));
+      drainer.start();
+    }
+
+    // Desde el despachador: nunca bloquea
+    private void offer(SseEmitter.SseEventBuilder event) {
+      if (closed || queue.offer(event)) return;
+      logger.debug("Dropping slow SSE subscriber: {} events pending", queue.size());
+      close();
+      emitter.complete();
+    }
+
+    private void drain(List<SseEmitter.SseEventBuilder> replay) {
+      try {
+        for (SseEmitter.SseEventBuilder event : replay) {
+          if (!send(event)) return;
+        }
+        while (!closed) {
+          if (!send(queue.take())) return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private boolean send(SseEmitter.SseEventBuilder event) {
+      try {
+        emitter.send(event);
+        return true;
+      } catch (IOException | IllegalStateException ex) {
+        // Cliente desconectado: se descarta sin ruido
+        logger.debug("Dropping SSE subscriber: {}", ex.getMessage());
+        close();
+        emitter.completeWithError(ex);
+        return false;
+      }
+    }
+
+    private void close() {
+      if (closed) return;
+      closed = true;
+      subscribers.remove(this);
+      Thread thread = drainer;
+      if (thread != null && thread != Thread.currentThread()) thread.interrupt();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.tfm.bandas.events.service;
+
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.dto.EventSeriesCreateRequestDTO;
+import com.tfm.bandas.events.dto.EventSeriesDTO;
+import com.tfm.bandas.events.dto.EventSeriesExceptionRequestDTO;
+import com.tfm.bandas.events.dto.EventWindowStatsDTO;
+import com.tfm.bandas.events.dto.LocationSlotDTO;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventSeriesService {
+  EventSeriesDTO createSeries(EventSeriesCreateRequestDTO series);
+  EventSeriesDTO getSeries(String seriesId);
+  void deleteSeries(String seriesId, int ifMatchVersion);
+
+  // Excepción de la ocurrencia que empieza (originalmente) en originalStartAt; modifican la versión de la serie
+  EventSeriesDTO putException(String seriesId, Instant originalStartAt, EventSeriesExceptionRequestDTO exception,
+                              int ifMatchVersion);
+  EventSeriesDTO deleteException(String seriesId, Instant originalStartAt, int ifMatchVersion);
+
+  // Ocurrencias (con excepciones aplicadas y sin las canceladas) que empiezan en [from, to]; visibility null => todas
+  List<EventDTO> occurrencesBetween(Instant from, Instant to, EventVisibility visibility);
+
+  // Ocurrencias que cumplen los filtros de /search, ordenadas por (startAt, id); from/to null => sin ventana
+  List<EventDTO> searchOccurrences(String qText, String title, String description, String location,
+                                   EventType type, EventStatus status, EventVisibility visibility, Instant from, Instant to);
+
+  // Huella de las series con ocurrencias posibles en [from, to] (feed .ics)
+  EventWindowStatsDTO statsBetween(Instant from, Instant to, EventVisibility visibility);
+
+  // Franjas ocupadas por ocurrencias no canceladas que empiezan en [from, to) en esas ubicaciones
+  List<LocationSlotDTO> occurrenceSlotsAtLocations(Collection<String> locations, Instant from, Instant to);
+}
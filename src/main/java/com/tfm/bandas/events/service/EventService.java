@@ -1,21 +1,35 @@
 package com.tfm.bandas.events.service;
 
+import com.tfm.bandas.events.dto.CalendarDaySummaryDTO;
 import com.tfm.bandas.events.dto.CalendarEventItemDTO;
 import com.tfm.bandas.events.dto.EventCreateRequestDTO;
 import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.dto.EventSyncPageDTO;
 import com.tfm.bandas.events.utils.EventStatus;
 import com.tfm.bandas.events.utils.EventType;
 import com.tfm.bandas.events.utils.EventVisibility;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface EventService {
   EventDTO createEvent(EventCreateRequestDTO event);
+  List<EventDTO> createEvents(List<EventCreateRequestDTO> events);
   EventDTO updateEvent(String eventId, EventCreateRequestDTO event, int ifMatchVersion);
   void deleteEvent(String eventId, int ifMatchVersion);
   EventDTO getEvent(String idEvent);
+  // Read-your-writes: si la versión leída (caché o réplica) es anterior a minVersion, se relee del primario
+  EventDTO getEvent(String idEvent, int minVersion);
+
+  // Ids de eventos que solapan con [start, end) en la ubicación (excluyendo excludeId)
+  List<String> findLocationConflicts(String location, Instant start, Instant end, String excludeId);
 
   Page<EventDTO> listEventsBetween(Instant from, Instant to, Pageable pageable);
   Page<EventDTO> listEventsPast(Instant before, Pageable pageable);
@@ -23,6 +37,39 @@ public interface EventService {
   Page<CalendarEventItemDTO> calendarBetween(Instant from, Instant to, Pageable pageable);
   Page<CalendarEventItemDTO> calendarBetweenPublic(Instant from, Instant to, Pageable pageable);
 
+  // Resumen por día (en events.calendar.time-zone) desde event_day_summary, ambos extremos incluidos
+  List<CalendarDaySummaryDTO> calendarSummary(LocalDate from, LocalDate to);
+  List<CalendarDaySummaryDTO> calendarSummaryPublic(LocalDate from, LocalDate to);
+
   Page<EventDTO> searchEvents(String qText, String title, String description, String location,
                               EventType type, EventStatus status, EventVisibility visibility, Pageable pageable);
+
+  // Paginación sin count(*) (Slice) y totales cacheados para CountMode.CACHED
+  Slice<EventDTO> sliceEventsBetween(Instant from, Instant to, Pageable pageable);
+  Slice<EventDTO> sliceEventsPast(Instant before, Pageable pageable);
+  Slice<CalendarEventItemDTO> sliceCalendarBetween(Instant from, Instant to, Pageable pageable);
+  Slice<CalendarEventItemDTO> sliceCalendarBetweenPublic(Instant from, Instant to, Pageable pageable);
+  Slice<EventDTO> sliceSearchEvents(String qText, String title, String description, String location,
+                                    EventType type, EventStatus status, EventVisibility visibility, Pageable pageable);
+
+  long countEventsBetween(Instant from, Instant to);
+  long countEventsPast(Instant before);
+  long countEventsBetweenPublic(Instant from, Instant to);
+  long countSearchEvents(String qText, String title, String description, String location,
+                         EventType type, EventStatus status, EventVisibility visibility);
+
+  // Exportación en streaming: entrega cada evento al consumidor sin materializar la lista; devuelve las filas leídas
+  long exportEvents(Instant from, Instant to, String qText, String title, String description, String location,
+                    EventType type, EventStatus status, EventVisibility visibility, Consumer<EventDTO> consumer);
+
+  // Sincronización delta: altas, cambios y borrados posteriores al token (null => todos los eventos), por (instante, id)
+  EventSyncPageDTO changesSince(String since, int size);
+
+  // Paginación por keyset (cursor): orden fijo por (startAt, id)
+  Window<EventDTO> scrollEventsBetween(Instant from, Instant to, ScrollPosition position, int size);
+  Window<EventDTO> scrollEventsPast(Instant before, ScrollPosition position, int size);
+  Window<CalendarEventItemDTO> scrollCalendarBetween(Instant from, Instant to, ScrollPosition position, int size);
+  Window<EventDTO> scrollSearchEvents(String qText, String title, String description, String location,
+                                      EventType type, EventStatus status, EventVisibility visibility,
+                                      ScrollPosition position, int size);
 }
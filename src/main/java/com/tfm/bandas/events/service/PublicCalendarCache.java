@@ -0,0 +1,120 @@
+package com.tfm.bandas.events.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfm.bandas.events.config.CacheConfig;
+import com.tfm.bandas.events.config.PublicCalendarCacheProperties;
+import com.tfm.bandas.events.config.ReplicaRoutingDataSource;
+import com.tfm.bandas.events.utils.CountMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas de GET /api/events/public/calendar ya serializadas (JSON) y con su ETag: son iguales para todos
+ * los visitantes anónimos. Carga single-flight: con varios fallos simultáneos de la misma clave solo uno
+ * consulta; el resto espera a su resultado. Cualquier escritura que afecte a eventos PUBLIC invalida todo
+ * tras el commit.
+ * <p>
+ * La generación forma parte de la clave: una carga que empezó antes de una invalidación guarda su resultado
+ * bajo la generación anterior, que ya nadie pide, en vez de reintroducir datos viejos.
+ * <p>
+ * Las cargas se leen del primario (una réplica retrasada devolvería justo lo que se acaba de invalidar) y la
+ * invalidación vacía también EVENT_COUNTS, de donde sale el total en modo CACHED.
+ */
+@Component
+public class PublicCalendarCache {
+
+  public static final String NAME = "publicCalendar";
+
+  public record Key(long generation, Instant from, Instant to, int page, int size, String sort, CountMode count) {}
+
+  public record Entry(byte[] json, String etag, int rows) {}
+
+  private final boolean enabled;
+  private final Cache<Key, CompletableFuture<Entry>> cache;
+  private final AtomicLong generation = new AtomicLong();
+  private final org.springframework.cache.Cache counts;
+
+  public PublicCalendarCache(PublicCalendarCacheProperties props, CacheManager cacheManager, MeterRegistry registry) {
+    this.enabled = props.enabled();
+    this.counts = cacheManager.getCache(CacheConfig.EVENT_COUNTS);
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(props.maxSize())
+        .expireAfterWrite(props.ttl())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, cache, NAME);
+  }
+
+  public Key key(Instant from, Instant to, Pageable pageable, CountMode count) {
+    return new Key(generation.get(), from, to, pageable.getPageNumber(), pageable.getPageSize(),
+        pageable.getSort().toString(), count);
+  }
+
+  // La carga se hace en el hilo de la petición, fuera de Cache.get(key, loader) (ver EventCache)
+  public Entry get(Key key, Supplier<Entry> loader) {
+    if (!enabled) return loader.get();
+    CompletableFuture<Entry> cached = cache.getIfPresent(key);
+    if (cached != null) return await(cached);
+    CompletableFuture<Entry> mine = new CompletableFuture<>();
+    CompletableFuture<Entry> loading = cache.asMap().putIfAbsent(key, mine);
+    if (loading != null) return await(loading);
+    try {
+      Entry entry = ReplicaRoutingDataSource.onPrimary(loader);
+      // Una escritura confirmada durante la carga pudo vaciar EVENT_COUNTS antes de que esta guardara su total
+      if (generation.get() != key.generation()) evictCounts();
+      mine.complete(entry);
+      return entry;
+    } catch (RuntimeException | Error ex) {
+      // Los que esperaban reciben el mismo error; el siguiente intento vuelve a cargar
+      cache.asMap().remove(key, mine);
+      mine.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  public void invalidateAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidateAll();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        invalidateAll();
+      }
+    });
+  }
+
+  private void invalidateAll() {
+    generation.incrementAndGet();
+    if (enabled) cache.invalidateAll();
+    evictCounts();
+  }
+
+  // Las escrituras son pocas: se vacían todos los totales y cada uno se recalcula con una consulta
+  private void evictCounts() {
+    if (counts != null) counts.clear();
+  }
+
+  private static Entry await(CompletableFuture<Entry> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) throw cause;
+      if (ex.getCause() instanceof Error cause) throw cause;
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfm.bandas.events.config.CalendarFeedProperties;
+import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+import com.tfm.bandas.events.dto.CalendarFeedDTO;
+import com.tfm.bandas.events.dto.EventWindowStatsDTO;
+import com.tfm.bandas.events.dto.mapper.EventMapper;
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.model.entity.EventArchiveEntity;
+import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.model.repository.EventArchiveRepository;
+import com.tfm.bandas.events.model.repository.EventRepository;
+import com.tfm.bandas.events.model.specification.EventSpecifications;
+import com.tfm.bandas.events.service.CalendarFeedService;
+import com.tfm.bandas.events.service.EventSeriesService;
+import com.tfm.bandas.events.utils.EtagUtils;
+import com.tfm.bandas.events.utils.EventVisibility;
+import com.tfm.bandas.events.utils.ICalendarWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static com.tfm.bandas.events.utils.CursorUtils.KEYSET_ASC;
+
+/**
+ * Feeds iCalendar con caché pre-renderizada por ventana, con los eventos (también los archivados) y las
+ * ocurrencias de series. Antes de servir una entrada cacheada se lee event_sync_clock.seq (una fila por PK), que
+ * avanza con cada escritura de eventos y series: si no se ha movido, la entrada sigue valiendo. Solo cuando ha
+ * cambiado se calcula la huella de la ventana (count, max(updated_at), sum(version) de eventos y series) y se
+ * vuelve a renderizar si también ella difiere. event_archive es de solo lectura y archivar no cambia el contenido.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CalendarFeedServiceImpl implements CalendarFeedService {
+
+  private record FeedKey(boolean publicOnly, Instant from, Instant to) {}
+
+  // seq: valor de event_sync_clock con el que se comprobó por última vez la huella
+  private record RenderedFeed(long seq, EventWindowStatsDTO stats, CalendarFeedDTO feed) {}
+
+  private final EventRepository eventRepo;
+  private final EventArchiveRepository archiveRepo;
+  private final EventArchiveTier archiveTier;
+  private final EventSeriesService seriesService;
+  private final EventSyncClock syncClock;
+  private final CalendarFeedProperties props;
+  private final Cache<FeedKey, RenderedFeed> cache;
+  // Un render por ventana a la vez. ReentrantLock y no compute(): el render hace JDBC y un monitor
+  // fijaría el hilo virtual a su portador durante toda la consulta
+  private final ReentrantLock[] renderLocks = new ReentrantLock[16];
+
+  public CalendarFeedServiceImpl(EventRepository eventRepo, EventArchiveRepository archiveRepo, EventArchiveTier archiveTier,
+                                 EventSeriesService seriesService, EventSyncClock syncClock, CalendarFeedProperties props,
+                                 MeterRegistry registry) {
+    this.eventRepo = eventRepo;
+    this.archiveRepo = archiveRepo;
+    this.archiveTier = archiveTier;
+    this.seriesService = seriesService;
+    this.syncClock = syncClock;
+    this.props = props;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(props.cacheMaxEntries())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, cache, "icsFeeds");
+    for (int i = 0; i < renderLocks.length; i++) renderLocks[i] = new ReentrantLock();
+  }
+
+  @Override
+  public CalendarFeedDTO bandFeed(Instant from, Instant to) {
+    return feed(key(false, from, to));
+  }
+
+  @Override
+  public CalendarFeedDTO publicFeed(Instant from, Instant to) {
+    return feed(key(true, from, to));
+  }
+
+  private CalendarFeedDTO feed(FeedKey key) {
+    // Primera lectura de la transacción: la huella y el render ven la misma instantánea que este seq
+    long seq = syncClock.state().seq();
+    RenderedFeed current = cache.getIfPresent(key);
+    if (current != null && current.seq() == seq) return current.feed();
+
+    ReentrantLock lock = renderLocks[Math.floorMod(key.hashCode(), renderLocks.length)];
+    lock.lock();
+    try {
+      // Otra petición simultánea de la misma ventana puede haberlo comprobado ya
+      current = cache.getIfPresent(key);
+      if (current != null && current.seq() == seq) return current.feed();
+      // Hubo escrituras, pero quizá fuera de la ventana: solo se renderiza si cambia su huella
+      EventWindowStatsDTO stats = stats(key);
+      RenderedFeed rendered = current != null && current.stats().equals(stats)
+          ? new RenderedFeed(seq, stats, current.feed())
+          : render(key, seq, stats);
+      cache.put(key, rendered);
+      return rendered.feed();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private EventWindowStatsDTO stats(FeedKey key) {
+    return combine(key.publicOnly()
+        ? eventRepo.statsByVisibilityAndStartAtBetween(EventVisibility.PUBLIC, key.from(), key.to())
+        : eventRepo.statsByStartAtBetween(key.from(), key.to()),
+        seriesService.statsBetween(key.from(), key.to(), visibility(key)));
+  }
+
+  private RenderedFeed render(FeedKey key, long seq, EventWindowStatsDTO stats) {
+    Specification<EventEntity> spec = Specification.allOf(
+        EventSpecifications.startBetween(key.from(), key.to()), EventSpecifications.visibilityEquals(visibility(key)));
+    // DTSTAMP estable para la misma huella: el mismo contenido produce los mismos bytes
+    Instant dtStamp = stats.maxUpdatedAt() != null ? stats.maxUpdatedAt() : key.from();
+
+    var bytes = new ByteArrayOutputStream();
+    var writer = new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8));
+    var ics = new ICalendarWriter(writer);
+    ics.beginCalendar(key.publicOnly() ? props.publicCalendarName() : props.calendarName());
+    // Las ocurrencias ya vienen ordenadas por (startAt, id): se intercalan con las filas en el mismo orden
+    List<CalendarEventItemDTO> occurrences = seriesService.occurrencesBetween(key.from(), key.to(), visibility(key))
+        .stream().map(EventMapper::toCalendarItem).toList();
+    Comparator<CalendarEventItemDTO> order = OccurrenceMerger.comparator(KEYSET_ASC, OccurrenceMerger.CALENDAR_KEYS);
+    var out = new OccurrenceMerger.Interleave<CalendarEventItemDTO>(occurrences, order, item -> ics.event(item, dtStamp));
+    Specification<EventEntity> aboveHorizon = spec;
+    if (archiveTier.reachesStart(key.from())) {
+      // Como /export: un solo stream por conexión, primero el archivo con las filas de event bajo el horizonte
+      // intercaladas en memoria y después el resto de event
+      Instant horizon = archiveTier.horizon();
+      List<CalendarEventItemDTO> below = eventRepo.findAll(spec.and(EventSpecifications.startBefore(horizon)), KEYSET_ASC)
+          .stream().map(EventMapper::toCalendarItem).toList();
+      var belowHorizon = new OccurrenceMerger.Interleave<>(below, order, out);
+      Specification<EventArchiveEntity> archivedSpec = Specification.allOf(
+          EventSpecifications.startBetween(key.from(), key.to()), EventSpecifications.visibilityEquals(visibility(key)));
+      try (Stream<EventArchiveEntity> archived = archiveRepo.streamAll(archivedSpec, KEYSET_ASC)) {
+        archived.map(EventMapper::toCalendarItem).forEach(belowHorizon);
+      }
+      belowHorizon.finish();
+      aboveHorizon = spec.and(EventSpecifications.startAtOrAfter(horizon));
+    }
+    try (Stream<EventEntity> events = eventRepo.streamAll(aboveHorizon, KEYSET_ASC)) {
+      events.map(EventMapper::toCalendarItem).forEach(out);
+    }
+    out.finish();
+    ics.endCalendar();
+
+    String etag = EtagUtils.toCollectionEtag(stats, "ics", key.publicOnly(), key.from(), key.to());
+    return new RenderedFeed(seq, stats, new CalendarFeedDTO(bytes.toByteArray(), etag));
+  }
+
+  private static EventVisibility visibility(FeedKey key) {
+    return key.publicOnly() ? EventVisibility.PUBLIC : null;
+  }
+
+  // Huella conjunta: un cambio en una serie (alta, baja, excepción) mueve su versión o su updated_at
+  private static EventWindowStatsDTO combine(EventWindowStatsDTO events, EventWindowStatsDTO series) {
+    Instant maxUpdatedAt = events.maxUpdatedAt() == null ? series.maxUpdatedAt()
+        : series.maxUpdatedAt() == null || events.maxUpdatedAt().isAfter(series.maxUpdatedAt()) ? events.maxUpdatedAt()
+        : series.maxUpdatedAt();
+    return new EventWindowStatsDTO(events.count() + series.count(), maxUpdatedAt,
+        events.versionSum() + series.versionSum());
+  }
+
+  // Días completos en UTC para que las claves de caché coincidan durante todo el día
+  private FeedKey key(boolean publicOnly, Instant from, Instant to) {
+    Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+    Instant start = (from != null ? from : today.minus(props.pastDays(), ChronoUnit.DAYS)).truncatedTo(ChronoUnit.DAYS);
+    Instant end = to != null ? to : today.plus(props.futureDays(), ChronoUnit.DAYS);
+    Instant endOfDay = end.truncatedTo(ChronoUnit.DAYS);
+    if (endOfDay.isBefore(end)) endOfDay = endOfDay.plus(1, ChronoUnit.DAYS);
+    if (!endOfDay.isAfter(start)) throw new BadRequestException("to must be after from");
+    return new FeedKey(publicOnly, start, endOfDay);
+  }
+}
@@ -0,0 +1,59 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventArchiveProperties;
+import com.tfm.bandas.events.model.repository.EventArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Poda de capas: decide si una lectura tiene que consultar event_archive. El archivo solo contiene eventos con
+ * end_at < horizon(): el máximo end_at archivado, releído cada horizon-refresh (el archivador puede correr en
+ * otra instancia), y mientras haya archivo o este nodo archive, now - after, que cubre lo que EventArchiver mueva
+ * entre dos relecturas si todas las instancias usan el mismo after. Como start_at < end_at, una ventana por
+ * start_at que empieza en horizon() o después (el calendario de las próximas semanas) solo lee event.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventArchiveTier {
+
+  private final EventArchiveProperties props;
+  private final EventArchiveRepository archiveRepo;
+
+  // archivedBefore es null si no había nada archivado
+  private record Loaded(Instant archivedBefore, Instant loadedAt) {}
+
+  // Dos recargas simultáneas leen lo mismo
+  private volatile Loaded loaded;
+
+  // Cota exclusiva de end_at en event_archive; null si no puede haber nada archivado
+  public Instant horizon() {
+    Instant archived = loaded().archivedBefore();
+    if (archived == null && !props.enabled()) return null;
+    Instant moving = Instant.now().minus(props.after());
+    return archived == null || moving.isAfter(archived) ? moving : archived;
+  }
+
+  public boolean mayContainAny() {
+    return horizon() != null;
+  }
+
+  // Ventana por start_at que empieza en from
+  public boolean reachesStart(Instant from) {
+    Instant horizon = horizon();
+    return horizon != null && from.isBefore(horizon);
+  }
+
+  private Loaded loaded() {
+    Loaded current = loaded;
+    Instant now = Instant.now();
+    if (current == null || current.loadedAt().plus(props.horizonRefresh()).isBefore(now)) {
+      Instant max = archiveRepo.maxEndAt();
+      current = new Loaded(max == null ? null : max.plus(1, ChronoUnit.MICROS), now);
+      loaded = current;
+    }
+    return current;
+  }
+}
@@ -0,0 +1,101 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventArchiveProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mueve de event a event_archive los eventos terminados hace más de events.archive.after. Cada lote es una
+ * transacción (INSERT ... SELECT y DELETE de los mismos ids, más su suma en event_archive_day_count), así que un
+ * evento está siempre en una sola capa y el conteo del archivo no se desfasa.
+ * No es una baja: no genera lápida, mensaje de outbox ni cambios en event_day_summary.
+ * <p>
+ * READ COMMITTED y SKIP LOCKED: no bloquea huecos de idx_event_end ni espera a eventos que se están editando
+ * (se moverán en la siguiente pasada).
+ */
+@Component
+@ConditionalOnProperty(prefix = "events.archive", name = "enabled", havingValue = "true")
+public class EventArchiver {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventArchiver.class);
+
+  private static final String COLUMNS =
+      "id, version, title, description, start_at, end_at, location, type, status, visibility, created_at, updated_at";
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final EventArchiveProperties props;
+  private final Counter moved;
+
+  public EventArchiver(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                       EventArchiveProperties props, MeterRegistry registry) {
+    this.jdbc = jdbc;
+    this.props = props;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    this.moved = Counter.builder("events.archive.moved")
+        .description("Eventos movidos de event a event_archive")
+        .register(registry);
+  }
+
+  @Scheduled(fixedDelayString = "${events.archive.interval:1h}")
+  public void archive() {
+    Instant cutoff = Instant.now().minus(props.after());
+    long total = 0;
+    try {
+      int batch;
+      do {
+        batch = moveBatch(cutoff);
+        total += batch;
+      } while (batch == props.batchSize());
+    } catch (RuntimeException ex) {
+      logger.warn("Event archiving failed, retrying in {}: {}", props.interval(), ex.toString());
+    }
+    if (total > 0) logger.info("Archived {} events that ended before {}", total, cutoff);
+  }
+
+  int moveBatch(Instant cutoff) {
+    Integer count = tx.execute(status -> {
+      List<byte[]> ids = jdbc.query("""
+          select id from event
+          where end_at < :cutoff
+          order by end_at
+          limit :limit
+          for update skip locked
+          """, Map.of("cutoff", LocalDateTime.ofInstant(cutoff, ZoneOffset.UTC), "limit", props.batchSize()),
+          (rs, i) -> rs.getBytes(1));
+      if (ids.isEmpty()) return 0;
+      Map<String, Object> params = Map.of("ids", ids, "archivedAt", LocalDateTime.now(ZoneOffset.UTC));
+      jdbc.update("insert into event_archive (" + COLUMNS + ", archived_at) select " + COLUMNS
+          + ", :archivedAt from event where id in (:ids)", params);
+      // Conteo por día que lee /past (EventServiceImpl.countPastRows) en lugar de recorrer event_archive
+      jdbc.update("""
+          insert into event_archive_day_count (day, event_count)
+          select moved.day, moved.n from (
+            select date(end_at) as day, count(*) as n from event where id in (:ids) group by date(end_at)
+          ) as moved
+          on duplicate key update event_count = event_count + moved.n
+          """, params);
+      jdbc.update("delete from event where id in (:ids)", params);
+      return ids.size();
+    });
+    int n = count == null ? 0 : count;
+    moved.increment(n);
+    return n;
+  }
+}
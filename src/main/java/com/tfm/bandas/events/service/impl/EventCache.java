@@ -0,0 +1,117 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfm.bandas.events.config.EventCacheProperties;
+import com.tfm.bandas.events.dto.EventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché read-through de {@link EventDTO} por id, acotada por tamaño y TTL.
+ * Las escrituras se aplican tras el commit y nunca sustituyen una versión más nueva por otra más antigua,
+ * así una lectura concurrente que cargó la versión anterior no puede pisar la recién escrita. Cada escritura
+ * y cada borrado dejan además un sello: una carga que empezó antes no se guarda (evita resucitar un borrado).
+ */
+@Component
+public class EventCache {
+
+  public static final String NAME = "events";
+
+  private final boolean enabled;
+  private final Cache<String, EventDTO> cache;
+  // Reloj lógico y último sello de escritura por id; se guardan al menos lo que dura una entrada
+  private final AtomicLong clock = new AtomicLong();
+  private final Cache<String, Long> written;
+
+  public EventCache(EventCacheProperties props, MeterRegistry registry) {
+    this.enabled = props.enabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(props.maxSize())
+        .expireAfterWrite(props.ttl())
+        .recordStats()
+        .build();
+    this.written = Caffeine.newBuilder()
+        .maximumSize(props.maxSize())
+        .expireAfterWrite(props.ttl())
+        .build();
+    // cache.gets{result=hit|miss}, cache.evictions, cache.size... en /actuator/metrics
+    CaffeineCacheMetrics.monitor(registry, cache, NAME);
+  }
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  // La carga va fuera de Cache.get(id, loader): ese compute() mantiene un monitor durante la consulta JDBC
+  // y, con hilos virtuales, fija el hilo portador. Dos fallos simultáneos pueden cargar el mismo evento;
+  // storeLoaded se queda con la versión más nueva.
+  public EventDTO get(String id, Function<String, EventDTO> loader) {
+    if (!enabled) return loader.apply(id);
+    EventDTO cached = cache.getIfPresent(id);
+    if (cached != null) return cached;
+    long startedAt = clock.get();
+    return storeLoaded(id, loader.apply(id), startedAt);
+  }
+
+  // Lectura forzada fuera de la caché (p. ej. del primario); la entrada solo se sustituye si lo leído es más nuevo
+  public EventDTO reload(String id, Function<String, EventDTO> loader) {
+    long startedAt = clock.get();
+    EventDTO loaded = loader.apply(id);
+    if (!enabled) return loaded;
+    return storeLoaded(id, loaded, startedAt);
+  }
+
+  public void putAfterCommit(EventDTO event) {
+    afterCommit(() -> {
+      stamp(event.id());
+      cache.asMap().merge(event.id(), event, EventCache::newest);
+    });
+  }
+
+  public void evictAfterCommit(String id) {
+    afterCommit(() -> {
+      stamp(id);
+      cache.invalidate(id);
+    });
+  }
+
+  private void stamp(String id) {
+    written.put(id, clock.incrementAndGet());
+  }
+
+  // Sin consultas dentro del compute: solo compara sellos. Si hubo una escritura o un borrado desde que empezó
+  // la carga, lo leído puede ser anterior y no se guarda (se devuelve igualmente a quien lo pidió)
+  private EventDTO storeLoaded(String id, EventDTO loaded, long startedAt) {
+    EventDTO stored = cache.asMap().compute(id, (key, current) -> {
+      Long writtenAt = written.getIfPresent(key);
+      if (writtenAt != null && writtenAt > startedAt) return current;
+      return current == null ? loaded : newest(current, loaded);
+    });
+    return stored != null && stored.version() > loaded.version() ? stored : loaded;
+  }
+
+  private static EventDTO newest(EventDTO current, EventDTO incoming) {
+    return incoming.version() >= current.version() ? incoming : current;
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!enabled) return;
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
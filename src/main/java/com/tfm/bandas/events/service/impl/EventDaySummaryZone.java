@@ -0,0 +1,86 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventCalendarProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mantiene event_day_summary contado en events.calendar.time-zone. Si la zona guardada en event_day_summary_zone
+ * es otra (V7 usó UTC), recalcula la tabla entera en una transacción al arrancar.
+ * <p>
+ * La agregación se hace en SQL por franjas UTC de 15 minutos (todas las zonas actuales tienen desplazamientos
+ * múltiplos de 15 minutos, así que una franja cae entera en un único día local) y aquí solo se reparte por día.
+ * La lectura es FOR SHARE sobre event y event_archive: las altas, cambios y archivados que lleguen mientras tanto
+ * esperan y aplican su delta sobre la tabla ya recalculada.
+ */
+@Component
+public class EventDaySummaryZone {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventDaySummaryZone.class);
+
+  private static final Duration SLOT = Duration.ofMinutes(15);
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final EventCalendarProperties calendar;
+
+  public EventDaySummaryZone(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                             EventCalendarProperties calendar) {
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.calendar = calendar;
+  }
+
+  private record Key(LocalDate day, String visibility, String type, String status) {}
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void syncZone() {
+    String zone = calendar.timeZone().getId();
+    Integer rows = tx.execute(status -> {
+      // El bloqueo de la fila serializa a los nodos que arrancan a la vez: solo el primero recalcula
+      String stored = jdbc.queryForObject("select time_zone from event_day_summary_zone where id = 1 for update",
+          Map.of(), String.class);
+      if (zone.equals(stored)) return null;
+
+      Map<Key, Long> counts = new HashMap<>();
+      for (String table : new String[]{"event", "event_archive"}) {
+        jdbc.query("select timestampdiff(minute, '1970-01-01', start_at) div " + SLOT.toMinutes()
+            + " as slot, visibility, type, status, count(*) from " + table
+            + " group by slot, visibility, type, status for share", Map.of(), rs -> {
+          LocalDate day = LocalDate.ofInstant(Instant.EPOCH.plus(SLOT.multipliedBy(rs.getLong(1))), calendar.timeZone());
+          counts.merge(new Key(day, rs.getString(2), rs.getString(3), rs.getString(4)), rs.getLong(5), Long::sum);
+        });
+      }
+
+      jdbc.update("delete from event_day_summary", Map.of());
+      jdbc.batchUpdate("""
+          insert into event_day_summary (day, visibility, type, status, event_count)
+          values (:day, :visibility, :type, :status, :count)
+          """, counts.entrySet().stream()
+          .map(c -> new MapSqlParameterSource()
+              .addValue("day", c.getKey().day())
+              .addValue("visibility", c.getKey().visibility())
+              .addValue("type", c.getKey().type())
+              .addValue("status", c.getKey().status())
+              .addValue("count", c.getValue()))
+          .toArray(SqlParameterSource[]::new));
+      jdbc.update("update event_day_summary_zone set time_zone = :zone where id = 1", Map.of("zone", zone));
+      return counts.size();
+    });
+    if (rows != null) logger.info("Rebuilt event_day_summary for time zone {}: {} rows", zone, rows);
+  }
+}
@@ -0,0 +1,64 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventRulesProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Cota de duración para la ventana de solapes (start_at >= start - cota). events.rules.max-duration-hours solo
+ * limita lo que se escribe desde que existe la regla: los eventos anteriores, o creados con un límite mayor (otro
+ * nodo en un despliegue escalonado), pueden durar más. Por eso la cota es el máximo entre la regla y
+ * event_duration_bound.max_seconds, la duración más larga guardada: V21 la calcula una vez y cada escritura que la
+ * supera la sube en su propia transacción. Borrar o acortar no la baja, sigue siendo una cota. Se relee cada
+ * REFRESH por clave primaria.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventDurationBound {
+
+  private static final Duration REFRESH = Duration.ofMinutes(5);
+
+  private final EventRulesProperties rules;
+  private final NamedParameterJdbcTemplate jdbc;
+
+  private record Stored(Duration max, Instant loadedAt) {}
+
+  // Dos recargas simultáneas leen lo mismo
+  private volatile Stored stored;
+
+  public Duration maxDuration() {
+    Duration limit = Duration.ofHours(rules.maxDurationHours());
+    Duration max = stored().max();
+    return max.compareTo(limit) > 0 ? max : limit;
+  }
+
+  // Duración de un evento u ocurrencia que se va a guardar. Casi nunca supera la cota guardada: solo entonces
+  // se bloquea la fila, hasta el commit. La caché local no se toca: si la transacción se deshace, la cota no sube
+  public void record(Duration duration) {
+    if (duration.compareTo(stored().max()) <= 0) return;
+    long seconds = duration.toSeconds() + (duration.toNanosPart() > 0 ? 1 : 0);
+    jdbc.update("update event_duration_bound set max_seconds = greatest(max_seconds, :seconds) where id = 1",
+        Map.of("seconds", seconds));
+  }
+
+  private Stored stored() {
+    Stored current = stored;
+    Instant now = Instant.now();
+    if (current == null || current.loadedAt().plus(REFRESH).isBefore(now)) {
+      current = new Stored(load(), now);
+      stored = current;
+    }
+    return current;
+  }
+
+  private Duration load() {
+    Long seconds = jdbc.queryForObject("select max_seconds from event_duration_bound where id = 1", Map.of(), Long.class);
+    // timestampdiff trunca a segundos: +1 s para no quedarse corto
+    return Duration.ofSeconds(seconds == null ? 0 : seconds).plusSeconds(1);
+  }
+}
@@ -0,0 +1,102 @@
+package com.tfm.bandas.events.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.util.Streamable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de EventServiceImpl. Cada operación separa el tiempo de consulta (events.service.query) del de
+ * mapeo a DTO (events.service.mapping), ambos con histograma de percentiles, y registra las filas devueltas
+ * (events.service.rows).
+ */
+@Component
+public class EventMetrics {
+
+  private final MeterRegistry registry;
+  private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+  private final Map<String, Timer> mappingTimers = new ConcurrentHashMap<>();
+  private final Map<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+  private final Counter ifMatchFailures;
+  private final Counter versionConflicts;
+  private final Counter overlapRejections;
+  private final Counter staleReads;
+
+  public EventMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    this.ifMatchFailures = Counter.builder("events.optimistic_lock.failures")
+        .description("Writes rejected because the entity version changed")
+        .tag("source", "if-match")
+        .register(registry);
+    this.versionConflicts = Counter.builder("events.optimistic_lock.failures")
+        .description("Writes rejected because the entity version changed")
+        .tag("source", "flush")
+        .register(registry);
+    this.overlapRejections = Counter.builder("events.overlap.rejections")
+        .description("Writes rejected for overlapping another event at the same location")
+        .register(registry);
+    this.staleReads = Counter.builder("events.read_your_writes.stale_reads")
+        .description("Reads older than the version the client presented, repeated on the primary")
+        .register(registry);
+  }
+
+  public <T> T query(String operation, Supplier<T> query) {
+    return timer(queryTimers, "events.service.query", operation).record(query);
+  }
+
+  // Consulta + mapeo de una página/ventana, registrando las filas devueltas
+  public <S extends Streamable<?>, T> T fetch(String operation, Supplier<S> query, Function<S, T> mapper) {
+    S result = query(operation, query);
+    rows(operation, result.stream().count());
+    return timer(mappingTimers, "events.service.mapping", operation).record(() -> mapper.apply(result));
+  }
+
+  // Consultas que ya devuelven DTOs (proyecciones): no hay fase de mapeo
+  public <S extends Streamable<?>> S fetch(String operation, Supplier<S> query) {
+    S result = query(operation, query);
+    rows(operation, result.stream().count());
+    return result;
+  }
+
+  public <S, T> T map(String operation, S source, Function<S, T> mapper) {
+    return timer(mappingTimers, "events.service.mapping", operation).record(() -> mapper.apply(source));
+  }
+
+  public void rows(String operation, long count) {
+    rows.computeIfAbsent(operation, op -> DistributionSummary.builder("events.service.rows")
+        .description("Rows returned per query")
+        .tag("operation", op)
+        .publishPercentileHistogram()
+        .register(registry)).record(count);
+  }
+
+  public void ifMatchFailed() {
+    ifMatchFailures.increment();
+  }
+
+  public void versionConflict() {
+    versionConflicts.increment();
+  }
+
+  public void overlapRejected() {
+    overlapRejections.increment();
+  }
+
+  public void staleRead() {
+    staleReads.increment();
+  }
+
+  private Timer timer(Map<String, Timer> timers, String name, String operation) {
+    return timers.computeIfAbsent(operation, op -> Timer.builder(name)
+        .tag("operation", op)
+        .publishPercentileHistogram()
+        .register(registry));
+  }
+}
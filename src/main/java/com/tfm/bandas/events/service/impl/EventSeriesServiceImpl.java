@@ -0,0 +1,371 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventRulesProperties;
+import com.tfm.bandas.events.dto.EventChangeDTO;
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.dto.EventSeriesCreateRequestDTO;
+import com.tfm.bandas.events.dto.EventSeriesDTO;
+import com.tfm.bandas.events.dto.EventSeriesExceptionRequestDTO;
+import com.tfm.bandas.events.dto.EventWindowStatsDTO;
+import com.tfm.bandas.events.dto.LocationSlotDTO;
+import com.tfm.bandas.events.dto.mapper.EventMapper;
+import com.tfm.bandas.events.dto.mapper.EventSeriesMapper;
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.exception.NotFoundException;
+import com.tfm.bandas.events.exception.OverlapConflictException;
+import com.tfm.bandas.events.exception.PreconditionFailedException;
+import com.tfm.bandas.events.model.entity.EventSeriesEntity;
+import com.tfm.bandas.events.model.entity.EventSeriesExceptionEntity;
+import com.tfm.bandas.events.model.repository.EventRepository;
+import com.tfm.bandas.events.model.repository.EventSeriesExceptionRepository;
+import com.tfm.bandas.events.model.repository.EventSeriesRepository;
+import com.tfm.bandas.events.model.repository.EventTombstoneRepository;
+import com.tfm.bandas.events.outbox.EventOutbox;
+import com.tfm.bandas.events.service.EventSeriesService;
+import com.tfm.bandas.events.service.PublicCalendarCache;
+import com.tfm.bandas.events.service.impl.SlotSweep.Slot;
+import com.tfm.bandas.events.utils.EventChangeType;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.CollationKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.tfm.bandas.events.utils.EtagUtils.compareVersion;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EventSeriesServiceImpl implements EventSeriesService {
+
+  private final EventSeriesRepository seriesRepo;
+  private final EventSeriesExceptionRepository exceptionRepo;
+  private final EventRepository eventRepo;
+  private final EventRulesProperties rules;
+  private final EventDurationBound durationBound;
+  private final EventMetrics metrics;
+  private final PublicCalendarCache publicCalendarCache;
+  private final EventOutbox outbox;
+  private final EventTombstoneRepository tombstoneRepo;
+  private final EventSyncClock syncClock;
+  private final ApplicationEventPublisher events;
+
+  // Desplazamiento máximo de una ocurrencia movida por una excepción: la expansión se amplía en este margen
+  // para encontrar las ocurrencias que entran en la ventana desde fuera
+  static final Duration MAX_OCCURRENCE_SHIFT = Duration.ofDays(7);
+  private static final int MAX_CONFLICT_IDS = 20;
+  // Ventana de /search y /export sin from/to: todas las ocurrencias de cada serie (Recurrence se corta en until).
+  // OPEN_TO deja margen para MAX_OCCURRENCE_SHIFT sin salirse del rango de DATETIME
+  private static final Instant OPEN_FROM = Instant.EPOCH;
+  private static final Instant OPEN_TO = Instant.parse("9999-12-01T00:00:00Z");
+
+  @Override
+  public EventSeriesDTO createSeries(EventSeriesCreateRequestDTO req) {
+    EventSeriesEntity series = EventSeriesMapper.toEntityNew(req);
+    validateDuration(req.startAt(), req.endAt());
+    if (!rules.allowCreateInPast() && req.startAt().isBefore(Instant.now())) {
+      throw new BadRequestException("creating events in the past is disabled by policy");
+    }
+    List<Instant> starts = resolveStarts(series, req.until(), req.count());
+    series.setUntilAt(starts.get(starts.size() - 1));
+    validateSeriesOverlaps(series, starts);
+
+    EventSeriesEntity saved = metrics.query("createSeries", () -> seriesRepo.saveAndFlush(series));
+    metrics.rows("createSeries", starts.size());
+    invalidatePublicCalendar(saved);
+    EventSeriesDTO created = EventSeriesMapper.toResponse(saved, List.of());
+    publishChange(EventChangeType.CREATED, created, EventSeriesMapper.toOccurrence(saved, saved.getFirstStartAt(), null));
+    return created;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public EventSeriesDTO getSeries(String seriesId) {
+    EventSeriesEntity series = metrics.query("getSeries", () -> seriesRepo.findById(seriesId))
+        .orElseThrow(() -> new NotFoundException("Series not found: " + seriesId));
+    return EventSeriesMapper.toResponse(series, exceptionRepo.findBySeriesIdOrderByOriginalStartAt(seriesId));
+  }
+
+  @Override
+  public void deleteSeries(String seriesId, int ifMatchVersion) {
+    EventSeriesEntity series = lockForWrite("deleteSeries", seriesId, ifMatchVersion);
+    // El cambio lleva el último estado, con las excepciones que se van a borrar
+    EventSeriesDTO deleted = EventSeriesMapper.toResponse(series, exceptionRepo.findBySeriesIdOrderByOriginalStartAt(seriesId));
+    // Las excepciones se borran en cascada (fk_series_exception_series)
+    metrics.query("deleteSeries", () -> {
+      seriesRepo.delete(series);
+      // Lápida para GET /changes, como la de un evento
+      tombstoneRepo.insert(seriesId, series.getVersion(), Instant.now().truncatedTo(ChronoUnit.MICROS));
+      return seriesId;
+    });
+    invalidatePublicCalendar(series);
+    publishChange(EventChangeType.DELETED, deleted, EventSeriesMapper.toOccurrence(series, series.getFirstStartAt(), null));
+  }
+
+  @Override
+  public EventSeriesDTO putException(String seriesId, Instant originalStartAt, EventSeriesExceptionRequestDTO req,
+                                     int ifMatchVersion) {
+    EventSeriesEntity series = lockForWrite("putException", seriesId, ifMatchVersion);
+    checkOccurrence(series, originalStartAt);
+    if ((req.startAt() == null) != (req.endAt() == null)) {
+      throw new BadRequestException("startAt and endAt must be provided together");
+    }
+    if (req.startAt() != null) {
+      if (!req.endAt().isAfter(req.startAt())) throw new BadRequestException("end must be strictly after start");
+      validateDuration(req.startAt(), req.endAt());
+      if (Duration.between(originalStartAt, req.startAt()).abs().compareTo(MAX_OCCURRENCE_SHIFT) > 0) {
+        throw new BadRequestException("an occurrence can be moved at most " + MAX_OCCURRENCE_SHIFT.toDays() + " days");
+      }
+    }
+
+    EventSeriesExceptionEntity exception = exceptionRepo.findById(new EventSeriesExceptionEntity.Key(seriesId, originalStartAt))
+        .orElseGet(() -> EventSeriesExceptionEntity.builder().seriesId(seriesId).originalStartAt(originalStartAt).build());
+    exception.setCanceled(req.canceled());
+    exception.setStartAt(req.startAt());
+    exception.setEndAt(req.endAt());
+    exception.setTitle(req.title());
+    exception.setLocation(req.location());
+    exception.setStatus(req.status());
+    EventDTO occurrence = EventSeriesMapper.toOccurrence(series, originalStartAt, exception);
+    if (!exception.isCanceled()) validateOccurrenceOverlaps(occurrence);
+    metrics.query("putException", () -> exceptionRepo.save(exception));
+    return touch("putException", series, occurrence);
+  }
+
+  @Override
+  public EventSeriesDTO deleteException(String seriesId, Instant originalStartAt, int ifMatchVersion) {
+    EventSeriesEntity series = lockForWrite("deleteException", seriesId, ifMatchVersion);
+    EventSeriesExceptionEntity exception = exceptionRepo.findById(new EventSeriesExceptionEntity.Key(seriesId, originalStartAt))
+        .orElseThrow(() -> new NotFoundException(
+            "Exception not found: " + EventSeriesMapper.occurrenceId(seriesId, originalStartAt)));
+    // La ocurrencia vuelve a su franja original, que puede haberse ocupado mientras tanto
+    EventDTO occurrence = EventSeriesMapper.toOccurrence(series, originalStartAt, null);
+    validateOccurrenceOverlaps(occurrence);
+    metrics.query("deleteException", () -> {
+      exceptionRepo.delete(exception);
+      return originalStartAt;
+    });
+    return touch("deleteException", series, occurrence);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<EventDTO> occurrencesBetween(Instant from, Instant to, EventVisibility visibility) {
+    List<EventSeriesEntity> series = metrics.query("occurrencesBetween", () ->
+        seriesRepo.findInWindow(from.minus(MAX_OCCURRENCE_SHIFT), to.plus(MAX_OCCURRENCE_SHIFT), visibility));
+    List<EventDTO> occurrences = expand(series, from, to);
+    metrics.rows("occurrencesBetween", occurrences.size());
+    return occurrences;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<EventDTO> searchOccurrences(String qText, String title, String description, String location,
+                                          EventType type, EventStatus status, EventVisibility visibility,
+                                          Instant from, Instant to) {
+    Instant windowFrom = from != null ? from : OPEN_FROM;
+    Instant windowTo = to != null ? to : OPEN_TO;
+    OccurrenceFilter filter = OccurrenceFilter.of(qText, title, description, location, type, status, visibility);
+    List<EventSeriesEntity> series = metrics.query("searchOccurrences", () -> seriesRepo.findForSearch(type, visibility,
+        windowFrom.minus(MAX_OCCURRENCE_SHIFT), windowTo.plus(MAX_OCCURRENCE_SHIFT)));
+    List<EventDTO> occurrences = expand(series, windowFrom, windowTo).stream().filter(filter).toList();
+    metrics.rows("searchOccurrences", occurrences.size());
+    return occurrences;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public EventWindowStatsDTO statsBetween(Instant from, Instant to, EventVisibility visibility) {
+    return metrics.query("seriesStatsBetween", () ->
+        seriesRepo.statsInWindow(from.minus(MAX_OCCURRENCE_SHIFT), to.plus(MAX_OCCURRENCE_SHIFT), visibility));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<LocationSlotDTO> occurrenceSlotsAtLocations(Collection<String> locations, Instant from, Instant to) {
+    if (locations.isEmpty()) return List.of();
+    Instant windowFrom = from.minus(MAX_OCCURRENCE_SHIFT);
+    Instant windowTo = to.plus(MAX_OCCURRENCE_SHIFT);
+    Map<String, EventSeriesEntity> series = new LinkedHashMap<>();
+    metrics.query("occurrenceSlotsAtLocations", () -> {
+      seriesRepo.findInWindowAtLocations(locations, windowFrom, windowTo).forEach(s -> series.put(s.getId(), s));
+      Set<String> moved = exceptionRepo.findByLocationInAndOriginalStartAtBetween(locations, windowFrom, windowTo).stream()
+          .map(EventSeriesExceptionEntity::getSeriesId)
+          .filter(id -> !series.containsKey(id))
+          .collect(Collectors.toSet());
+      if (!moved.isEmpty()) seriesRepo.findAllById(moved).forEach(s -> series.put(s.getId(), s));
+      return series.size();
+    });
+
+    // Misma comparación que la collation de la columna location
+    Set<CollationKey> keys = locations.stream().map(OccurrenceMerger::locationKey).collect(Collectors.toSet());
+    List<LocationSlotDTO> slots = expand(series.values(), from, to).stream()
+        .filter(o -> o.status() != EventStatus.CANCELED && o.startAt().isBefore(to))
+        .filter(o -> o.location() != null && keys.contains(OccurrenceMerger.locationKey(o.location())))
+        .map(o -> new LocationSlotDTO(o.id(), o.location(), o.startAt(), o.endAt()))
+        .toList();
+    metrics.rows("occurrenceSlotsAtLocations", slots.size());
+    return slots;
+  }
+
+  // Expande solo la ventana pedida (más el margen de traslado) y aplica las excepciones, leídas en una consulta
+  private List<EventDTO> expand(Collection<EventSeriesEntity> series, Instant from, Instant to) {
+    if (series.isEmpty()) return List.of();
+    Instant windowFrom = from.minus(MAX_OCCURRENCE_SHIFT);
+    Instant windowTo = to.plus(MAX_OCCURRENCE_SHIFT);
+    List<String> ids = series.stream().map(EventSeriesEntity::getId).toList();
+    Map<String, Map<Instant, EventSeriesExceptionEntity>> exceptions = new HashMap<>();
+    metrics.query("findSeriesExceptions", () -> exceptionRepo.findBySeriesIdInAndOriginalStartAtBetween(ids, windowFrom, windowTo))
+        .forEach(x -> exceptions.computeIfAbsent(x.getSeriesId(), k -> new HashMap<>()).put(x.getOriginalStartAt(), x));
+
+    List<EventDTO> occurrences = new ArrayList<>();
+    for (EventSeriesEntity s : series) {
+      Map<Instant, EventSeriesExceptionEntity> byStart = exceptions.getOrDefault(s.getId(), Map.of());
+      for (Instant start : EventSeriesMapper.toRecurrence(s).startsBetween(windowFrom, windowTo)) {
+        EventSeriesExceptionEntity x = byStart.get(start);
+        if (x != null && x.isCanceled()) continue;
+        EventDTO occurrence = EventSeriesMapper.toOccurrence(s, start, x);
+        if (!occurrence.startAt().isBefore(from) && !occurrence.startAt().isAfter(to)) occurrences.add(occurrence);
+      }
+    }
+    occurrences.sort(Comparator.comparing(EventDTO::startAt).thenComparing(EventDTO::id));
+    return occurrences;
+  }
+
+  // until => todas las ocurrencias hasta esa fecha; count => las count primeras. En ambos casos con tope
+  private List<Instant> resolveStarts(EventSeriesEntity series, Instant until, Integer count) {
+    int max = rules.maxSeriesOccurrences();
+    if (count != null && count > max) {
+      throw new BadRequestException("too many occurrences: max " + max);
+    }
+    Instant limit = until != null ? until : Instant.MAX;
+    List<Instant> starts = EventSeriesMapper.toRecurrence(series, limit)
+        .firstStarts(limit, count != null ? count : max + 1);
+    if (starts.isEmpty()) throw new BadRequestException("until must not be before startAt");
+    if (starts.size() > max) throw new BadRequestException("too many occurrences: max " + max);
+    return starts;
+  }
+
+  // Toda la serie contra el índice (location, start_at, end_at) en una sola consulta, más las ocurrencias de
+  // otras series en esa ubicación, y un único barrido ordenado
+  private void validateSeriesOverlaps(EventSeriesEntity series, List<Instant> starts) {
+    String location = series.getLocation();
+    if (rules.allowOverlapSameLocation() || location == null || location.isBlank()
+        || series.getStatus() == EventStatus.CANCELED) return;
+
+    Duration duration = Duration.ofMinutes(series.getDurationMinutes());
+    Instant earliestStart = starts.get(0).minus(durationBound.maxDuration());
+    Instant end = starts.get(starts.size() - 1).plus(duration);
+
+    List<Slot> slots = new ArrayList<>(starts.size());
+    for (int i = 0; i < starts.size(); i++) {
+      slots.add(new Slot(starts.get(i), starts.get(i).plus(duration), i, null));
+    }
+    List<LocationSlotDTO> occupied = new ArrayList<>(metrics.query("findSlotsAtLocations",
+        () -> eventRepo.findSlotsAtLocations(List.of(location), earliestStart, end)));
+    occupied.addAll(occurrenceSlotsAtLocations(List.of(location), earliestStart, end));
+    metrics.rows("findSlotsAtLocations", occupied.size());
+    occupied.forEach(o -> slots.add(new Slot(o.startAt(), o.endAt(), null, o.id())));
+
+    SlotSweep.Overlap overlap = SlotSweep.firstOverlap(slots);
+    if (overlap != null) {
+      metrics.overlapRejected();
+      String prefix = "occurrence " + overlap.item().start() + ": time slot overlaps with ";
+      throw overlap.other().isNew()
+          ? new OverlapConflictException(prefix + "occurrence " + overlap.other().start() + " of the same series", List.of())
+          : new OverlapConflictException(prefix + "another event at the same location", List.of(overlap.other().id()));
+    }
+  }
+
+  private void validateOccurrenceOverlaps(EventDTO occurrence) {
+    String location = occurrence.location();
+    if (rules.allowOverlapSameLocation() || location == null || location.isBlank()
+        || occurrence.status() == EventStatus.CANCELED) return;
+
+    Instant earliestStart = occurrence.startAt().minus(durationBound.maxDuration());
+    List<String> conflicts = new ArrayList<>(metrics.query("findConflictIdsAtLocation", () ->
+        eventRepo.findConflictIdsAtLocation(location, occurrence.startAt(), occurrence.endAt(), earliestStart, null,
+            Limit.of(MAX_CONFLICT_IDS))));
+    occurrenceSlotsAtLocations(List.of(location), earliestStart, occurrence.endAt()).stream()
+        .filter(s -> s.endAt().isAfter(occurrence.startAt()) && !s.id().equals(occurrence.id()))
+        .limit(MAX_CONFLICT_IDS - conflicts.size())
+        .forEach(s -> conflicts.add(s.id()));
+    if (!conflicts.isEmpty()) {
+      metrics.overlapRejected();
+      throw new OverlapConflictException("time slot overlaps with another event at the same location", conflicts);
+    }
+  }
+
+  private void validateDuration(Instant start, Instant end) {
+    long minutes = Duration.between(start, end).toMinutes();
+    if (minutes < rules.minDurationMinutes()) {
+      throw new BadRequestException("duration too short: min " + rules.minDurationMinutes() + " minutes");
+    }
+    if (minutes > rules.maxDurationHours() * 60L) {
+      throw new BadRequestException("duration too long: max " + rules.maxDurationHours() + " hours");
+    }
+    durationBound.record(Duration.between(start, end));
+  }
+
+  private void checkOccurrence(EventSeriesEntity series, Instant originalStartAt) {
+    if (EventSeriesMapper.toRecurrence(series).startsBetween(originalStartAt, originalStartAt).isEmpty()) {
+      throw new NotFoundException("Occurrence not found: " + EventSeriesMapper.occurrenceId(series.getId(), originalStartAt));
+    }
+  }
+
+  // SELECT ... FOR UPDATE: serializa los cambios de excepciones de una misma serie antes de comprobar If-Match
+  private EventSeriesEntity lockForWrite(String operation, String seriesId, int ifMatchVersion) {
+    EventSeriesEntity series = metrics.query(operation, () -> seriesRepo.findForUpdate(seriesId))
+        .orElseThrow(() -> new NotFoundException("Series not found: " + seriesId));
+    try {
+      compareVersion(ifMatchVersion, series.getVersion());
+    } catch (PreconditionFailedException ex) {
+      metrics.ifMatchFailed();
+      throw ex;
+    }
+    return series;
+  }
+
+  // Un cambio en las excepciones es un cambio de la serie: sube su versión (ETag) y su updated_at, y se publica
+  // como UPDATED de la serie con la ocurrencia afectada
+  private EventSeriesDTO touch(String operation, EventSeriesEntity series, EventDTO occurrence) {
+    series.setUpdatedAt(Instant.now());
+    EventSeriesEntity saved = metrics.query(operation, () -> seriesRepo.saveAndFlush(series));
+    invalidatePublicCalendar(saved);
+    EventSeriesDTO updated = EventSeriesMapper.toResponse(saved, exceptionRepo.findBySeriesIdOrderByOriginalStartAt(saved.getId()));
+    publishChange(EventChangeType.UPDATED, updated, occurrence);
+    return updated;
+  }
+
+  // Mismo camino que los eventos (EventServiceImpl.publishChange): posición en GET /changes, event_outbox y, tras
+  // el commit, SSE y auditoría. El id del cambio es el de la serie; event es la ocurrencia afectada (la primera
+  // al crear o borrar la serie)
+  private void publishChange(EventChangeType type, EventSeriesDTO series, EventDTO occurrence) {
+    if (type == EventChangeType.DELETED) syncClock.deleted(series.id());
+    else syncClock.seriesChanged(series.id());
+    outbox.add(type, series);
+    events.publishEvent(new EventChangeDTO(type, series.id(), series.version(), EventMapper.toCalendarItem(occurrence)));
+  }
+
+  // Las ocurrencias de una serie PUBLIC forman parte de la respuesta cacheada del calendario público
+  private void invalidatePublicCalendar(EventSeriesEntity series) {
+    if (series.getVisibility() == EventVisibility.PUBLIC) publicCalendarCache.invalidateAfterCommit();
+  }
+}
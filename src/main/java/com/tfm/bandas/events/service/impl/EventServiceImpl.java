@@ -1,29 +1,93 @@
 package com.tfm.bandas.events.service.impl;
 
+import com.tfm.bandas.events.config.CacheConfig;
+import com.tfm.bandas.events.config.EventCalendarProperties;
+import com.tfm.bandas.events.config.EventDataSourceProperties;
 import com.tfm.bandas.events.config.EventRulesProperties;
+import com.tfm.bandas.events.config.ReplicaRoutingDataSource;
+import com.tfm.bandas.events.dto.CalendarDaySummaryDTO;
 import com.tfm.bandas.events.dto.CalendarEventItemDTO;
 import com.tfm.bandas.events.dto.EventCreateRequestDTO;
+import com.tfm.bandas.events.dto.EventChangeDTO;
 import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.dto.EventDaySummaryRowDTO;
+import com.tfm.bandas.events.dto.EventSyncPageDTO;
+import com.tfm.bandas.events.dto.LocationSlotDTO;
 import com.tfm.bandas.events.dto.mapper.EventMapper;
+import com.tfm.bandas.events.exception.ArchivedEventException;
 import com.tfm.bandas.events.exception.BadRequestException;
 import com.tfm.bandas.events.exception.NotFoundException;
+import com.tfm.bandas.events.exception.OverlapConflictException;
+import com.tfm.bandas.events.exception.PreconditionFailedException;
+import com.tfm.bandas.events.model.entity.EventArchiveEntity;
 import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.model.entity.EventSeriesEntity;
+import com.tfm.bandas.events.model.entity.EventSeriesExceptionEntity;
+import com.tfm.bandas.events.model.entity.EventTombstoneEntity;
+import com.tfm.bandas.events.model.repository.EventArchiveRepository;
+import com.tfm.bandas.events.model.repository.EventDaySummaryRepository;
 import com.tfm.bandas.events.model.repository.EventRepository;
+import com.tfm.bandas.events.model.repository.EventSeriesExceptionRepository;
+import com.tfm.bandas.events.model.repository.EventSeriesRepository;
+import com.tfm.bandas.events.model.repository.EventTombstoneRepository;
 import com.tfm.bandas.events.model.specification.EventSpecifications;
+import com.tfm.bandas.events.outbox.EventOutbox;
+import com.tfm.bandas.events.service.EventSeriesService;
 import com.tfm.bandas.events.service.EventService;
+import com.tfm.bandas.events.service.PublicCalendarCache;
+import com.tfm.bandas.events.service.impl.SlotSweep.Slot;
+import com.tfm.bandas.events.utils.CursorUtils;
+import com.tfm.bandas.events.utils.EventChangeType;
 import com.tfm.bandas.events.utils.EventStatus;
 import com.tfm.bandas.events.utils.EventType;
 import com.tfm.bandas.events.utils.EventVisibility;
+import com.tfm.bandas.events.utils.SyncToken;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.text.CollationKey;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.tfm.bandas.events.utils.CursorUtils.KEYSET_ASC;
+import static com.tfm.bandas.events.utils.CursorUtils.KEYSET_DESC;
 import static com.tfm.bandas.events.utils.EtagUtils.compareVersion;
 
 @Service
@@ -32,73 +96,783 @@ import static com.tfm.bandas.events.utils.EtagUtils.compareVersion;
 public class EventServiceImpl implements EventService {
 
   private final EventRepository eventRepo;
+  private final EventDaySummaryRepository daySummaryRepo;
+  private final EventTombstoneRepository tombstoneRepo;
+  private final EventSeriesRepository seriesRepo;
+  private final EventSeriesExceptionRepository seriesExceptionRepo;
+  private final EventArchiveRepository archiveRepo;
+  private final EventArchiveTier archiveTier;
+  private final EventSeriesService seriesService;
   private final EventRulesProperties rules;
+  private final EventCalendarProperties calendar;
+  private final EventDurationBound durationBound;
+  private final EventCache eventCache;
+  private final PublicCalendarCache publicCalendarCache;
+  private final EventOutbox outbox;
+  private final ApplicationEventPublisher events;
+  private final EventMetrics metrics;
+  private final EventDataSourceProperties dataSources;
+  private final EventSyncClock syncClock;
 
+  // Máximo de ids de conflicto que se devuelven al cliente
+  private static final int MAX_CONFLICT_IDS = 20;
+  private static final String RELEVANCE = "relevance";
+  // Rango máximo del resumen diario (un año)
+  private static final int MAX_SUMMARY_DAYS = 366;
+  // Orden fijo de las filas de event_day_summary al actualizarlas (evita interbloqueos entre lotes)
+  private static final Comparator<SummaryKey> SUMMARY_KEY_ORDER = Comparator.comparing(SummaryKey::day)
+      .thenComparing(k -> k.visibility().name())
+      .thenComparing(k -> k.type().name())
+      .thenComparing(k -> k.status().name());
   @Override
   public EventDTO createEvent(EventCreateRequestDTO event) {
     EventEntity saved = EventMapper.toEntityNew(event);
     validateBusinessRules(saved, null);
-    return EventMapper.toResponse(eventRepo.saveAndFlush(saved));
+    EventEntity persisted = saveAndFlush("createEvent", saved);
+    adjustDaySummary("createEvent", Map.of(SummaryKey.of(persisted, calendar.timeZone()), 1));
+    EventDTO created = metrics.map("createEvent", persisted, EventMapper::toResponse);
+    eventCache.putAfterCommit(created);
+    invalidatePublicCalendar(persisted.getVisibility());
+    publishChange(EventChangeType.CREATED, persisted);
+    return created;
+  }
+
+  @Override
+  public List<EventDTO> createEvents(List<EventCreateRequestDTO> events) {
+    if (events.size() > rules.maxBatchSize()) {
+      throw new BadRequestException("batch too large: max " + rules.maxBatchSize() + " events");
+    }
+    List<EventEntity> entities = new ArrayList<>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      try {
+        EventEntity entity = EventMapper.toEntityNew(events.get(i));
+        validateEventRules(entity);
+        entities.add(entity);
+      } catch (BadRequestException ex) {
+        throw new BadRequestException("events[" + i + "]: " + ex.getMessage());
+      }
+    }
+    validateBatchOverlaps(entities);
+
+    // Un único flush: con hibernate.jdbc.batch_size los INSERT salen agrupados
+    metrics.query("createEvents", () -> {
+      eventRepo.saveAll(entities);
+      eventRepo.flush();
+      return entities.size();
+    });
+    metrics.rows("createEvents", entities.size());
+    Map<SummaryKey, Integer> deltas = new HashMap<>();
+    entities.forEach(e -> deltas.merge(SummaryKey.of(e, calendar.timeZone()), 1, Integer::sum));
+    adjustDaySummary("createEvents", deltas);
+    List<EventDTO> created = metrics.map("createEvents", entities, list -> list.stream().map(EventMapper::toResponse).toList());
+    created.forEach(eventCache::putAfterCommit);
+    entities.forEach(e -> invalidatePublicCalendar(e.getVisibility()));
+    entities.forEach(e -> publishChange(EventChangeType.CREATED, e));
+    return created;
   }
 
   @Override
   public EventDTO updateEvent(String eventId, EventCreateRequestDTO event, int ifMatchVersion) {
-    EventEntity eventEntity = eventRepo.findById(eventId).orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
-    compareVersion(ifMatchVersion, eventEntity.getVersion());
+    EventEntity eventEntity = findForWrite("updateEvent", eventId);
+    checkVersion(ifMatchVersion, eventEntity.getVersion());
+    SummaryKey before = SummaryKey.of(eventEntity, calendar.timeZone());
     EventMapper.copyToEntityUpdate(event, eventEntity);
     validateBusinessRules(eventEntity, eventId);
-    return EventMapper.toResponse(eventRepo.saveAndFlush(eventEntity));
+    EventEntity persisted = saveAndFlush("updateEvent", eventEntity);
+    SummaryKey after = SummaryKey.of(persisted, calendar.timeZone());
+    if (!before.equals(after)) {
+      adjustDaySummary("updateEvent", Map.of(before, -1, after, 1));
+    }
+    EventDTO updated = metrics.map("updateEvent", persisted, EventMapper::toResponse);
+    eventCache.putAfterCommit(updated);
+    invalidatePublicCalendar(before.visibility());
+    invalidatePublicCalendar(after.visibility());
+    publishChange(EventChangeType.UPDATED, persisted);
+    return updated;
   }
 
   @Override
   public void deleteEvent(String eventId, int ifMatchVersion) {
-    EventEntity eventEntity = eventRepo.findById(eventId).orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
-    compareVersion(ifMatchVersion, eventEntity.getVersion());
-    eventRepo.deleteById(eventId);
+    EventEntity eventEntity = findForWrite("deleteEvent", eventId);
+    checkVersion(ifMatchVersion, eventEntity.getVersion());
+    metrics.query("deleteEvent", () -> {
+      eventRepo.deleteById(eventId);
+      // Lápida para la sincronización delta (GET /changes), en la misma transacción que el borrado
+      tombstoneRepo.insert(eventId, eventEntity.getVersion(), Instant.now().truncatedTo(ChronoUnit.MICROS));
+      return eventId;
+    });
+    adjustDaySummary("deleteEvent", Map.of(SummaryKey.of(eventEntity, calendar.timeZone()), -1));
+    eventCache.evictAfterCommit(eventId);
+    invalidatePublicCalendar(eventEntity.getVisibility());
+    publishChange(EventChangeType.DELETED, eventEntity);
   }
 
   @Override
-  @Transactional(readOnly = true)
+  // SUPPORTS: un acierto de caché no abre transacción ni pide conexión al pool. Lo que se va a cachear se lee del
+  // primario: una réplica retrasada devolvería, justo tras el evict de una escritura, la versión anterior y esta
+  // se serviría hasta el TTL. Sin caché la lectura puede ir a la réplica
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public EventDTO getEvent(String idEvent) {
-    return eventRepo.findById(idEvent)
-        .map(EventMapper::toResponse)
-        .orElseThrow(() -> new NotFoundException("Event not found: " + idEvent));
+    if (!eventCache.enabled()) return loadEvent(idEvent);
+    return eventCache.get(idEvent, id -> ReplicaRoutingDataSource.onPrimary(() -> loadEvent(id)));
+  }
+
+  @Override
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+  public EventDTO getEvent(String idEvent, int minVersion) {
+    if (minVersion < 0 || !dataSources.readYourWrites()) return getEvent(idEvent);
+    try {
+      EventDTO event = getEvent(idEvent);
+      if (event.version() >= minVersion) return event;
+    } catch (NotFoundException ex) {
+      // Recién creado: puede no haber llegado aún a la réplica
+    }
+    metrics.staleRead();
+    return eventCache.reload(idEvent, id -> ReplicaRoutingDataSource.onPrimary(() -> loadEvent(id)));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public EventSyncPageDTO changesSince(String since, int size) {
+    SyncToken from = SyncToken.decode(since);
+    // En el primario: el token es una posición en event_sync_clock y una réplica retrasada podría no tener aún
+    // cambios anteriores a él. El contador se lee primero y fija la instantánea del resto de lecturas
+    return ReplicaRoutingDataSource.onPrimary(() -> {
+      EventSyncClock.State state = metrics.query("changesSince", syncClock::state);
+      SyncFeed.checkExpired(from, state);
+      SyncToken position = from == null ? SyncToken.START : from;
+      Limit limit = Limit.of(size + 1);
+      List<EventEntity> changed = metrics.query("changesSince",
+          () -> eventRepo.findChangedAfter(position.seq(), position.id(), state.seq(), limit));
+      // Sin token el cliente no tiene nada que borrar
+      List<EventTombstoneEntity> deleted = from == null ? List.of() : metrics.query("changesSince",
+          () -> tombstoneRepo.findDeletedAfter(position.seq(), position.id(), state.seq(), limit));
+      List<EventSeriesEntity> series = metrics.query("changesSince",
+          () -> seriesRepo.findChangedAfter(position.seq(), position.id(), state.seq(), limit));
+      Map<String, List<EventSeriesExceptionEntity>> exceptions = series.isEmpty() ? Map.of() : metrics.query("changesSince",
+          () -> seriesExceptionRepo.findBySeriesIdInOrderByOriginalStartAt(series.stream().map(EventSeriesEntity::getId).toList()))
+          .stream().collect(Collectors.groupingBy(EventSeriesExceptionEntity::getSeriesId));
+      EventSyncPageDTO page = SyncFeed.page(from, state, size, changed, deleted, series, exceptions);
+      metrics.rows("changesSince", page.changes().size());
+      return page;
+    });
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<String> findLocationConflicts(String location, Instant start, Instant end, String excludeId) {
+    if (location == null || location.isBlank()) return List.of();
+    if (!end.isAfter(start)) throw new BadRequestException("end must be strictly after start");
+    List<String> ids = conflictingIds(location, start, end, excludeId);
+    metrics.rows("findLocationConflicts", ids.size());
+    return ids;
   }
 
   @Override
   @Transactional(readOnly = true)
   public Page<EventDTO> listEventsBetween(Instant from, Instant to, Pageable pageable) {
-    return eventRepo.findAllByStartAtBetween(from, to, pageable)
-        .map(EventMapper::toResponse);
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.EVENT_KEYS);
+    List<EventDTO> occurrences = seriesService.occurrencesBetween(from, to, null);
+    if (occurrences.isEmpty() && !archiveTier.reachesStart(from)) {
+      return metrics.fetch("listEventsBetween", () -> eventRepo.findAllByStartAtBetween(from, to, pageable),
+          page -> page.map(EventMapper::toResponse));
+    }
+    Slice<EventDTO> slice = sliceWithSeries(pageable, occurrences, OccurrenceMerger.EVENT_KEYS,
+        eventRowsBetween("listEventsBetween", from, to));
+    long rows = metrics.query("listEventsBetween", () -> eventRepo.countByStartAtBetween(from, to))
+        + archivedBetween("listEventsBetween", from, to, null);
+    return new PageImpl<>(slice.getContent(), pageable, rows + occurrences.size());
   }
 
   @Override
   @Transactional(readOnly = true)
   public Page<EventDTO> listEventsPast(Instant before, Pageable pageable) {
-    return eventRepo.findAllByEndAtBefore(before, pageable)
-        .map(EventMapper::toResponse);
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.EVENT_KEYS);
+    if (!archiveTier.mayContainAny()) {
+      return metrics.fetch("listEventsPast", () -> eventRepo.findAllByEndAtBefore(before, pageable),
+          page -> page.map(EventMapper::toResponse));
+    }
+    Slice<EventDTO> slice = pastRows("listEventsPast", before).apply(pageable);
+    return new PageImpl<>(slice.getContent(), pageable, countPastRows("listEventsPast", before));
   }
 
   @Override
   @Transactional(readOnly = true)
   public Page<CalendarEventItemDTO> calendarBetween(Instant from, Instant to, Pageable pageable) {
-    return eventRepo.findAllByStartAtBetween(from, to, pageable)
-        .map(EventMapper::toCalendarItem);
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.CALENDAR_KEYS);
+    List<CalendarEventItemDTO> occurrences = calendarOccurrences(from, to, null);
+    if (occurrences.isEmpty() && !archiveTier.reachesStart(from)) {
+      return metrics.fetch("calendarBetween", () -> eventRepo.findCalendarByStartAtBetween(from, to, pageable));
+    }
+    Slice<CalendarEventItemDTO> slice = sliceWithSeries(pageable, occurrences, OccurrenceMerger.CALENDAR_KEYS,
+        calendarRowsBetween("calendarBetween", from, to, null));
+    long rows = metrics.query("calendarBetween", () -> eventRepo.countByStartAtBetween(from, to))
+        + archivedBetween("calendarBetween", from, to, null);
+    return new PageImpl<>(slice.getContent(), pageable, rows + occurrences.size());
   }
 
   @Override
   @Transactional(readOnly = true)
   public Page<CalendarEventItemDTO> calendarBetweenPublic(Instant from, Instant to, Pageable pageable) {
-    return eventRepo.findAllByVisibilityAndStartAtBetween(EventVisibility.PUBLIC, from, to, pageable)
-            .map(EventMapper::toCalendarItem);
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.CALENDAR_KEYS);
+    List<CalendarEventItemDTO> occurrences = calendarOccurrences(from, to, EventVisibility.PUBLIC);
+    if (occurrences.isEmpty() && !archiveTier.reachesStart(from)) {
+      return metrics.fetch("calendarBetweenPublic",
+          () -> eventRepo.findCalendarByVisibilityAndStartAtBetween(EventVisibility.PUBLIC, from, to, pageable));
+    }
+    Slice<CalendarEventItemDTO> slice = sliceWithSeries(pageable, occurrences, OccurrenceMerger.CALENDAR_KEYS,
+        calendarRowsBetween("calendarBetweenPublic", from, to, EventVisibility.PUBLIC));
+    long rows = metrics.query("calendarBetweenPublic",
+        () -> eventRepo.countByVisibilityAndStartAtBetween(EventVisibility.PUBLIC, from, to))
+        + archivedBetween("calendarBetweenPublic", from, to, EventVisibility.PUBLIC);
+    return new PageImpl<>(slice.getContent(), pageable, rows + occurrences.size());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<CalendarDaySummaryDTO> calendarSummary(LocalDate from, LocalDate to) {
+    checkSummaryRange(from, to);
+    return summarize("calendarSummary", () -> daySummaryRepo.sumByDayBetween(from, to), from, to, null);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<CalendarDaySummaryDTO> calendarSummaryPublic(LocalDate from, LocalDate to) {
+    checkSummaryRange(from, to);
+    return summarize("calendarSummaryPublic",
+        () -> daySummaryRepo.sumByDayBetweenAndVisibility(from, to, EventVisibility.PUBLIC), from, to, EventVisibility.PUBLIC);
   }
 
   @Override
   @Transactional(readOnly = true)
   public Page<EventDTO> searchEvents(String qText, String title, String description, String location,
                                      EventType type, EventStatus status, EventVisibility visibility, Pageable pageable) {
+    SearchQuery search = searchQuery("searchEvents", qText, title, description, location, type, status, visibility, pageable);
+    List<EventDTO> occurrences = seriesService.searchOccurrences(qText, title, description, location, type, status,
+        visibility, null, null);
+    Slice<EventDTO> slice = searchWithSeries(search, occurrences);
+    // Como findAll(spec, pageable): sin count si la página ya dice dónde acaba el resultado
+    return PageableExecutionUtils.getPage(slice.getContent(), search.pageable(),
+        () -> search.count().getAsLong() + occurrences.size());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<EventDTO> sliceEventsBetween(Instant from, Instant to, Pageable pageable) {
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.EVENT_KEYS);
+    List<EventDTO> occurrences = seriesService.occurrencesBetween(from, to, null);
+    Function<Pageable, Slice<EventDTO>> rows = eventRowsBetween("sliceEventsBetween", from, to);
+    return occurrences.isEmpty() ? rows.apply(pageable) : sliceWithSeries(pageable, occurrences, OccurrenceMerger.EVENT_KEYS, rows);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<EventDTO> sliceEventsPast(Instant before, Pageable pageable) {
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.EVENT_KEYS);
+    return pastRows("sliceEventsPast", before).apply(pageable);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<CalendarEventItemDTO> sliceCalendarBetween(Instant from, Instant to, Pageable pageable) {
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.CALENDAR_KEYS);
+    List<CalendarEventItemDTO> occurrences = calendarOccurrences(from, to, null);
+    Function<Pageable, Slice<CalendarEventItemDTO>> rows = calendarRowsBetween("sliceCalendarBetween", from, to, null);
+    return occurrences.isEmpty() ? rows.apply(pageable) : sliceWithSeries(pageable, occurrences, OccurrenceMerger.CALENDAR_KEYS, rows);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<CalendarEventItemDTO> sliceCalendarBetweenPublic(Instant from, Instant to, Pageable pageable) {
+    OccurrenceMerger.checkSort(pageable.getSort(), OccurrenceMerger.CALENDAR_KEYS);
+    List<CalendarEventItemDTO> occurrences = calendarOccurrences(from, to, EventVisibility.PUBLIC);
+    Function<Pageable, Slice<CalendarEventItemDTO>> rows =
+        calendarRowsBetween("sliceCalendarBetweenPublic", from, to, EventVisibility.PUBLIC);
+    return occurrences.isEmpty() ? rows.apply(pageable) : sliceWithSeries(pageable, occurrences, OccurrenceMerger.CALENDAR_KEYS, rows);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<EventDTO> sliceSearchEvents(String qText, String title, String description, String location,
+                                           EventType type, EventStatus status, EventVisibility visibility, Pageable pageable) {
+    SearchQuery search = searchQuery("sliceSearchEvents", qText, title, description, location, type, status, visibility,
+        pageable);
+    return searchWithSeries(search, seriesService.searchOccurrences(qText, title, description, location, type, status,
+        visibility, null, null));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.EVENT_COUNTS, key = "{'between', #from, #to}")
+  public long countEventsBetween(Instant from, Instant to) {
+    return metrics.query("countEventsBetween", () -> eventRepo.countByStartAtBetween(from, to))
+        + archivedBetween("countEventsBetween", from, to, null)
+        + seriesService.occurrencesBetween(from, to, null).size();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.EVENT_COUNTS, key = "{'past', #before}")
+  public long countEventsPast(Instant before) {
+    return countPastRows("countEventsPast", before);
+  }
 
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.EVENT_COUNTS, key = "{'public', #from, #to}")
+  public long countEventsBetweenPublic(Instant from, Instant to) {
+    return metrics.query("countEventsBetweenPublic", () -> eventRepo.countByVisibilityAndStartAtBetween(EventVisibility.PUBLIC, from, to))
+        + archivedBetween("countEventsBetweenPublic", from, to, EventVisibility.PUBLIC)
+        + seriesService.occurrencesBetween(from, to, EventVisibility.PUBLIC).size();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.EVENT_COUNTS,
+          key = "{'search', #qText, #title, #description, #location, #type, #status, #visibility}")
+  public long countSearchEvents(String qText, String title, String description, String location,
+                                EventType type, EventStatus status, EventVisibility visibility) {
+    long rows = metrics.query("countSearchEvents",
+        () -> eventRepo.count(searchSpec(qText, title, description, location, type, status, visibility)));
+    if (archiveTier.mayContainAny()) {
+      rows += metrics.query("countSearchEvents",
+          () -> archiveRepo.count(searchSpec(qText, title, description, location, type, status, visibility)));
+    }
+    return rows + seriesService.searchOccurrences(qText, title, description, location, type, status, visibility, null, null).size();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportEvents(Instant from, Instant to, String qText, String title, String description, String location,
+                           EventType type, EventStatus status, EventVisibility visibility, Consumer<EventDTO> consumer) {
+    if ((from == null) != (to == null)) {
+      throw new BadRequestException("from and to must be provided together");
+    }
     Specification<EventEntity> spec = Specification.allOf(
+        searchSpec(qText, title, description, location, type, status, visibility), EventSpecifications.startBetween(from, to));
+    Specification<EventArchiveEntity> archivedSpec = Specification.allOf(
+        searchSpec(qText, title, description, location, type, status, visibility), EventSpecifications.startBetween(from, to));
+    // Las ocurrencias de series, ya ordenadas, se intercalan con las filas en el mismo orden (startAt, id)
+    List<EventDTO> occurrences = seriesService.searchOccurrences(qText, title, description, location, type, status,
+        visibility, from, to);
+    Comparator<EventDTO> order = OccurrenceMerger.comparator(KEYSET_ASC, OccurrenceMerger.EVENT_KEYS);
+    boolean archive = from == null ? archiveTier.mayContainAny() : archiveTier.reachesStart(from);
+    // Consulta, mapeo y escritura van intercalados fila a fila: se mide el total como consulta
+    long rows = metrics.query("exportEvents", () -> {
+      var out = new OccurrenceMerger.Interleave<>(occurrences, order, consumer);
+      if (!archive) {
+        try (Stream<EventEntity> events = eventRepo.streamAll(spec, KEYSET_ASC)) {
+          events.map(EventMapper::toResponse).forEach(out);
+        }
+        return out.finish();
+      }
+      // Un solo stream abierto por conexión: primero el archivo, con las filas de event bajo el horizonte (pocas:
+      // pendientes de archivar o que lo cruzan) intercaladas en memoria, y después el resto de event, todo posterior
+      Instant horizon = archiveTier.horizon();
+      List<EventDTO> below = eventRepo.findAll(spec.and(EventSpecifications.startBefore(horizon)), KEYSET_ASC).stream()
+          .map(EventMapper::toResponse).toList();
+      var belowHorizon = new OccurrenceMerger.Interleave<>(below, order, out);
+      try (Stream<EventArchiveEntity> archived = archiveRepo.streamAll(archivedSpec, KEYSET_ASC)) {
+        archived.map(EventMapper::toResponse).forEach(belowHorizon);
+      }
+      belowHorizon.finish();
+      try (Stream<EventEntity> events = eventRepo.streamAll(spec.and(EventSpecifications.startAtOrAfter(horizon)), KEYSET_ASC)) {
+        events.map(EventMapper::toResponse).forEach(out);
+      }
+      return out.finish();
+    });
+    metrics.rows("exportEvents", rows);
+    return rows;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<EventDTO> scrollEventsBetween(Instant from, Instant to, ScrollPosition position, int size) {
+    Window<EventDTO> events = metrics.fetch("scrollEventsBetween",
+        () -> scroll(EventSpecifications.startBetween(from, to), KEYSET_ASC, position, size),
+        window -> window.map(EventMapper::toResponse));
+    if (archiveTier.reachesStart(from)) {
+      Window<EventDTO> archived = metrics.fetch("scrollEventsBetween",
+          () -> scrollArchive(EventSpecifications.startBetween(from, to), KEYSET_ASC, position, size),
+          window -> window.map(EventMapper::toResponse));
+      events = TierMerger.window(events, archived, OccurrenceMerger.EVENT_KEYS, KEYSET_ASC, size);
+    }
+    return withOccurrences(events, seriesService.occurrencesBetween(positionStart(from, position), to, null),
+        OccurrenceMerger.EVENT_KEYS, position, size);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<EventDTO> scrollEventsPast(Instant before, ScrollPosition position, int size) {
+    // Los pasados se recorren del más reciente al más antiguo
+    Window<EventDTO> events = metrics.fetch("scrollEventsPast",
+        () -> scroll(EventSpecifications.endBefore(before), KEYSET_DESC, position, size),
+        window -> window.map(EventMapper::toResponse));
+    if (!archiveTier.mayContainAny()) return events;
+    Window<EventDTO> archived = metrics.fetch("scrollEventsPast",
+        () -> scrollArchive(EventSpecifications.endBefore(before), KEYSET_DESC, position, size),
+        window -> window.map(EventMapper::toResponse));
+    return TierMerger.window(events, archived, OccurrenceMerger.EVENT_KEYS, KEYSET_DESC, size);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<CalendarEventItemDTO> scrollCalendarBetween(Instant from, Instant to, ScrollPosition position, int size) {
+    Window<CalendarEventItemDTO> events = metrics.fetch("scrollCalendarBetween",
+        () -> scroll(EventSpecifications.startBetween(from, to), KEYSET_ASC, position, size),
+        window -> window.map(EventMapper::toCalendarItem));
+    if (archiveTier.reachesStart(from)) {
+      Window<CalendarEventItemDTO> archived = metrics.fetch("scrollCalendarBetween",
+          () -> scrollArchive(EventSpecifications.startBetween(from, to), KEYSET_ASC, position, size),
+          window -> window.map(EventMapper::toCalendarItem));
+      events = TierMerger.window(events, archived, OccurrenceMerger.CALENDAR_KEYS, KEYSET_ASC, size);
+    }
+    return withOccurrences(events, calendarOccurrences(positionStart(from, position), to, null),
+        OccurrenceMerger.CALENDAR_KEYS, position, size);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<EventDTO> scrollSearchEvents(String qText, String title, String description, String location,
+                                             EventType type, EventStatus status, EventVisibility visibility,
+                                             ScrollPosition position, int size) {
+    Specification<EventEntity> spec = searchSpec(qText, title, description, location, type, status, visibility);
+    Window<EventDTO> events = metrics.fetch("scrollSearchEvents", () -> scroll(spec, KEYSET_ASC, position, size),
+        window -> window.map(EventMapper::toResponse));
+    if (archiveTier.mayContainAny()) {
+      Specification<EventArchiveEntity> archivedSpec = searchSpec(qText, title, description, location, type, status, visibility);
+      Window<EventDTO> archived = metrics.fetch("scrollSearchEvents", () -> scrollArchive(archivedSpec, KEYSET_ASC, position, size),
+          window -> window.map(EventMapper::toResponse));
+      events = TierMerger.window(events, archived, OccurrenceMerger.EVENT_KEYS, KEYSET_ASC, size);
+    }
+    List<EventDTO> occurrences = seriesService.searchOccurrences(qText, title, description, location, type, status,
+        visibility, positionStart(null, position), null);
+    return withOccurrences(events, occurrences, OccurrenceMerger.EVENT_KEYS, position, size);
+  }
+
+  private EventDTO loadEvent(String id) {
+    Optional<EventEntity> entity = metrics.query("getEvent", () -> eventRepo.findById(id));
+    if (entity.isPresent()) return metrics.map("getEvent", entity.get(), EventMapper::toResponse);
+    // Sin fila en event: puede estar en la capa fría
+    EventArchiveEntity archived = (archiveTier.mayContainAny()
+        ? metrics.query("getEvent", () -> archiveRepo.findById(id)) : Optional.<EventArchiveEntity>empty())
+        .orElseThrow(() -> new NotFoundException("Event not found: " + id));
+    return metrics.map("getEvent", archived, EventMapper::toResponse);
+  }
+
+  private EventEntity findForWrite(String operation, String eventId) {
+    Optional<EventEntity> entity = metrics.query(operation, () -> eventRepo.findById(eventId));
+    if (entity.isPresent()) return entity.get();
+    if (archiveTier.mayContainAny() && metrics.query(operation, () -> archiveRepo.existsById(eventId))) {
+      throw new ArchivedEventException("Event is archived and read-only: " + eventId);
+    }
+    throw new NotFoundException("Event not found: " + eventId);
+  }
+
+  private void checkVersion(int ifMatchVersion, int entityVersion) {
+    try {
+      compareVersion(ifMatchVersion, entityVersion);
+    } catch (PreconditionFailedException ex) {
+      metrics.ifMatchFailed();
+      throw ex;
+    }
+  }
+
+  // Conflicto de @Version en el flush: otra escritura se coló entre la lectura y el UPDATE
+  private EventEntity saveAndFlush(String operation, EventEntity entity) {
+    try {
+      return metrics.query(operation, () -> eventRepo.saveAndFlush(entity));
+    } catch (OptimisticLockingFailureException ex) {
+      metrics.versionConflict();
+      throw ex;
+    }
+  }
+
+  // Clave de event_day_summary a la que cuenta un evento: el día de start_at en la zona del calendario
+  private record SummaryKey(LocalDate day, EventVisibility visibility, EventType type, EventStatus status) {
+    static SummaryKey of(EventEntity e, ZoneId zone) {
+      return new SummaryKey(LocalDate.ofInstant(e.getStartAt(), zone), e.getVisibility(), e.getType(), e.getStatus());
+    }
+  }
+
+  // Misma transacción que la escritura del evento: el resumen nunca queda desfasado respecto a la tabla event
+  private void adjustDaySummary(String operation, Map<SummaryKey, Integer> deltas) {
+    metrics.query(operation, () -> {
+      deltas.entrySet().stream()
+          .filter(d -> d.getValue() != 0)
+          .sorted(Map.Entry.comparingByKey(SUMMARY_KEY_ORDER))
+          .forEach(d -> daySummaryRepo.addToDay(d.getKey().day(), d.getKey().visibility().name(),
+              d.getKey().type().name(), d.getKey().status().name(), d.getValue()));
+      return deltas.size();
+    });
+  }
+
+  private static void checkSummaryRange(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) throw new BadRequestException("to must not be before from");
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_SUMMARY_DAYS) {
+      throw new BadRequestException("summary range too long: max " + MAX_SUMMARY_DAYS + " days");
+    }
+  }
+
+  // Las ocurrencias de series no están en event_day_summary: se expanden (solo las del rango) y se suman por día
+  private List<CalendarDaySummaryDTO> summarize(String operation, Supplier<List<EventDaySummaryRowDTO>> query,
+                                                LocalDate from, LocalDate to, EventVisibility visibility) {
+    List<EventDaySummaryRowDTO> rows = new ArrayList<>(metrics.query(operation, query));
+    ZoneId zone = calendar.timeZone();
+    Instant rangeEnd = to.plusDays(1).atStartOfDay(zone).toInstant().minusNanos(1);
+    seriesService.occurrencesBetween(from.atStartOfDay(zone).toInstant(), rangeEnd, visibility)
+        .forEach(o -> rows.add(new EventDaySummaryRowDTO(LocalDate.ofInstant(o.startAt(), zone), o.type(), o.status(), 1L)));
+    rows.sort(Comparator.comparing(EventDaySummaryRowDTO::day));
+    metrics.rows(operation, rows.size());
+    return metrics.map(operation, rows, EventServiceImpl::toDaySummaries);
+  }
+
+  // Filas ordenadas por día => un bucket por día con los totales por tipo y por estado
+  private static List<CalendarDaySummaryDTO> toDaySummaries(List<EventDaySummaryRowDTO> rows) {
+    Map<LocalDate, List<EventDaySummaryRowDTO>> byDay = new LinkedHashMap<>();
+    rows.forEach(r -> byDay.computeIfAbsent(r.day(), d -> new ArrayList<>()).add(r));
+    List<CalendarDaySummaryDTO> days = new ArrayList<>(byDay.size());
+    byDay.forEach((day, dayRows) -> {
+      Map<EventType, Long> byType = new EnumMap<>(EventType.class);
+      Map<EventStatus, Long> byStatus = new EnumMap<>(EventStatus.class);
+      long total = 0;
+      for (EventDaySummaryRowDTO r : dayRows) {
+        byType.merge(r.type(), r.count(), Long::sum);
+        byStatus.merge(r.status(), r.count(), Long::sum);
+        total += r.count();
+      }
+      days.add(new CalendarDaySummaryDTO(day, total, byType, byStatus));
+    });
+    return days;
+  }
+
+  private List<CalendarEventItemDTO> calendarOccurrences(Instant from, Instant to, EventVisibility visibility) {
+    return seriesService.occurrencesBetween(from, to, visibility).stream().map(EventMapper::toCalendarItem).toList();
+  }
+
+  // Modo cursor: las ocurrencias desde la posición se mezclan con la ventana de la BD como otra capa
+  private static <T> Window<T> withOccurrences(Window<T> rows, List<T> occurrences, Map<String, Function<T, Object>> keys,
+                                               ScrollPosition position, int size) {
+    if (occurrences.isEmpty()) return rows;
+    return TierMerger.window(rows, OccurrenceMerger.after(occurrences, keys, KEYSET_ASC, position, size), keys, KEYSET_ASC, size);
+  }
+
+  // Inicio de la expansión de ocurrencias en modo cursor: lo anterior a la posición ya se ha servido
+  private static Instant positionStart(Instant from, ScrollPosition position) {
+    if (position instanceof KeysetScrollPosition keyset && keyset.getKeys().get("startAt") instanceof Instant startAt
+        && (from == null || startAt.isAfter(from))) {
+      return startAt;
+    }
+    return from;
+  }
+
+  private static <T> Slice<T> sliceWithSeries(Pageable pageable, List<T> occurrences, Map<String, Function<T, Object>> keys,
+                                              Function<Pageable, Slice<T>> rows) {
+    OccurrenceMerger.Chunk<T> chunk = OccurrenceMerger.merge(occurrences, keys, pageable, rows);
+    return new SliceImpl<>(chunk.content(), pageable, chunk.hasNext());
+  }
+
+  // Filas de la ventana en event y, si la ventana empieza antes del horizonte del archivo, también en event_archive
+  private Function<Pageable, Slice<EventDTO>> eventRowsBetween(String operation, Instant from, Instant to) {
+    BiFunction<Instant, Instant, Function<Pageable, Slice<EventDTO>>> events = (f, t) -> p -> metrics.fetch(operation,
+        () -> eventRepo.findSliceByStartAtBetween(f, t, p), rows -> rows.map(EventMapper::toResponse));
+    if (!archiveTier.reachesStart(from)) return events.apply(from, to);
+    return TierMerger.rows(OccurrenceMerger.EVENT_KEYS, events.apply(from, to),
+        p -> metrics.fetch(operation, () -> archiveRepo.findSliceByStartAtBetween(from, to, p), rows -> rows.map(EventMapper::toResponse)),
+        () -> archivedBetween(operation, from, to, null),
+        splitByStart(from, to, events, (f, t) -> metrics.query(operation, () -> eventRepo.countByStartAtBetween(f, t))));
+  }
+
+  private Function<Pageable, Slice<CalendarEventItemDTO>> calendarRowsBetween(String operation, Instant from, Instant to,
+                                                                              EventVisibility visibility) {
+    BiFunction<Instant, Instant, Function<Pageable, Slice<CalendarEventItemDTO>>> events = visibility == null
+        ? (f, t) -> p -> metrics.fetch(operation, () -> eventRepo.findCalendarSliceByStartAtBetween(f, t, p))
+        : (f, t) -> p -> metrics.fetch(operation, () -> eventRepo.findCalendarSliceByVisibilityAndStartAtBetween(visibility, f, t, p));
+    if (!archiveTier.reachesStart(from)) return events.apply(from, to);
+    Function<Pageable, Slice<CalendarEventItemDTO>> archived = visibility == null
+        ? p -> metrics.fetch(operation, () -> archiveRepo.findCalendarSliceByStartAtBetween(from, to, p))
+        : p -> metrics.fetch(operation, () -> archiveRepo.findCalendarSliceByVisibilityAndStartAtBetween(visibility, from, to, p));
+    BiFunction<Instant, Instant, Long> count = (f, t) -> metrics.query(operation, () -> visibility == null
+        ? eventRepo.countByStartAtBetween(f, t)
+        : eventRepo.countByVisibilityAndStartAtBetween(visibility, f, t));
+    return TierMerger.rows(OccurrenceMerger.CALENDAR_KEYS, events.apply(from, to), archived,
+        () -> archivedBetween(operation, from, to, visibility), splitByStart(from, to, events, count));
+  }
+
+  // Ventana por start_at (between es inclusivo): desde el horizonte y hasta justo antes de él
+  private <T> Map<String, TierMerger.Split<T>> splitByStart(Instant from, Instant to,
+                                                           BiFunction<Instant, Instant, Function<Pageable, Slice<T>>> rows,
+                                                           BiFunction<Instant, Instant, Long> count) {
+    Instant horizon = archiveTier.horizon();
+    Instant aboveFrom = horizon.isAfter(from) ? horizon : from;
+    Instant belowTo = horizon.minus(1, ChronoUnit.MICROS);
+    return Map.of("startAt", new TierMerger.Split<>(rows.apply(aboveFrom, to), () -> count.apply(aboveFrom, to),
+        rows.apply(from, belowTo.isBefore(to) ? belowTo : to)));
+  }
+
+  private long archivedBetween(String operation, Instant from, Instant to, EventVisibility visibility) {
+    if (!archiveTier.reachesStart(from)) return 0;
+    return metrics.query(operation, () -> visibility == null
+        ? archiveRepo.countByStartAtBetween(from, to)
+        : archiveRepo.countByVisibilityAndStartAtBetween(visibility, from, to));
+  }
+
+  // Pasados: casi siempre llegan al archivo, salvo que no haya nada archivado. Se parten en el horizonte tanto por
+  // end_at como por start_at, los dos órdenes habituales de /past
+  private Function<Pageable, Slice<EventDTO>> pastRows(String operation, Instant before) {
+    Function<Function<Pageable, Slice<EventEntity>>, Function<Pageable, Slice<EventDTO>>> fetch = query -> p ->
+        metrics.fetch(operation, () -> query.apply(p), rows -> rows.map(EventMapper::toResponse));
+    Function<Pageable, Slice<EventDTO>> events = fetch.apply(p -> eventRepo.findSliceByEndAtBefore(before, p));
+    if (!archiveTier.mayContainAny()) return events;
+    Instant horizon = archiveTier.horizon();
+    Instant belowBefore = horizon.isBefore(before) ? horizon : before;
+    Map<String, TierMerger.Split<EventDTO>> splits = Map.of(
+        "endAt", new TierMerger.Split<>(
+            fetch.apply(p -> eventRepo.findSliceByEndAtGreaterThanEqualAndEndAtBefore(horizon, before, p)),
+            () -> metrics.query(operation, () -> eventRepo.countByEndAtGreaterThanEqualAndEndAtBefore(horizon, before)),
+            fetch.apply(p -> eventRepo.findSliceByEndAtBefore(belowBefore, p))),
+        "startAt", new TierMerger.Split<>(
+            fetch.apply(p -> eventRepo.findSliceByEndAtBeforeAndStartAtGreaterThanEqual(before, horizon, p)),
+            () -> metrics.query(operation, () -> eventRepo.countByEndAtBeforeAndStartAtGreaterThanEqual(before, horizon)),
+            fetch.apply(p -> eventRepo.findSliceByEndAtBeforeAndStartAtBefore(before, horizon, p))));
+    return TierMerger.rows(OccurrenceMerger.EVENT_KEYS, events,
+        p -> metrics.fetch(operation, () -> archiveRepo.findSliceByEndAtBefore(before, p), rows -> rows.map(EventMapper::toResponse)),
+        () -> metrics.query(operation, () -> archivedBefore(before)), splits);
+  }
+
+  private long countPastRows(String operation, Instant before) {
+    long events = metrics.query(operation, () -> eventRepo.countByEndAtBefore(before));
+    return archiveTier.mayContainAny() ? events + metrics.query(operation, () -> archivedBefore(before)) : events;
+  }
+
+  // Días completos de event_archive_day_count y, del día de before, solo el tramo hasta before por idx_event_archive_end
+  private long archivedBefore(Instant before) {
+    LocalDate day = LocalDate.ofInstant(before, ZoneOffset.UTC);
+    return archiveRepo.countEndedBeforeDay(day)
+        + archiveRepo.countByEndAtGreaterThanEqualAndEndAtBefore(day.atStartOfDay(ZoneOffset.UTC).toInstant(), before);
+  }
+
+  // Solo los eventos PUBLIC (antes o después del cambio) aparecen en la respuesta cacheada del calendario público
+  private void invalidatePublicCalendar(EventVisibility visibility) {
+    if (visibility == EventVisibility.PUBLIC) publicCalendarCache.invalidateAfterCommit();
+  }
+
+  // Se entrega a los suscriptores SSE tras el commit (EventChangeHub) y a otros servicios por event_outbox,
+  // escrito en esta misma transacción; EventSyncClock le da su posición en GET /changes al confirmar
+  private void publishChange(EventChangeType type, EventEntity e) {
+    if (type == EventChangeType.DELETED) syncClock.deleted(e.getId());
+    else syncClock.changed(e.getId());
+    outbox.add(type, e);
+    events.publishEvent(new EventChangeDTO(type, e.getId(), e.getVersion(), EventMapper.toCalendarItem(e)));
+  }
+
+  // Seek sobre (start_at, id): Spring Data genera "(start_at > ? or (start_at = ? and id > ?))" y pide size+1 filas
+  private Window<EventEntity> scroll(Specification<EventEntity> spec, Sort sort, ScrollPosition position, int size) {
+    return eventRepo.findBy(Specification.allOf(EventSpecifications.all(), spec),
+        q -> q.sortBy(sort).limit(size).scroll(CursorUtils.rowPosition(position)));
+  }
+
+  // Misma posición y orden sobre event_archive; TierMerger mezcla ambas ventanas
+  private Window<EventArchiveEntity> scrollArchive(Specification<EventArchiveEntity> spec, Sort sort, ScrollPosition position,
+                                                   int size) {
+    return archiveRepo.findBy(Specification.allOf(EventSpecifications.all(), spec),
+        q -> q.sortBy(sort).limit(size).scroll(CursorUtils.rowPosition(position)));
+  }
+
+  // sort=relevance no es una propiedad de la entidad: se sustituye por el orden MATCH ... AGAINST desc, siempre
+  // en primer lugar, y el resto de la ordenación pedida solo desempata
+  private static boolean sortsByRelevance(Pageable pageable) {
+    return pageable.getSort().getOrderFor(RELEVANCE) != null;
+  }
+
+  private static Sort withoutRelevance(Sort sort) {
+    return Sort.by(sort.stream().filter(o -> !RELEVANCE.equals(o.getProperty())).toList());
+  }
+
+  // Búsqueda ya resuelta sobre event y event_archive. sort=relevance pasa a la especificación (con la paginación sin
+  // ordenar). El resto de órdenes se comparan también en memoria con el archivo y las ocurrencias: checkSort los
+  // limita, como en los listados
+  private record SearchQuery(Function<Pageable, Slice<EventDTO>> rows, LongSupplier count, Pageable pageable,
+                             boolean relevance) {}
+
+  private SearchQuery searchQuery(String operation, String qText, String title, String description, String location,
+                                  EventType type, EventStatus status, EventVisibility visibility, Pageable pageable) {
+    Specification<EventEntity> spec = searchSpec(qText, title, description, location, type, status, visibility);
+    Specification<EventArchiveEntity> archivedSpec = searchSpec(qText, title, description, location, type, status, visibility);
+    boolean archive = archiveTier.mayContainAny();
+    LongSupplier eventCount = () -> metrics.query(operation, () -> eventRepo.count(spec));
+    LongSupplier archivedCount = () -> metrics.query(operation, () -> archiveRepo.count(archivedSpec));
+    LongSupplier count = archive ? () -> eventCount.getAsLong() + archivedCount.getAsLong() : eventCount;
+    Sort sort = pageable.getSort();
+    if (sortsByRelevance(pageable)) {
+      Sort tieBreakers = withoutRelevance(sort);
+      Specification<EventEntity> relevance = EventSpecifications.orderByRelevance(qText, tieBreakers);
+      if (relevance != null) {
+        // Las puntuaciones de dos índices FULLTEXT no se comparan entre sí (cada uno tiene sus frecuencias): lo
+        // archivado, ya terminado, va detrás de todo lo de event
+        Function<Pageable, Slice<EventDTO>> hot = searchRows(operation, spec.and(relevance));
+        Function<Pageable, Slice<EventDTO>> rows = !archive ? hot : p -> TierMerger.concat(p, Sort.unsorted(),
+            hot.apply(p), eventCount, archivedSearchRows(operation,
+                archivedSpec.and(EventSpecifications.orderByRelevance(qText, tieBreakers))));
+        return new SearchQuery(rows, count, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), true);
+      }
+      sort = tieBreakers;
+      pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), tieBreakers);
+    }
+    OccurrenceMerger.checkSort(sort, OccurrenceMerger.EVENT_KEYS);
+    Function<Pageable, Slice<EventDTO>> rows = searchRows(operation, spec);
+    if (archive) {
+      rows = TierMerger.rows(OccurrenceMerger.EVENT_KEYS, rows, archivedSearchRows(operation, archivedSpec), archivedCount,
+          searchSplits(operation, spec));
+    }
+    return new SearchQuery(rows, count, pageable, false);
+  }
+
+  private Function<Pageable, Slice<EventDTO>> searchRows(String operation, Specification<EventEntity> spec) {
+    return p -> metrics.fetch(operation, () -> eventRepo.findBy(spec, q -> q.slice(p)), rows -> rows.map(EventMapper::toResponse));
+  }
+
+  private Function<Pageable, Slice<EventDTO>> archivedSearchRows(String operation, Specification<EventArchiveEntity> spec) {
+    return p -> metrics.fetch(operation, () -> archiveRepo.findBy(spec, q -> q.slice(p)), rows -> rows.map(EventMapper::toResponse));
+  }
+
+  // Búsqueda sin ventana: se parte en el horizonte por start_at y por end_at, como /past
+  private Map<String, TierMerger.Split<EventDTO>> searchSplits(String operation, Specification<EventEntity> spec) {
+    Instant horizon = archiveTier.horizon();
+    Specification<EventEntity> startAbove = spec.and(EventSpecifications.startAtOrAfter(horizon));
+    Specification<EventEntity> endAbove = spec.and(EventSpecifications.endAtOrAfter(horizon));
+    return Map.of(
+        "startAt", new TierMerger.Split<>(searchRows(operation, startAbove),
+            () -> metrics.query(operation, () -> eventRepo.count(startAbove)),
+            searchRows(operation, spec.and(EventSpecifications.startBefore(horizon)))),
+        "endAt", new TierMerger.Split<>(searchRows(operation, endAbove),
+            () -> metrics.query(operation, () -> eventRepo.count(endAbove)),
+            searchRows(operation, spec.and(EventSpecifications.endBefore(horizon)))));
+  }
+
+  // Ocurrencias de series en /search. Sin puntuación MATCH, con sort=relevance van detrás de todas las filas, por
+  // (startAt, id); con otro orden se colocan por comparación, como en los listados por rango
+  private static Slice<EventDTO> searchWithSeries(SearchQuery search, List<EventDTO> occurrences) {
+    if (occurrences.isEmpty()) return search.rows().apply(search.pageable());
+    if (search.relevance()) {
+      return TierMerger.concat(search.pageable(), Sort.unsorted(), search.rows().apply(search.pageable()), search.count(), p -> {
+        int from = (int) Math.min(occurrences.size(), p.getOffset());
+        int to = Math.min(occurrences.size(), from + p.getPageSize());
+        return new SliceImpl<>(occurrences.subList(from, to), p, to < occurrences.size());
+      });
+    }
+    // OccurrenceMerger lee de la BD tantas filas de más como ocurrencias haya
+    if (occurrences.size() > TierMerger.MAX_OFFSET_DEPTH) {
+      throw new BadRequestException("search matches more than " + TierMerger.MAX_OFFSET_DEPTH
+          + " series occurrences: use cursor pagination or narrow the filters");
+    }
+    return sliceWithSeries(search.pageable(), occurrences, OccurrenceMerger.EVENT_KEYS, search.rows());
+  }
+
+  // Misma búsqueda sobre event o event_archive
+  private <T> Specification<T> searchSpec(String qText, String title, String description, String location,
+                                          EventType type, EventStatus status, EventVisibility visibility) {
+    return Specification.allOf(
             EventSpecifications.all(),
             EventSpecifications.text(qText),
             EventSpecifications.titleContains(title),
@@ -107,12 +881,25 @@ public class EventServiceImpl implements EventService {
             EventSpecifications.typeEquals(type),
             EventSpecifications.statusEquals(status),
             EventSpecifications.visibilityEquals(visibility));
-
-    return eventRepo.findAll(spec, pageable).map(EventMapper::toResponse);
   }
 
 
   private void validateBusinessRules(EventEntity eventEntity, String excludeIdForUpdate) {
+    validateEventRules(eventEntity);
+
+    // Solapes por ubicación (si hay ubicación y no se permite solape)
+    if (!rules.allowOverlapSameLocation() && eventEntity.getLocation() != null && !eventEntity.getLocation().isBlank()) {
+      List<String> conflicts = conflictingIds(
+              eventEntity.getLocation(), eventEntity.getStartAt(), eventEntity.getEndAt(), excludeIdForUpdate);
+      if (!conflicts.isEmpty()) {
+        metrics.overlapRejected();
+        throw new OverlapConflictException("time slot overlaps with another event at the same location", conflicts);
+      }
+    }
+  }
+
+  // Reglas que solo dependen del propio evento
+  private void validateEventRules(EventEntity eventEntity) {
     // start < end
     if (!eventEntity.getEndAt().isAfter(eventEntity.getStartAt())) {
       throw new BadRequestException("end must be strictly after start");
@@ -126,19 +913,73 @@ public class EventServiceImpl implements EventService {
     if (minutes > rules.maxDurationHours() * 60L) {
       throw new BadRequestException("duration too long: max " + rules.maxDurationHours() + " hours");
     }
+    durationBound.record(Duration.between(eventEntity.getStartAt(), eventEntity.getEndAt()));
 
     // Crear en pasado
     if (!rules.allowCreateInPast() && eventEntity.getStartAt().isBefore(Instant.now())) {
       throw new BadRequestException("creating events in the past is disabled by policy");
     }
+  }
+
+  // Valida los solapes del lote como conjunto: una consulta para todas las ubicaciones y un barrido por ubicación
+  // (SlotSweep) que detecta solapes nuevo-existente y nuevo-nuevo. Los existentes entre sí no se comprueban.
+  private void validateBatchOverlaps(List<EventEntity> batch) {
+    if (rules.allowOverlapSameLocation()) return;
+
+    // La collation de la columna no distingue mayúsculas, acentos ni espacios finales: se agrupa igual en memoria
+    Map<CollationKey, List<Slot>> byLocation = new HashMap<>();
+    List<String> locations = new ArrayList<>();
+    Instant minStart = null;
+    Instant maxEnd = null;
+    for (int i = 0; i < batch.size(); i++) {
+      EventEntity e = batch.get(i);
+      if (e.getLocation() == null || e.getLocation().isBlank()) continue;
+      byLocation.computeIfAbsent(OccurrenceMerger.locationKey(e.getLocation()), k -> new ArrayList<>())
+          .add(new Slot(e.getStartAt(), e.getEndAt(), i, null));
+      locations.add(e.getLocation());
+      if (minStart == null || e.getStartAt().isBefore(minStart)) minStart = e.getStartAt();
+      if (maxEnd == null || e.getEndAt().isAfter(maxEnd)) maxEnd = e.getEndAt();
+    }
+    if (byLocation.isEmpty()) return;
 
-    // Solapes por ubicación (si hay ubicación y no se permite solape)
-    if (!rules.allowOverlapSameLocation() && eventEntity.getLocation() != null && !eventEntity.getLocation().isBlank()) {
-      long conflicts = eventRepo.countConflictsAtLocation(
-              eventEntity.getLocation(), eventEntity.getStartAt(), eventEntity.getEndAt(), excludeIdForUpdate);
-      if (conflicts > 0) {
-        throw new BadRequestException("time slot overlaps with another event at the same location");
+    Instant earliestStart = minStart.minus(durationBound.maxDuration());
+    Instant latestEnd = maxEnd;
+    List<LocationSlotDTO> occupied = new ArrayList<>(metrics.query("findSlotsAtLocations",
+        () -> eventRepo.findSlotsAtLocations(locations, earliestStart, latestEnd)));
+    occupied.addAll(seriesService.occurrenceSlotsAtLocations(locations, earliestStart, latestEnd));
+    metrics.rows("findSlotsAtLocations", occupied.size());
+    for (LocationSlotDTO s : occupied) {
+      List<Slot> slots = byLocation.get(OccurrenceMerger.locationKey(s.location()));
+      if (slots != null) slots.add(new Slot(s.startAt(), s.endAt(), null, s.id()));
+    }
+
+    for (List<Slot> slots : byLocation.values()) {
+      SlotSweep.Overlap overlap = SlotSweep.firstOverlap(slots);
+      if (overlap != null) {
+        metrics.overlapRejected();
+        throw batchOverlap(overlap.item(), overlap.other());
       }
     }
   }
+
+  private static OverlapConflictException batchOverlap(Slot item, Slot other) {
+    String prefix = "events[" + item.index() + "]: time slot overlaps with ";
+    return other.isNew()
+        ? new OverlapConflictException(prefix + "events[" + other.index() + "] at the same location", List.of())
+        : new OverlapConflictException(prefix + "another event at the same location", List.of(other.id()));
+  }
+
+  // El límite inferior start - duración máxima convierte el rango abierto "start_at < end" en una ventana acotada
+  // del índice (location, start_at, end_at). La cota cubre también los eventos guardados antes de la regla.
+  private List<String> conflictingIds(String location, Instant start, Instant end, String excludeId) {
+    Instant earliestStart = start.minus(durationBound.maxDuration());
+    List<String> ids = new ArrayList<>(metrics.query("findConflictIdsAtLocation", () ->
+        eventRepo.findConflictIdsAtLocation(location, start, end, earliestStart, excludeId, Limit.of(MAX_CONFLICT_IDS))));
+    // Ocurrencias de series en la misma ubicación
+    seriesService.occurrenceSlotsAtLocations(List.of(location), earliestStart, end).stream()
+        .filter(s -> s.endAt().isAfter(start))
+        .limit(MAX_CONFLICT_IDS - ids.size())
+        .forEach(s -> ids.add(s.id()));
+    return ids;
+  }
 }
@@ -0,0 +1,109 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.utils.Uuids;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Posición de cada cambio en el flujo de GET /api/events/changes. Los eventos y series escritos y las lápidas
+ * insertadas en una transacción se anotan aquí y, justo antes del commit, reciben el siguiente valor de event_sync_clock.seq
+ * en sync_seq. El UPDATE del contador deja su fila bloqueada hasta el commit, así que la siguiente transacción
+ * no obtiene su seq hasta que esta se confirma: el orden de seq es el orden de commit y quien lee un seq ya ve
+ * confirmados todos los anteriores (a diferencia de updated_at, que se fija al hacer flush).
+ * <p>
+ * El bloqueo solo cubre el final de cada escritura (un UPDATE por tabla tocada) y el commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventSyncClock {
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  @PersistenceContext
+  private EntityManager em;
+
+  // Contador y marca de compactación leídos en la misma instantánea que los cambios
+  public record State(long seq, long compactedSeq) {}
+
+  private static final class Pending {
+    final Set<String> changed = new LinkedHashSet<>();
+    final Set<String> seriesChanged = new LinkedHashSet<>();
+    final Set<String> deleted = new LinkedHashSet<>();
+  }
+
+  public void changed(String eventId) {
+    pending().changed.add(eventId);
+  }
+
+  public void seriesChanged(String seriesId) {
+    pending().seriesChanged.add(seriesId);
+  }
+
+  // Evento o serie borrados: su lápida (event_tombstone guarda ambos)
+  public void deleted(String id) {
+    Pending pending = pending();
+    pending.changed.remove(id);
+    pending.seriesChanged.remove(id);
+    pending.deleted.add(id);
+  }
+
+  public State state() {
+    return jdbc.queryForObject("select seq, compacted_seq from event_sync_clock where id = 1", Map.of(),
+        (rs, i) -> new State(rs.getLong(1), rs.getLong(2)));
+  }
+
+  // Autocommit: la marca queda confirmada antes de que EventTombstoneCompactor borre ninguna lápida
+  public void compactedUpTo(long seq) {
+    jdbc.update("update event_sync_clock set compacted_seq = greatest(compacted_seq, :seq) where id = 1",
+        Map.of("seq", seq));
+  }
+
+  private Pending pending() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("EventSyncClock requires a transaction");
+    }
+    Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      Pending created = new Pending();
+      TransactionSynchronizationManager.bindResource(this, created);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+          stamp(created);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(EventSyncClock.this);
+        }
+      });
+      pending = created;
+    }
+    return pending;
+  }
+
+  private void stamp(Pending pending) {
+    // Primero las filas de la transacción: el contador se bloquea lo más tarde posible
+    em.flush();
+    jdbc.update("update event_sync_clock set seq = last_insert_id(seq + 1) where id = 1", Map.of());
+    Long seq = jdbc.queryForObject("select last_insert_id()", Map.of(), Long.class);
+    update("event", pending.changed, seq);
+    update("event_series", pending.seriesChanged, seq);
+    update("event_tombstone", pending.deleted, seq);
+  }
+
+  private void update(String table, Set<String> ids, long seq) {
+    if (ids.isEmpty()) return;
+    jdbc.update("update " + table + " set sync_seq = :seq where id in (:ids)",
+        Map.of("seq", seq, "ids", ids.stream().map(Uuids::toBytes).toList()));
+  }
+}
@@ -0,0 +1,43 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventSyncProperties;
+import com.tfm.bandas.events.model.repository.EventTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Borra las lápidas de event_tombstone que superan events.sync.retention. Antes de borrar sube
+ * event_sync_clock.compacted_seq hasta el mayor sync_seq afectado: un cliente con un token anterior recibe 410
+ * en GET /changes, así que esas lápidas no se volverán a servir. Se borra por lotes de compaction-batch-size
+ * (cada uno en su propia transacción) para no mantener bloqueos largos.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventTombstoneCompactor {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventTombstoneCompactor.class);
+
+  private final EventTombstoneRepository tombstoneRepo;
+  private final EventSyncClock syncClock;
+  private final EventSyncProperties sync;
+
+  @Scheduled(fixedDelayString = "${events.sync.compaction-interval:1h}")
+  public void compact() {
+    Instant horizon = Instant.now().minus(sync.retention());
+    long maxSeq = tombstoneRepo.maxSyncSeqBefore(horizon);
+    if (maxSeq == 0) return;
+    syncClock.compactedUpTo(maxSeq);
+    long removed = 0;
+    int batch;
+    do {
+      batch = tombstoneRepo.deleteUpTo(maxSeq, sync.compactionBatchSize());
+      removed += batch;
+    } while (batch == sync.compactionBatchSize());
+    if (removed > 0) logger.info("Compacted {} event tombstones up to sync seq {} (older than {})", removed, maxSeq, horizon);
+  }
+}
@@ -0,0 +1,67 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.model.specification.EventSpecifications;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Filtros de /search y /export aplicados en memoria a las ocurrencias de series, que no tienen índice FULLTEXT.
+ * Mismo criterio que el modo booleano de {@link EventSpecifications}: cada palabra significativa es prefijo de
+ * alguna palabra del campo, sin distinguir mayúsculas ni acentos (utf8mb4_unicode_ci).
+ */
+record OccurrenceFilter(List<String> text, List<String> title, List<String> description, String location,
+                        EventType type, EventStatus status, EventVisibility visibility) implements Predicate<EventDTO> {
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}_]+");
+
+  static OccurrenceFilter of(String qText, String title, String description, String location,
+                             EventType type, EventStatus status, EventVisibility visibility) {
+    return new OccurrenceFilter(terms(qText), terms(title), terms(description),
+        location == null || location.isBlank() ? null : fold(location.trim()), type, status, visibility);
+  }
+
+  @Override
+  public boolean test(EventDTO o) {
+    if (type != null && o.type() != type) return false;
+    if (status != null && o.status() != status) return false;
+    if (visibility != null && o.visibility() != visibility) return false;
+    // locationContains es un LIKE '%...%', no FULLTEXT
+    if (location != null && (o.location() == null || !fold(o.location()).contains(location))) return false;
+    return matches(title, o.title()) && matches(description, o.description())
+        && matches(text, o.title(), o.description(), o.location());
+  }
+
+  // null => sin filtro; vacía => ninguna palabra llega al índice y nada casa, igual que en la BD
+  private static boolean matches(List<String> terms, String... fields) {
+    if (terms == null) return true;
+    if (terms.isEmpty()) return false;
+    List<String> words = new ArrayList<>();
+    for (String field : fields) {
+      if (field == null) continue;
+      for (String word : WORD_SEPARATOR.split(fold(field))) {
+        if (!word.isEmpty()) words.add(word);
+      }
+    }
+    return terms.stream().allMatch(t -> words.stream().anyMatch(w -> w.startsWith(t)));
+  }
+
+  private static List<String> terms(String text) {
+    List<String> terms = EventSpecifications.searchTerms(text);
+    return terms == null ? null : terms.stream().map(OccurrenceFilter::fold).toList();
+  }
+
+  // Sin acentos ni mayúsculas ("Salón" => "salon"), como el nivel primario de la collation
+  static String fold(String text) {
+    return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,218 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.utils.OffsetPageRequest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Mezcla una página ordenada de la BD con las k ocurrencias de series de la misma ventana sin leer las filas
+ * anteriores a la página: como mucho k ocurrencias preceden a una fila, así que basta con pedir a la BD
+ * size + k filas desde el offset - k y colocar las ocurrencias por comparación.
+ */
+final class OccurrenceMerger {
+  private OccurrenceMerger() {}
+
+  record Chunk<T>(List<T> content, boolean hasNext) {}
+
+  // Propiedades ordenables de cada vista: las que el DTO puede comparar en memoria. checkSort rechaza el resto
+  // siempre, haya o no ocurrencias o filas archivadas, para que la respuesta no dependa de los datos
+  static final Map<String, Function<EventDTO, Object>> EVENT_KEYS = Map.of(
+      "id", EventDTO::id,
+      "version", EventDTO::version,
+      "title", EventDTO::title,
+      "description", EventDTO::description,
+      "location", EventDTO::location,
+      "type", EventDTO::type,
+      "status", EventDTO::status,
+      "visibility", EventDTO::visibility,
+      "startAt", EventDTO::startAt,
+      "endAt", EventDTO::endAt);
+
+  static final Map<String, Function<CalendarEventItemDTO, Object>> CALENDAR_KEYS = Map.of(
+      "id", CalendarEventItemDTO::id,
+      "title", CalendarEventItemDTO::title,
+      "location", CalendarEventItemDTO::location,
+      "type", CalendarEventItemDTO::type,
+      "status", CalendarEventItemDTO::status,
+      "startAt", CalendarEventItemDTO::start,
+      "endAt", CalendarEventItemDTO::end);
+
+  static <T> Chunk<T> merge(List<T> occurrences, Map<String, Function<T, Object>> keys, Pageable pageable,
+                            Function<Pageable, Slice<T>> db) {
+    Sort sort = totalOrder(pageable.getSort());
+    Comparator<T> order = comparator(sort, keys);
+    List<T> occ = occurrences.stream().sorted(order).toList();
+    int k = occ.size();
+    long offset = pageable.getOffset();
+    int size = pageable.getPageSize();
+    long start = Math.max(0, offset - k);
+
+    Slice<T> chunk = db.apply(new OffsetPageRequest(start, size + k, sort));
+    List<T> rows = chunk.getContent();
+    if (start > 0 && rows.isEmpty()) return new Chunk<>(List.of(), false);
+
+    // Ocurrencias anteriores a la primera fila leída: caen antes de la página, pero desplazan las posiciones
+    int before = 0;
+    if (start > 0) {
+      while (before < k && order.compare(occ.get(before), rows.get(0)) < 0) before++;
+    }
+    // Si quedan filas detrás del bloque, las ocurrencias posteriores a la última leída no se pueden colocar aún
+    int after = k;
+    if (chunk.hasNext()) {
+      T last = rows.get(rows.size() - 1);
+      while (after > before && order.compare(occ.get(after - 1), last) > 0) after--;
+    }
+
+    List<T> merged = mergeSorted(rows, occ.subList(before, after), order);
+    long base = start + before;
+    int from = (int) Math.min(merged.size(), offset - base);
+    int to = Math.min(merged.size(), from + size);
+    boolean hasNext = to < merged.size() || chunk.hasNext() || after < k;
+    return new Chunk<>(new ArrayList<>(merged.subList(from, to)), hasNext);
+  }
+
+  // Modo cursor: las ocurrencias posteriores a la posición en el orden keyset, como ventana de hasta size que
+  // TierMerger.window mezcla con la de la BD
+  static <T> Window<T> after(List<T> occurrences, Map<String, Function<T, Object>> keys, Sort keyset,
+                             ScrollPosition position, int size) {
+    Map<String, Object> at = position instanceof KeysetScrollPosition k ? k.getKeys() : Map.of();
+    List<T> after = occurrences.stream()
+        .filter(o -> at.isEmpty() || compareToPosition(o, at, keyset, keys) > 0)
+        .sorted(comparator(keyset, keys))
+        .limit(size + 1L)
+        .toList();
+    List<T> content = after.subList(0, Math.min(size, after.size()));
+    return Window.from(content, i -> TierMerger.position(content.get(i), keyset, keys), after.size() > size);
+  }
+
+  private static <T> int compareToPosition(T item, Map<String, Object> at, Sort keyset, Map<String, Function<T, Object>> keys) {
+    Collator collation = collation();
+    for (Sort.Order o : keyset) {
+      Collator text = "id".equals(o.getProperty()) ? null : collation;
+      int c = compareValues(keys.get(o.getProperty()).apply(item), at.get(o.getProperty()), text);
+      if (c != 0) return o.isDescending() ? -c : c;
+    }
+    return 0;
+  }
+
+  // Sin orden explícito, el del calendario; id como desempate para que BD y memoria den el mismo orden total
+  static Sort totalOrder(Sort sort) {
+    Sort base = sort.isSorted() ? sort : Sort.by("startAt");
+    return base.getOrderFor("id") != null ? base : base.and(Sort.by("id"));
+  }
+
+  static <T> void checkSort(Sort sort, Map<String, Function<T, Object>> keys) {
+    for (Sort.Order o : sort) {
+      if (!keys.containsKey(o.getProperty())) {
+        throw new BadRequestException("sort by " + o.getProperty() + " is not supported for this listing");
+      }
+    }
+  }
+
+  static <T> Comparator<T> comparator(Sort sort, Map<String, Function<T, Object>> keys) {
+    checkSort(sort, keys);
+    Collator collation = collation();
+    Comparator<T> result = null;
+    for (Sort.Order o : sort) {
+      Function<T, Object> key = keys.get(o.getProperty());
+      // id es BINARY(16): orden de bytes, que coincide con el del texto en minúsculas
+      Collator text = "id".equals(o.getProperty()) ? null : collation;
+      Comparator<T> c = (a, b) -> compareValues(key.apply(a), key.apply(b), text);
+      if (o.isDescending()) c = c.reversed();
+      result = result == null ? c : result.thenComparing(c);
+    }
+    return result;
+  }
+
+  // utf8mb4_unicode_ci compara en el nivel primario del UCA: ignora mayúsculas y acentos ("Ávila" = "avila").
+  // Con Locale.ROOT la ñ también cuenta como n, igual que en esa collation (no así en la de es)
+  private static Collator collation() {
+    Collator collator = Collator.getInstance(Locale.ROOT);
+    collator.setStrength(Collator.PRIMARY);
+    return collator;
+  }
+
+  // Igualdad de la columna location para agrupar en memoria como la BD: nivel primario y, como utf8mb4_unicode_ci
+  // es PAD SPACE, sin los espacios finales ("Salón " = "salon"). El Collator ignora además los espacios intermedios:
+  // puede agrupar de más, y eso solo añade comprobaciones de solape
+  static CollationKey locationKey(String location) {
+    int end = location.length();
+    while (end > 0 && location.charAt(end - 1) == ' ') end--;
+    return collation().getCollationKey(location.substring(0, end));
+  }
+
+  // Aproxima el orden de MySQL: nulls primero en ASC, enums por nombre (se guardan como texto con la
+  // misma collation) y texto con la collation de la columna
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compareValues(Object a, Object b, Collator text) {
+    if (a == b) return 0;
+    if (a == null) return -1;
+    if (b == null) return 1;
+    if (a instanceof Enum<?> ea && b instanceof Enum<?> eb) return compareText(ea.name(), eb.name(), text);
+    if (a instanceof String sa && b instanceof String sb) return compareText(sa, sb, text);
+    return ((Comparable) a).compareTo(b);
+  }
+
+  private static int compareText(String a, String b, Collator text) {
+    return text == null ? a.compareTo(b) : text.compare(a, b);
+  }
+
+  // Recorrido en streaming (export, feed .ics): antes de cada fila recibida se emiten las de sorted que la preceden.
+  // finish() emite las que queden y devuelve el total emitido
+  static final class Interleave<T> implements Consumer<T> {
+    private final List<T> sorted;
+    private final Comparator<T> order;
+    private final Consumer<? super T> sink;
+    private int next;
+    private long emitted;
+
+    Interleave(List<T> sorted, Comparator<T> order, Consumer<? super T> sink) {
+      this.sorted = sorted;
+      this.order = order;
+      this.sink = sink;
+    }
+
+    @Override
+    public void accept(T row) {
+      for (; next < sorted.size() && order.compare(sorted.get(next), row) < 0; next++) emit(sorted.get(next));
+      emit(row);
+    }
+
+    long finish() {
+      for (; next < sorted.size(); next++) emit(sorted.get(next));
+      return emitted;
+    }
+
+    private void emit(T item) {
+      sink.accept(item);
+      emitted++;
+    }
+  }
+
+  static <T> List<T> mergeSorted(List<T> a, List<T> b, Comparator<T> order) {
+    List<T> out = new ArrayList<>(a.size() + b.size());
+    int i = 0, j = 0;
+    while (i < a.size() || j < b.size()) {
+      if (j == b.size() || (i < a.size() && order.compare(a.get(i), b.get(j)) <= 0)) out.add(a.get(i++));
+      else out.add(b.get(j++));
+    }
+    return out;
+  }
+}
@@ -0,0 +1,35 @@
+package com.tfm.bandas.events.service.impl;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+// Barrido por inicio sobre las franjas de una ubicación: detecta solapes nuevo-existente y nuevo-nuevo en una pasada.
+// Los existentes entre sí no se comprueban. Lo usan los lotes de eventos y las series recurrentes
+final class SlotSweep {
+  private SlotSweep() {}
+
+  // index != null => franja nueva (posición en el lote u ocurrencia de la serie); id != null => ya guardada
+  record Slot(Instant start, Instant end, Integer index, String id) {
+    boolean isNew() { return index != null; }
+  }
+
+  // item es siempre una franja nueva
+  record Overlap(Slot item, Slot other) {}
+
+  // Ordena slots en sitio; null si no hay solapes
+  static Overlap firstOverlap(List<Slot> slots) {
+    slots.sort(Comparator.comparing(Slot::start));
+    Slot latestAny = null;   // franja anterior que termina más tarde
+    Slot latestNew = null;   // ídem, solo entre las nuevas
+    for (Slot slot : slots) {
+      Slot other = slot.isNew() ? latestAny : latestNew;
+      if (other != null && slot.start().isBefore(other.end())) {
+        return slot.isNew() ? new Overlap(slot, other) : new Overlap(other, slot);
+      }
+      if (latestAny == null || slot.end().isAfter(latestAny.end())) latestAny = slot;
+      if (slot.isNew() && (latestNew == null || slot.end().isAfter(latestNew.end()))) latestNew = slot;
+    }
+    return null;
+  }
+}
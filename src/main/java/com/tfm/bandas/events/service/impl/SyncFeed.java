@@ -0,0 +1,79 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.dto.EventSyncChangeDTO;
+import com.tfm.bandas.events.dto.EventSyncPageDTO;
+import com.tfm.bandas.events.dto.mapper.EventMapper;
+import com.tfm.bandas.events.dto.mapper.EventSeriesMapper;
+import com.tfm.bandas.events.exception.SyncTokenExpiredException;
+import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.model.entity.EventSeriesEntity;
+import com.tfm.bandas.events.model.entity.EventSeriesExceptionEntity;
+import com.tfm.bandas.events.model.entity.EventTombstoneEntity;
+import com.tfm.bandas.events.utils.EventChangeType;
+import com.tfm.bandas.events.utils.SyncToken;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Página de GET /api/events/changes a partir de las lecturas de event, event_series y event_tombstone por
+ * (sync_seq, id) y del estado de event_sync_clock leído en la misma transacción (ver {@link EventSyncClock}).
+ */
+final class SyncFeed {
+  private SyncFeed() {}
+
+  private record Entry(long seq, EventSyncChangeDTO change) {}
+
+  // Mismo orden que idx_event_sync, idx_event_series_sync e idx_event_tombstone_sync (los ids en minúscula ordenan como sus bytes)
+  private static final Comparator<Entry> SYNC_ORDER = Comparator.comparingLong(Entry::seq)
+      .thenComparing(e -> e.change().id());
+
+  // Las lápidas hasta compacted_seq ya no existen: un token que no lo supera podría haberse saltado un borrado
+  static void checkExpired(SyncToken from, EventSyncClock.State state) {
+    if (from != null && state.compactedSeq() > 0 && from.seq() <= state.compactedSeq()) {
+      throw new SyncTokenExpiredException("Sync token older than the tombstone retention: sync again without since");
+    }
+  }
+
+  static EventSyncPageDTO page(SyncToken from, EventSyncClock.State state, int size,
+                               List<EventEntity> changed, List<EventTombstoneEntity> deleted,
+                               List<EventSeriesEntity> series, Map<String, List<EventSeriesExceptionEntity>> exceptions) {
+    // Cada lista trae hasta size+1 filas: las size primeras de la mezcla son las size primeras del flujo
+    List<Entry> entries = new ArrayList<>(changed.size() + deleted.size() + series.size());
+    for (EventEntity e : changed) {
+      entries.add(new Entry(e.getSyncSeq(), new EventSyncChangeDTO(changeType(from, e.getVersion()),
+          e.getId(), e.getVersion(), e.getUpdatedAt(), EventMapper.toResponse(e), null)));
+    }
+    for (EventSeriesEntity s : series) {
+      entries.add(new Entry(s.getSyncSeq(), new EventSyncChangeDTO(changeType(from, s.getVersion()),
+          s.getId(), s.getVersion(), s.getUpdatedAt(), null,
+          EventSeriesMapper.toResponse(s, exceptions.getOrDefault(s.getId(), List.of())))));
+    }
+    for (EventTombstoneEntity t : deleted) {
+      entries.add(new Entry(t.getSyncSeq(),
+          new EventSyncChangeDTO(EventChangeType.DELETED, t.getId(), t.getVersion(), t.getDeletedAt(), null, null)));
+    }
+    entries.sort(SYNC_ORDER);
+    boolean hasMore = entries.size() > size;
+    if (hasMore) entries = entries.subList(0, size);
+
+    // Al agotar el flujo el token pasa al siguiente seq: así no caduca mientras el cliente siga sincronizando
+    SyncToken next;
+    if (hasMore) {
+      Entry last = entries.get(entries.size() - 1);
+      next = new SyncToken(last.seq(), last.change().id());
+    } else if (from != null && from.seq() > state.seq()) {
+      next = from;
+    } else {
+      next = SyncToken.before(state.seq() + 1);
+    }
+    return new EventSyncPageDTO(entries.stream().map(Entry::change).toList(), next.encode(), hasMore);
+  }
+
+  // Sin token el cliente no tiene nada; con token, solo la versión inicial es un alta que no conoce
+  private static EventChangeType changeType(SyncToken from, int version) {
+    return from == null || version == 0 ? EventChangeType.CREATED : EventChangeType.UPDATED;
+  }
+}
@@ -0,0 +1,128 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.utils.OffsetPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Mezcla las lecturas de event (capa caliente) y event_archive (capa fría). Todo lo archivado tiene
+ * end_at < horizonte (y start_at < end_at), así que, si la primera clave del orden es una de las que parten en el
+ * horizonte ({@link Split}), las filas de event por encima van enteras antes (DESC) o después (ASC) que el archivo:
+ * una página por offset se sirve de ese tramo y sigue en el otro en offset - tamaño del primero. Por debajo del
+ * horizonte solo quedan en event las filas pendientes de archivar, pocas, que se mezclan en memoria con el archivo.
+ * Con otro orden, o demasiadas pendientes, se mezclan las offset + size primeras filas de cada capa, con tope
+ * MAX_OFFSET_DEPTH. En modo cursor basta con size + 1 filas por capa desde la misma posición, a cualquier profundidad.
+ */
+final class TierMerger {
+  private TierMerger() {}
+
+  // Profundidad máxima por offset cuando hay que mezclar las dos capas enteras; más allá, modo cursor
+  static final int MAX_OFFSET_DEPTH = 10_000;
+  // Filas de event bajo el horizonte que se mezclan en memoria; con más se mezclan las capas enteras
+  static final int MAX_PENDING = 1_000;
+
+  /**
+   * Filas de event de la ventana partidas en el horizonte por una clave de orden: above (clave >= horizonte),
+   * con su total, y below (clave < horizonte: pendientes de archivar y, por start_at, las que lo cruzan).
+   */
+  record Split<T>(Function<Pageable, Slice<T>> above, LongSupplier aboveCount, Function<Pageable, Slice<T>> below) {}
+
+  static <T> Function<Pageable, Slice<T>> rows(Map<String, Function<T, Object>> keys, Function<Pageable, Slice<T>> hot,
+                                              Function<Pageable, Slice<T>> cold, LongSupplier coldCount,
+                                              Map<String, Split<T>> splits) {
+    return pageable -> {
+      Sort sort = OccurrenceMerger.totalOrder(pageable.getSort());
+      Sort.Order first = sort.iterator().next();
+      Split<T> split = splits.get(first.getProperty());
+      if (split == null) return merged(keys, pageable, sort, hot, cold);
+      Pageable page = new OffsetPageRequest(pageable.getOffset(), pageable.getPageSize(), sort);
+
+      if (first.isDescending()) {
+        Slice<T> head = split.above().apply(page);
+        if (head.hasNext()) return new SliceImpl<>(head.getContent(), pageable, true);
+        List<T> pending = pending(split, sort);
+        if (pending == null) return merged(keys, pageable, sort, hot, cold);
+        return concat(pageable, sort, head, split.aboveCount(), below(keys, pending, cold));
+      }
+      List<T> pending = pending(split, sort);
+      if (pending == null) return merged(keys, pageable, sort, hot, cold);
+      Slice<T> head = below(keys, pending, cold).apply(page);
+      return concat(pageable, sort, head, () -> pending.size() + coldCount.getAsLong(), split.above());
+    };
+  }
+
+  // head es la página leída del primer tramo; si el tramo se acaba en ella (o antes), se sigue por el segundo
+  static <T> Slice<T> concat(Pageable pageable, Sort sort, Slice<T> head, LongSupplier headCount,
+                             Function<Pageable, Slice<T>> second) {
+    List<T> content = new ArrayList<>(head.getContent());
+    if (head.hasNext()) return new SliceImpl<>(content, pageable, true);
+    // Sin filas del primer tramo, el offset lo ha sobrepasado: solo entonces hace falta su total
+    long offset = content.isEmpty() ? Math.max(0, pageable.getOffset() - headCount.getAsLong()) : 0;
+    int remaining = pageable.getPageSize() - content.size();
+    Slice<T> tail = second.apply(new OffsetPageRequest(offset, Math.max(1, remaining), sort));
+    if (remaining == 0) return new SliceImpl<>(content, pageable, tail.hasContent());
+    content.addAll(tail.getContent());
+    return new SliceImpl<>(content, pageable, tail.hasNext());
+  }
+
+  // Pendientes de archivar mezcladas en memoria con el archivo, como las ocurrencias de series con las filas
+  private static <T> Function<Pageable, Slice<T>> below(Map<String, Function<T, Object>> keys, List<T> pending,
+                                                        Function<Pageable, Slice<T>> cold) {
+    return p -> {
+      OccurrenceMerger.Chunk<T> chunk = OccurrenceMerger.merge(pending, keys, p, cold);
+      return new SliceImpl<>(chunk.content(), p, chunk.hasNext());
+    };
+  }
+
+  // null si hay más de MAX_PENDING
+  private static <T> List<T> pending(Split<T> split, Sort sort) {
+    Slice<T> rows = split.below().apply(new OffsetPageRequest(0, MAX_PENDING, sort));
+    return rows.hasNext() ? null : rows.getContent();
+  }
+
+  private static <T> Slice<T> merged(Map<String, Function<T, Object>> keys, Pageable pageable, Sort sort,
+                                     Function<Pageable, Slice<T>> hot, Function<Pageable, Slice<T>> cold) {
+    long depth = pageable.getOffset() + pageable.getPageSize();
+    if (depth > MAX_OFFSET_DEPTH) {
+      throw new BadRequestException("pages beyond " + MAX_OFFSET_DEPTH + " rows reach archived events: use cursor pagination");
+    }
+    Pageable head = new OffsetPageRequest(0, (int) depth, sort);
+    Slice<T> hotRows = hot.apply(head);
+    Slice<T> coldRows = cold.apply(head);
+    List<T> merged = OccurrenceMerger.mergeSorted(hotRows.getContent(), coldRows.getContent(),
+        OccurrenceMerger.comparator(sort, keys));
+    int from = (int) Math.min(merged.size(), pageable.getOffset());
+    int to = Math.min(merged.size(), from + pageable.getPageSize());
+    boolean hasNext = to < merged.size() || hotRows.hasNext() || coldRows.hasNext();
+    return new SliceImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, hasNext);
+  }
+
+  // Ambas ventanas se han leído con la misma posición y el mismo orden keyset (KEYSET_ASC / KEYSET_DESC)
+  static <T> Window<T> window(Window<T> hot, Window<T> cold, Map<String, Function<T, Object>> keys, Sort keyset, int size) {
+    Comparator<T> order = OccurrenceMerger.comparator(keyset, keys);
+    List<T> merged = OccurrenceMerger.mergeSorted(hot.getContent(), cold.getContent(), order);
+    List<T> content = new ArrayList<>(merged.subList(0, Math.min(size, merged.size())));
+    boolean hasNext = merged.size() > size || hot.hasNext() || cold.hasNext();
+    return Window.from(content, i -> position(content.get(i), keyset, keys), hasNext);
+  }
+
+  // Mismas claves que genera Spring Data (las propiedades del orden), para que CursorUtils las codifique igual
+  static <T> ScrollPosition position(T item, Sort keyset, Map<String, Function<T, Object>> keys) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    for (Sort.Order o : keyset) values.put(o.getProperty(), keys.get(o.getProperty()).apply(item));
+    return ScrollPosition.forward(values);
+  }
+}
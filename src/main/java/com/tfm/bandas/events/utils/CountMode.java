@@ -0,0 +1,7 @@
+package com.tfm.bandas.events.utils;
+
+public enum CountMode {
+    EXACT, // select count(*) en cada petición (Page)
+    NONE, // sin total: size+1 filas y hasNext (Slice)
+    CACHED // Slice + total cacheado durante unos segundos
+}
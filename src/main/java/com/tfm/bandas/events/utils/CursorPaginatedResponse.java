@@ -0,0 +1,24 @@
+package com.tfm.bandas.events.utils;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+public record CursorPaginatedResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+    public static <T> CursorPaginatedResponse<T> from(Window<T> window) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? CursorUtils.encode(window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPaginatedResponse<>(
+                window.getContent(),
+                window.size(),
+                window.hasNext(),
+                nextCursor
+        );
+    }
+}
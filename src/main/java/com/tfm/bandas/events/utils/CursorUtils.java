@@ -0,0 +1,84 @@
+package com.tfm.bandas.events.utils;
+
+import com.tfm.bandas.events.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cursores opacos para la paginación por keyset (seek). El cursor codifica el par (startAt, id)
+ * de la última fila devuelta, de forma que la siguiente página se obtiene con
+ * {@code (start_at, id) > (:startAt, :id)} sobre el índice idx_event_start_at (el id va implícito
+ * detrás de start_at), sin OFFSET.
+ */
+public final class CursorUtils {
+  private CursorUtils() {}
+
+  public static final int MAX_CURSOR_PAGE_SIZE = 200;
+
+  // Orden fijo en modo cursor: el keyset necesita un orden total y estable
+  public static final Sort KEYSET_ASC = Sort.by(Sort.Direction.ASC, "startAt", "id");
+  public static final Sort KEYSET_DESC = Sort.by(Sort.Direction.DESC, "startAt", "id");
+
+  private static final String SEPARATOR = "|";
+  private static final int UUID_LENGTH = 36;
+
+  public static String encode(ScrollPosition position) {
+    if (!(position instanceof KeysetScrollPosition keyset)) {
+      throw new IllegalStateException("Only keyset positions can be encoded as cursors");
+    }
+    Object startAt = keyset.getKeys().get("startAt");
+    Object id = keyset.getKeys().get("id");
+    String raw = startAt + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // Cursor vacío o ausente => primera página
+  public static ScrollPosition decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) return ScrollPosition.keyset();
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+      int sep = raw.indexOf(SEPARATOR);
+      if (sep <= 0 || sep == raw.length() - 1) throw new BadRequestException("Invalid cursor: " + cursor);
+      Map<String, Object> keys = new LinkedHashMap<>();
+      keys.put("startAt", Instant.parse(raw.substring(0, sep)));
+      String id = raw.substring(sep + 1);
+      if (!Uuids.isUuid(id) && !isOccurrenceId(id)) throw new BadRequestException("Invalid cursor: " + cursor);
+      keys.put("id", id);
+      return ScrollPosition.forward(keys);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+  }
+
+  // Posición para la consulta a la BD: si la última fila era una ocurrencia de serie ("<serie>_<RECURRENCE-ID>"),
+  // se busca desde el id de la serie. Ningún evento lo comparte y, a igual start_at, los ids de evento mayores que
+  // él son justo los mayores que el de la ocurrencia (comparan en los 36 primeros caracteres)
+  public static ScrollPosition rowPosition(ScrollPosition position) {
+    if (!(position instanceof KeysetScrollPosition keyset) || !(keyset.getKeys().get("id") instanceof String id)
+        || Uuids.isUuid(id)) {
+      return position;
+    }
+    Map<String, Object> keys = new LinkedHashMap<>(keyset.getKeys());
+    keys.put("id", id.substring(0, UUID_LENGTH));
+    return ScrollPosition.forward(keys);
+  }
+
+  private static boolean isOccurrenceId(String id) {
+    return id.length() > UUID_LENGTH + 1 && id.charAt(UUID_LENGTH) == '_' && Uuids.isUuid(id.substring(0, UUID_LENGTH));
+  }
+
+  public static int checkSize(int size) {
+    if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+      throw new BadRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+    }
+    return size;
+  }
+}
@@ -3,8 +3,14 @@ package com.tfm.bandas.events.utils;
 
 import com.tfm.bandas.events.exception.PreconditionFailedException;
 import com.tfm.bandas.events.exception.PreconditionRequiredException;
+import com.tfm.bandas.events.dto.EventWindowStatsDTO;
+import com.tfm.bandas.events.dto.Versioned;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
 
 public final class EtagUtils {
   private EtagUtils() {}
@@ -32,7 +38,67 @@ public final class EtagUtils {
   }
 
   public static <T> ResponseEntity<T> withEtag(ResponseEntity.BodyBuilder builder, int version, T body) {
-    return builder.header(HttpHeaders.ETAG, toEtag(version)).body(body);
+    return withEtag(builder, toEtag(version), body);
+  }
+
+  public static <T> ResponseEntity<T> withEtag(ResponseEntity.BodyBuilder builder, String etag, T body) {
+    return builder.header(HttpHeaders.ETAG, etag).body(body);
+  }
+
+  // ETag de colección: W/"c-<md5>" de los parámetros de la consulta (ventana, página, orden) y la huella de la ventana
+  public static String toCollectionEtag(EventWindowStatsDTO stats, Object... queryKey) {
+    var sb = new StringBuilder();
+    for (Object part : queryKey) sb.append(part).append('|');
+    sb.append(stats.count()).append('|').append(stats.maxUpdatedAt()).append('|').append(stats.versionSum());
+    return "W/\"c-" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+
+  // ETag de colección calculado de la propia respuesta: sin consulta de agregados aparte. Toda edición sube la
+  // versión de la fila (la de una ocurrencia es la de su serie), así que basta con id:version de cada elemento,
+  // el total y hasNext
+  public static String toCollectionEtag(PaginatedResponse<? extends Versioned> response, Object... queryKey) {
+    var sb = new StringBuilder();
+    for (Object part : queryKey) sb.append(part).append('|');
+    sb.append(response.totalElements()).append('|').append(response.hasNext());
+    for (Versioned item : response.content()) sb.append('|').append(item.id()).append(':').append(item.version());
+    return "W/\"p-" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+
+  // If-None-Match con comparación débil: acepta "*", listas separadas por comas y W/ opcional
+  public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+    String current = opaqueTag(etag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String v = candidate.trim();
+      if ("*".equals(v) || opaqueTag(v).equals(current)) return true;
+    }
+    return false;
+  }
+
+  // Mayor versión de entidad (W/"n") presente en un If-None-Match; -1 si no hay ninguna
+  public static int maxVersionIn(String ifNoneMatch) {
+    int max = -1;
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) return max;
+    for (String candidate : ifNoneMatch.split(",")) {
+      String v = opaqueTag(candidate);
+      if (v.startsWith("\"") && v.endsWith("\"") && v.length() > 2) v = v.substring(1, v.length() - 1);
+      try {
+        max = Math.max(max, Integer.parseInt(v));
+      } catch (NumberFormatException e) {
+        // ETag de colección u opaco: no aporta versión
+      }
+    }
+    return max;
+  }
+
+  public static <T> ResponseEntity<T> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, etag).build();
+  }
+
+  private static String opaqueTag(String tag) {
+    String v = tag.trim();
+    if (v.startsWith("W/")) v = v.substring(2).trim();
+    return v;
   }
 
   public static void compareVersion(int ifMatchVersion, int entityVersion) {
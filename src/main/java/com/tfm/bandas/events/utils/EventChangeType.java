@@ -0,0 +1,5 @@
+package com.tfm.bandas.events.utils;
+
+public enum EventChangeType {
+    CREATED, UPDATED, DELETED
+}
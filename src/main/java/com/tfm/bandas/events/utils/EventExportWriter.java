@@ -0,0 +1,103 @@
+package com.tfm.bandas.events.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tfm.bandas.events.dto.EventDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Escribe eventos fila a fila sobre la respuesta (NDJSON o CSV) con un buffer fijo,
+ * sin acumular la exportación en memoria.
+ */
+public class EventExportWriter implements Consumer<EventDTO> {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String CSV_HEADER = "id,version,title,description,location,type,status,visibility,startAt,endAt";
+
+  private final ExportFormat format;
+  private final Writer writer;
+  private final JsonGenerator json;
+  private final ObjectWriter jsonWriter;
+  private long rows;
+
+  public EventExportWriter(ExportFormat format, OutputStream out, ObjectMapper mapper) throws IOException {
+    this.format = format;
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    if (format == ExportFormat.NDJSON) {
+      this.json = mapper.getFactory().createGenerator(writer);
+      this.json.setRootValueSeparator(new SerializedString("\n"));
+      // Sin flush por fila: vacía el buffer solo cuando se llena
+      this.jsonWriter = mapper.writerFor(EventDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    } else {
+      this.json = null;
+      this.jsonWriter = null;
+      writer.write(CSV_HEADER);
+      writer.write("\r\n");
+    }
+  }
+
+  @Override
+  public void accept(EventDTO e) {
+    try {
+      if (format == ExportFormat.NDJSON) {
+        jsonWriter.writeValue(json, e);
+      } else {
+        writeCsvRow(e);
+      }
+      rows++;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  public long finish() throws IOException {
+    if (json != null) {
+      json.flush();
+      if (rows > 0) writer.write('\n');
+    }
+    writer.flush();
+    return rows;
+  }
+
+  private void writeCsvRow(EventDTO e) throws IOException {
+    writer.write(csv(e.id()));
+    writer.write(',');
+    writer.write(Integer.toString(e.version()));
+    writer.write(',');
+    writer.write(csv(e.title()));
+    writer.write(',');
+    writer.write(csv(e.description()));
+    writer.write(',');
+    writer.write(csv(e.location()));
+    writer.write(',');
+    writer.write(csv(e.type()));
+    writer.write(',');
+    writer.write(csv(e.status()));
+    writer.write(',');
+    writer.write(csv(e.visibility()));
+    writer.write(',');
+    writer.write(csv(e.startAt()));
+    writer.write(',');
+    writer.write(csv(e.endAt()));
+    writer.write("\r\n");
+  }
+
+  // RFC 4180: entre comillas si contiene separador, comillas o saltos de línea
+  private static String csv(Object value) {
+    if (value == null) return "";
+    String s = value.toString();
+    if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+    return '"' + s.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,17 @@
+package com.tfm.bandas.events.utils;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"), // un objeto JSON por línea
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() { return mediaType; }
+    public String extension() { return extension; }
+}
@@ -0,0 +1,107 @@
+package com.tfm.bandas.events.utils;
+
+import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escritor en streaming de iCalendar (RFC 5545): líneas CRLF, plegado a 75 octetos y escape de texto.
+ * Escribe directamente sobre el Writer, sin construir el documento en memoria.
+ */
+public class ICalendarWriter {
+
+  private static final DateTimeFormatter UTC_DATE_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+  private static final int MAX_LINE_OCTETS = 75;
+
+  private final Writer out;
+
+  public ICalendarWriter(Writer out) {
+    this.out = out;
+  }
+
+  public void beginCalendar(String calendarName) {
+    line("BEGIN:VCALENDAR");
+    line("VERSION:2.0");
+    line("PRODID:-//TFM Bandas//Eventos//ES");
+    line("CALSCALE:GREGORIAN");
+    line("METHOD:PUBLISH");
+    line("X-WR-CALNAME:" + escape(calendarName));
+  }
+
+  public void event(CalendarEventItemDTO e, Instant dtStamp) {
+    line("BEGIN:VEVENT");
+    line("UID:" + e.id() + "@tfm-bandas-events");
+    line("DTSTAMP:" + UTC_DATE_TIME.format(dtStamp));
+    line("DTSTART:" + UTC_DATE_TIME.format(e.start()));
+    line("DTEND:" + UTC_DATE_TIME.format(e.end()));
+    line("SUMMARY:" + escape(e.title()));
+    if (e.location() != null && !e.location().isBlank()) line("LOCATION:" + escape(e.location()));
+    if (e.type() != null) line("CATEGORIES:" + e.type().name());
+    if (e.status() != null) line("STATUS:" + toIcsStatus(e.status()));
+    line("END:VEVENT");
+  }
+
+  public void endCalendar() {
+    line("END:VCALENDAR");
+    try {
+      out.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static String toIcsStatus(EventStatus status) {
+    return switch (status) {
+      case SCHEDULED -> "CONFIRMED";
+      case CANCELED -> "CANCELLED";
+      case POSTPONED -> "TENTATIVE";
+    };
+  }
+
+  // TEXT (RFC 5545 3.3.11): escapar \ ; , y saltos de línea
+  private static String escape(String text) {
+    if (text == null) return "";
+    return text.replace("\\", "\\\\")
+        .replace(";", "\\;")
+        .replace(",", "\\,")
+        .replace("\r\n", "\\n")
+        .replace("\n", "\\n")
+        .replace("\r", "\\n");
+  }
+
+  // Pliega en trozos de como máximo 75 octetos UTF-8 sin partir caracteres; continuación con un espacio
+  private void line(String content) {
+    try {
+      int octets = 0;
+      int limit = MAX_LINE_OCTETS;
+      for (int i = 0; i < content.length(); ) {
+        int cp = content.codePointAt(i);
+        int len = utf8Length(cp);
+        if (octets + len > limit) {
+          out.write("\r\n ");
+          octets = 0;
+          limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(Character.toChars(cp));
+        octets += len;
+        i += Character.charCount(cp);
+      }
+      out.write("\r\n");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static int utf8Length(int codePoint) {
+    if (codePoint < 0x80) return 1;
+    if (codePoint < 0x800) return 2;
+    if (codePoint < 0x10000) return 3;
+    return 4;
+  }
+}
@@ -1,6 +1,7 @@
 package com.tfm.bandas.events.utils;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -8,10 +9,11 @@ public record PaginatedResponse<T>(
         List<T> content,
         int page,
         int size,
-        long totalElements,
-        int totalPages,
+        Long totalElements, // null si no se ha pedido el total (CountMode.NONE)
+        Integer totalPages,
         boolean first,
-        boolean last
+        boolean last,
+        boolean hasNext
 ) {
     public static <T> PaginatedResponse<T> from(Page<T> page) {
         return new PaginatedResponse<>(
@@ -21,7 +23,26 @@ public record PaginatedResponse<T>(
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.isFirst(),
-                page.isLast()
+                page.isLast(),
+                page.hasNext()
+        );
+    }
+
+    // Slice sin count(*); el total, si se conoce, puede venir de caché y ser aproximado
+    public static <T> PaginatedResponse<T> from(Slice<T> slice, Long total) {
+        Integer totalPages = null;
+        if (total != null) {
+            totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / (double) slice.getSize());
+        }
+        return new PaginatedResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                total,
+                totalPages,
+                slice.isFirst(),
+                slice.isLast(),
+                slice.hasNext()
         );
     }
 }
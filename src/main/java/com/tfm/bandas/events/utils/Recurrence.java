@@ -0,0 +1,113 @@
+package com.tfm.bandas.events.utils;
+
+import com.tfm.bandas.events.exception.BadRequestException;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Subconjunto de RRULE (RFC 5545): FREQ=DAILY|WEEKLY, INTERVAL y BYDAY. Las ocurrencias se calculan en la
+ * zona de la serie (un ensayo a las 20:00 sigue a las 20:00 tras el cambio de hora) y solo dentro de la
+ * ventana pedida: se salta aritméticamente al primer periodo de la ventana, sin recorrer la serie desde el inicio.
+ *
+ * @param firstStart primera ocurrencia (DTSTART); siempre forma parte de la serie
+ * @param until      inicio de la última ocurrencia posible (incluido)
+ */
+public record Recurrence(
+        Instant firstStart,
+        ZoneId zone,
+        RecurrenceFrequency frequency,
+        int interval,
+        Set<DayOfWeek> byDays,
+        Instant until
+) {
+
+    public Recurrence {
+        if (interval < 1) throw new BadRequestException("interval must be >= 1");
+        LocalDate firstDay = LocalDate.ofInstant(firstStart, zone);
+        if (frequency == RecurrenceFrequency.DAILY || byDays == null || byDays.isEmpty()) {
+            byDays = EnumSet.of(firstDay.getDayOfWeek());
+        } else if (!byDays.contains(firstDay.getDayOfWeek())) {
+            throw new BadRequestException("byDays must include the weekday of startAt");
+        }
+        byDays = EnumSet.copyOf(byDays);
+    }
+
+    // Inicios de las ocurrencias con from <= inicio <= to, en orden
+    public List<Instant> startsBetween(Instant from, Instant to) {
+        Instant upper = to.isBefore(until) ? to : until;
+        List<Instant> starts = new ArrayList<>();
+        if (upper.isBefore(firstStart) || upper.isBefore(from)) return starts;
+        iterate(from, upper, Integer.MAX_VALUE, starts);
+        return starts;
+    }
+
+    // Como mucho max ocurrencias desde la primera y hasta limit (incluido)
+    public List<Instant> firstStarts(Instant limit, int max) {
+        List<Instant> starts = new ArrayList<>();
+        iterate(firstStart, limit, max, starts);
+        return starts;
+    }
+
+    private void iterate(Instant from, Instant to, int max, List<Instant> out) {
+        LocalDate firstDay = LocalDate.ofInstant(firstStart, zone);
+        LocalTime time = LocalTime.ofInstant(firstStart, zone);
+        // Un día de margen: el día local de from puede no coincidir con el de la ocurrencia por el desfase horario
+        LocalDate fromDay = LocalDate.ofInstant(from, zone).minusDays(1);
+
+        if (frequency == RecurrenceFrequency.DAILY) {
+            long skip = Math.max(0, ChronoUnit.DAYS.between(firstDay, fromDay) / interval);
+            for (LocalDate day = firstDay.plusDays(skip * interval); ; day = day.plusDays(interval)) {
+                if (!add(ZonedDateTime.of(day, time, zone).toInstant(), from, to, max, out)) return;
+            }
+        }
+
+        LocalDate firstWeek = firstDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long skip = Math.max(0, ChronoUnit.WEEKS.between(firstWeek, fromDay) / interval);
+        for (LocalDate week = firstWeek.plusWeeks(skip * interval); ; week = week.plusWeeks(interval)) {
+            for (DayOfWeek dow : byDays) {
+                LocalDate day = week.plusDays(dow.ordinal());
+                if (day.isBefore(firstDay)) continue;
+                if (!add(ZonedDateTime.of(day, time, zone).toInstant(), from, to, max, out)) return;
+            }
+        }
+    }
+
+    // false => fin de la iteración
+    private static boolean add(Instant start, Instant from, Instant to, int max, List<Instant> out) {
+        if (start.isAfter(to)) return false;
+        if (!start.isBefore(from)) out.add(start);
+        return out.size() < max;
+    }
+
+    // BYDAY en formato RFC 5545 ("MO,WE")
+    public static String formatDays(Set<DayOfWeek> days) {
+        return days.stream().sorted().map(d -> d.name().substring(0, 2)).collect(Collectors.joining(","));
+    }
+
+    public static Set<DayOfWeek> parseDays(String days) {
+        Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+        if (days == null || days.isBlank()) return result;
+        for (String code : days.split(",")) {
+            String c = code.trim().toUpperCase(Locale.ROOT);
+            result.add(Arrays.stream(DayOfWeek.values())
+                    .filter(d -> d.name().substring(0, 2).equals(c))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("invalid weekday: " + code)));
+        }
+        return result;
+    }
+}
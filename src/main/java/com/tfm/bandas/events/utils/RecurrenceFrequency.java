@@ -0,0 +1,6 @@
+package com.tfm.bandas.events.utils;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY
+}
@@ -0,0 +1,69 @@
+package com.tfm.bandas.events.utils;
+
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.exception.SyncTokenExpiredException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Token opaco de sincronización delta: posición (seq, id) en el flujo de cambios ordenado por (sync_seq, id)
+ * de event, event_series y event_tombstone. Mismo formato que los cursores de {@link CursorUtils}, pero sin
+ * ligarlo a un ScrollPosition: aquí se recorren varias tablas a la vez.
+ */
+public record SyncToken(long seq, String id) {
+
+  // Menor id posible: una posición (s, MIN_ID) va justo antes de cualquier cambio con seq s
+  public static final String MIN_ID = "00000000-0000-0000-0000-000000000000";
+
+  // Posición inicial (sincronización completa): los eventos anteriores a V15 tienen sync_seq 0
+  public static final SyncToken START = before(0);
+
+  private static final String SEPARATOR = "|";
+
+  public static SyncToken before(long seq) {
+    return new SyncToken(seq, MIN_ID);
+  }
+
+  public String encode() {
+    String raw = seq + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // Token vacío o ausente => null (sincronización completa)
+  public static SyncToken decode(String token) {
+    if (token == null || token.isBlank()) return null;
+    String position;
+    String id;
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+      int sep = raw.indexOf(SEPARATOR);
+      if (sep <= 0 || sep == raw.length() - 1) throw new BadRequestException("Invalid sync token: " + token);
+      position = raw.substring(0, sep);
+      id = raw.substring(sep + 1);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid sync token: " + token);
+    }
+    if (!Uuids.isUuid(id)) throw new BadRequestException("Invalid sync token: " + token);
+    try {
+      long seq = Long.parseLong(position);
+      if (seq < 0) throw new BadRequestException("Invalid sync token: " + token);
+      return new SyncToken(seq, id);
+    } catch (NumberFormatException e) {
+      legacy(position, token);
+      throw new BadRequestException("Invalid sync token: " + token);
+    }
+  }
+
+  // Los tokens anteriores a sync_seq llevaban un instante: no se pueden traducir a un seq, el cliente resincroniza
+  private static void legacy(String position, String token) {
+    try {
+      Instant.parse(position);
+    } catch (DateTimeParseException e) {
+      return;
+    }
+    throw new SyncTokenExpiredException("Sync token from an older version: sync again without since");
+  }
+}
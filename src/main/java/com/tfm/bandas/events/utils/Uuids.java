@@ -0,0 +1,85 @@
+package com.tfm.bandas.events.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identificadores UUIDv7 (RFC 9562): 48 bits de milisegundos Unix seguidos de bits aleatorios. Son crecientes
+ * en el tiempo, así que las inserciones van al final del índice clúster de InnoDB en vez de repartirse por
+ * páginas aleatorias como con UUIDv4. En la API se usa la forma canónica en minúsculas; en MySQL, BINARY(16)
+ * (ver UuidBinaryType). El orden de los bytes coincide con el orden lexicográfico de la forma canónica.
+ */
+public final class Uuids {
+  private Uuids() {}
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  public static String v7() {
+    return v7(System.currentTimeMillis());
+  }
+
+  static String v7(long epochMillis) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long msb = (epochMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return format(msb, lsb);
+  }
+
+  public static boolean isUuid(String value) {
+    return toBytes(value) != null;
+  }
+
+  // Forma canónica (8-4-4-4-12, hex en minúsculas) => 16 bytes; null si no lo es. Más estricto que UUID.fromString:
+  // solo la minúscula ordena como sus bytes, y Character.digit aceptaría también dígitos no ASCII
+  public static byte[] toBytes(String value) {
+    if (value == null || value.length() != 36) return null;
+    byte[] out = new byte[16];
+    int b = 0;
+    for (int i = 0; i < 36; ) {
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (value.charAt(i++) != '-') return null;
+        continue;
+      }
+      int hi = digit(value.charAt(i++));
+      int lo = digit(value.charAt(i++));
+      if (hi < 0 || lo < 0) return null;
+      out[b++] = (byte) (hi << 4 | lo);
+    }
+    return out;
+  }
+
+  private static int digit(char c) {
+    if (c >= '0' && c <= '9') return c - '0';
+    if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+    return -1;
+  }
+
+  public static String fromBytes(byte[] bytes) {
+    if (bytes == null) return null;
+    if (bytes.length != 16) throw new IllegalArgumentException("UUID must be 16 bytes, got " + bytes.length);
+    long msb = 0, lsb = 0;
+    for (int i = 0; i < 8; i++) msb = (msb << 8) | (bytes[i] & 0xFF);
+    for (int i = 8; i < 16; i++) lsb = (lsb << 8) | (bytes[i] & 0xFF);
+    return format(msb, lsb);
+  }
+
+  private static String format(long msb, long lsb) {
+    char[] out = new char[36];
+    hex(out, 0, msb >>> 32, 8);
+    out[8] = '-';
+    hex(out, 9, msb >>> 16, 4);
+    out[13] = '-';
+    hex(out, 14, msb, 4);
+    out[18] = '-';
+    hex(out, 19, lsb >>> 48, 4);
+    out[23] = '-';
+    hex(out, 24, lsb, 12);
+    return new String(out);
+  }
+
+  private static void hex(char[] out, int offset, long value, int digits) {
+    for (int i = offset + digits - 1; i >= offset; i--) {
+      out[i] = HEX[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+  }
+}
@@ -0,0 +1,13 @@
+-- Sincronización delta (GET /api/events/changes): altas y modificaciones se recorren por (updated_at, id)
+CREATE INDEX idx_event_updated ON event (updated_at, id);
+
+-- Lápidas de eventos borrados, para que los clientes las reciban en la siguiente sincronización.
+-- Se compactan pasada la retención (events.sync.retention); un token más antiguo obliga a resincronizar
+CREATE TABLE event_tombstone (
+        id BINARY(16) NOT NULL,
+        version INT NOT NULL,
+        deleted_at DATETIME(6) NOT NULL,
+        PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_event_tombstone_deleted ON event_tombstone (deleted_at, id);
@@ -0,0 +1,13 @@
+-- Outbox transaccional: cada alta, modificación o borrado de event añade aquí su mensaje en la misma transacción.
+-- OutboxRelay lo entrega al sink configurado en orden de seq y lo borra (entrega al menos una vez).
+-- message_key (<id>:<version>:<tipo>) es la clave de idempotencia con la que los consumidores descartan duplicados
+CREATE TABLE event_outbox (
+        seq BIGINT NOT NULL AUTO_INCREMENT,
+        message_key VARCHAR(64) NOT NULL,
+        event_id BINARY(16) NOT NULL,
+        change_type VARCHAR(16) NOT NULL,
+        event_version INT NOT NULL,
+        payload JSON NOT NULL,
+        created_at DATETIME(6) NOT NULL,
+        PRIMARY KEY (seq)
+);
@@ -0,0 +1,28 @@
+-- Capa fría: EventArchiver mueve aquí por lotes los eventos terminados hace más de events.archive.after.
+-- La tabla event queda con lo reciente y lo futuro, que es lo que consulta casi todo el tráfico.
+-- No se particiona event por start_at: MySQL no admite índices FULLTEXT (V5) en tablas particionadas
+-- y la clave de partición tendría que formar parte de la clave primaria (id)
+CREATE TABLE event_archive (
+        id BINARY(16) NOT NULL,
+        version INT NOT NULL,
+        title VARCHAR(200) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL,
+        description TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL,
+        start_at DATETIME(6) NOT NULL,
+        end_at DATETIME(6) NOT NULL,
+        location VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL,
+        type VARCHAR(32) NOT NULL,
+        status VARCHAR(32) NOT NULL,
+        visibility VARCHAR(32) NOT NULL,
+        created_at DATETIME(6) NOT NULL,
+        updated_at DATETIME(6) NOT NULL,
+        archived_at DATETIME(6) NOT NULL,
+        PRIMARY KEY (id)
+);
+
+-- Mismos índices cubrientes de calendario que event (V6) y uno por end_at para /past
+CREATE INDEX idx_event_archive_calendar ON event_archive (start_at, end_at, type, status, location, title);
+CREATE INDEX idx_event_archive_visibility_calendar ON event_archive (visibility, start_at, end_at, type, status, location, title);
+CREATE INDEX idx_event_archive_end ON event_archive (end_at);
+
+-- Candidatos del mover: event por end_at (hasta ahora solo había índices que empiezan por start_at o location)
+CREATE INDEX idx_event_end ON event (end_at);
@@ -0,0 +1,2 @@
+-- /past filtra por end_at (count(*) del modo EXACT y candidatos de EventArchiver): lo sirve idx_event_end, creado
+-- ya en V12 junto al archivo. Esta versión se mantiene vacía para no reescribir migraciones ya aplicadas
@@ -0,0 +1,9 @@
+-- Zona horaria con la que está calculado event_day_summary. V7 contó cada evento en el día UTC de start_at;
+-- EventDaySummaryZone lo recalcula al arrancar cuando events.calendar.time-zone es otra
+CREATE TABLE event_day_summary_zone (
+        id TINYINT NOT NULL,
+        time_zone VARCHAR(50) NOT NULL,
+        PRIMARY KEY (id)
+);
+
+INSERT INTO event_day_summary_zone (id, time_zone) VALUES (1, 'UTC');
@@ -0,0 +1,19 @@
+-- Sincronización delta por orden de commit: EventSyncClock incrementa event_sync_clock.seq justo antes del commit
+-- (con la fila bloqueada hasta el commit) y lo escribe en sync_seq de los eventos y lápidas de la transacción.
+-- Los datos ya existentes quedan en 0 y se recorren por id
+ALTER TABLE event ADD COLUMN sync_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE event_tombstone ADD COLUMN sync_seq BIGINT NOT NULL DEFAULT 0;
+
+DROP INDEX idx_event_updated ON event;
+CREATE INDEX idx_event_sync ON event (sync_seq, id);
+CREATE INDEX idx_event_tombstone_sync ON event_tombstone (sync_seq, id);
+
+-- compacted_seq: mayor sync_seq de las lápidas ya compactadas; un token que no lo supera recibe 410
+CREATE TABLE event_sync_clock (
+        id TINYINT NOT NULL,
+        seq BIGINT NOT NULL,
+        compacted_seq BIGINT NOT NULL,
+        PRIMARY KEY (id)
+);
+
+INSERT INTO event_sync_clock (id, seq, compacted_seq) VALUES (1, 0, 0);
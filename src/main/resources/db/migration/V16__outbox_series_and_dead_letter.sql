@@ -0,0 +1,24 @@
+-- event_outbox también lleva los cambios de series (altas, bajas y ediciones de ocurrencias): aggregate indica
+-- de qué tabla es aggregate_id. attempts cuenta las entregas fallidas de un mensaje aislado por OutboxRelay
+ALTER TABLE event_outbox
+        RENAME COLUMN event_id TO aggregate_id,
+        RENAME COLUMN event_version TO aggregate_version,
+        ADD COLUMN aggregate VARCHAR(16) NOT NULL DEFAULT 'EVENT' AFTER message_key,
+        ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+
+-- Mensajes que el sink ha rechazado events.outbox.max-attempts veces: se apartan para no bloquear a los demás.
+-- Se reenvían devolviéndolos a event_outbox (los consumidores deduplican por message_key)
+CREATE TABLE event_outbox_dead_letter (
+        seq BIGINT NOT NULL,
+        message_key VARCHAR(64) NOT NULL,
+        aggregate VARCHAR(16) NOT NULL,
+        aggregate_id BINARY(16) NOT NULL,
+        change_type VARCHAR(16) NOT NULL,
+        aggregate_version INT NOT NULL,
+        payload JSON NOT NULL,
+        created_at DATETIME(6) NOT NULL,
+        attempts INT NOT NULL,
+        last_error VARCHAR(1000),
+        failed_at DATETIME(6) NOT NULL,
+        PRIMARY KEY (seq)
+);
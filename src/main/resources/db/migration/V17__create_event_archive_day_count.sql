@@ -0,0 +1,12 @@
+-- Eventos archivados por día UTC de end_at, mantenido por EventArchiver en la misma transacción que mueve cada
+-- lote. El total de /past lee estas filas (una por día) y solo cuenta en event_archive el tramo del último día
+CREATE TABLE event_archive_day_count (
+        day DATE NOT NULL,
+        event_count BIGINT NOT NULL,
+        PRIMARY KEY (day)
+);
+
+INSERT INTO event_archive_day_count (day, event_count)
+SELECT DATE(end_at), COUNT(*)
+FROM event_archive
+GROUP BY DATE(end_at);
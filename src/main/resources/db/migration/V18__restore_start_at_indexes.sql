@@ -0,0 +1,6 @@
+-- V6 quitó idx_event_start_at e idx_event_visibility_start, pero los índices cubrientes no los sustituyen para
+-- ORDER BY start_at, id: InnoDB añade el id detrás de title, así que sus filas van por (start_at, end_at, ...) y
+-- el keyset (scroll, streamAll) y los listados con OFFSET tenían que ordenar todo lo que queda desde el seek.
+-- Se recuperan: en (start_at) y (visibility, start_at) el id va justo detrás y el orden es el del keyset
+CREATE INDEX idx_event_start_at ON event (start_at);
+CREATE INDEX idx_event_visibility_start ON event (visibility, start_at);
@@ -0,0 +1,4 @@
+-- Las series también entran en GET /api/events/changes: EventSyncClock les pone sync_seq como a los eventos y su
+-- borrado deja lápida en event_tombstone (los ids de serie y de evento no coinciden nunca)
+ALTER TABLE event_series ADD COLUMN sync_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_event_series_sync ON event_series (sync_seq, id);
@@ -0,0 +1,10 @@
+-- /search, /export y el feed .ics también leen event_archive (EventArchiveTier). MATCH(...) exige en cada tabla
+-- un índice FULLTEXT con exactamente las mismas columnas que los de event (V5)
+CREATE FULLTEXT INDEX ft_event_archive_text ON event_archive (title, description, location);
+CREATE FULLTEXT INDEX ft_event_archive_title ON event_archive (title);
+CREATE FULLTEXT INDEX ft_event_archive_description ON event_archive (description);
+
+-- Orden (start_at, id) del keyset y de streamAll sobre el archivo, como idx_event_start_at e
+-- idx_event_visibility_start en event (V18)
+CREATE INDEX idx_event_archive_start_at ON event_archive (start_at);
+CREATE INDEX idx_event_archive_visibility_start ON event_archive (visibility, start_at);
@@ -0,0 +1,15 @@
+-- Cota de duración de EventDurationBound: la duración más larga guardada, en segundos. Se calcula aquí una sola vez
+-- (antes se recorría event entero cada 5 minutos) y la suben con greatest() las escrituras que la superan
+CREATE TABLE event_duration_bound (
+        id TINYINT NOT NULL,
+        max_seconds BIGINT NOT NULL,
+        PRIMARY KEY (id)
+);
+
+-- Las excepciones que solo cambian el inicio heredan la duración de la serie
+INSERT INTO event_duration_bound (id, max_seconds)
+SELECT 1, GREATEST(
+        COALESCE((SELECT MAX(TIMESTAMPDIFF(SECOND, start_at, end_at)) FROM event), 0),
+        COALESCE((SELECT MAX(duration_minutes) * 60 FROM event_series), 0),
+        COALESCE((SELECT MAX(TIMESTAMPDIFF(SECOND, COALESCE(start_at, original_start_at), end_at))
+                  FROM event_series_exception WHERE end_at IS NOT NULL), 0));
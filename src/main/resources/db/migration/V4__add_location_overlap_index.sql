@@ -0,0 +1,2 @@
+-- Índice para la validación de solapes por ubicación (location = ? and start_at in [?, ?) and end_at > ?)
+CREATE INDEX idx_event_location_start_end ON event (location, start_at, end_at);
@@ -0,0 +1,10 @@
+-- Collation acento-insensible explícita para que "cancion" encuentre "Canción" (también en el índice FULLTEXT)
+ALTER TABLE event
+    MODIFY title VARCHAR(200) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL,
+    MODIFY description TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL,
+    MODIFY location VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL;
+
+-- MATCH(...) exige un índice con exactamente las mismas columnas
+CREATE FULLTEXT INDEX ft_event_text ON event (title, description, location);
+CREATE FULLTEXT INDEX ft_event_title ON event (title);
+CREATE FULLTEXT INDEX ft_event_description ON event (description);
@@ -0,0 +1,8 @@
+-- Índices cubrientes para las proyecciones de calendario (id, title, start_at, end_at, type, status, location):
+-- la consulta se resuelve solo con el índice (el id va implícito como clave primaria en InnoDB).
+-- Sustituyen a los índices por start_at y (visibility, start_at), que son prefijos suyos.
+CREATE INDEX idx_event_calendar ON event (start_at, end_at, type, status, location, title);
+CREATE INDEX idx_event_visibility_calendar ON event (visibility, start_at, end_at, type, status, location, title);
+
+DROP INDEX idx_event_start_at ON event;
+DROP INDEX idx_event_visibility_start ON event;
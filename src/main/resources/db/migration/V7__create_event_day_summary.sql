@@ -0,0 +1,15 @@
+-- Resumen diario (día UTC de start_at) mantenido por la aplicación en cada alta, modificación y baja.
+-- La vista mensual lee como mucho días x visibilidades x tipos x estados filas, sin importar cuántos eventos haya.
+CREATE TABLE event_day_summary (
+        day DATE NOT NULL,
+        visibility VARCHAR(32) NOT NULL,
+        type VARCHAR(32) NOT NULL,
+        status VARCHAR(32) NOT NULL,
+        event_count INT NOT NULL DEFAULT 0,
+        PRIMARY KEY (day, visibility, type, status)
+);
+
+INSERT INTO event_day_summary (day, visibility, type, status, event_count)
+SELECT DATE(start_at), visibility, type, status, COUNT(*)
+FROM event
+GROUP BY DATE(start_at), visibility, type, status;
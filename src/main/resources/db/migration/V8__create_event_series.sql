@@ -0,0 +1,38 @@
+-- Series recurrentes: una fila por serie; las ocurrencias se expanden al leer, solo dentro de la ventana pedida
+CREATE TABLE event_series (
+        id VARCHAR(36) NOT NULL,
+        version INT NOT NULL DEFAULT 0,
+        title VARCHAR(200) NOT NULL,
+        description TEXT NULL,
+        location VARCHAR(255) NULL,
+        type VARCHAR(32) NOT NULL,
+        status VARCHAR(32) NOT NULL,
+        visibility VARCHAR(32) NOT NULL,
+        time_zone VARCHAR(50) NOT NULL,
+        first_start_at DATETIME(6) NOT NULL,
+        until_at DATETIME(6) NOT NULL,
+        duration_minutes INT NOT NULL,
+        frequency VARCHAR(16) NOT NULL,
+        interval_count INT NOT NULL DEFAULT 1,
+        by_days VARCHAR(32) NULL,
+        created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+        updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+        PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_event_series_window ON event_series (first_start_at, until_at);
+CREATE INDEX idx_event_series_location ON event_series (location, first_start_at);
+
+-- Excepciones por ocurrencia (RECURRENCE-ID): cancelada o con campos sobrescritos
+CREATE TABLE event_series_exception (
+        series_id VARCHAR(36) NOT NULL,
+        original_start_at DATETIME(6) NOT NULL,
+        canceled BOOLEAN NOT NULL DEFAULT FALSE,
+        start_at DATETIME(6) NULL,
+        end_at DATETIME(6) NULL,
+        title VARCHAR(200) NULL,
+        location VARCHAR(255) NULL,
+        status VARCHAR(32) NULL,
+        PRIMARY KEY (series_id, original_start_at),
+        CONSTRAINT fk_series_exception_series FOREIGN KEY (series_id) REFERENCES event_series (id) ON DELETE CASCADE
+);
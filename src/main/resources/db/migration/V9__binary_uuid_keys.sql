@@ -0,0 +1,28 @@
+-- Ids UUID de VARCHAR(36) (hasta 37 bytes, y repetidos en cada índice secundario como puntero al clúster)
+-- a BINARY(16). Los ids existentes (v1/v4) se conservan: la API sigue devolviendo el mismo texto canónico.
+-- Los nuevos son UUIDv7 (crecientes en el tiempo), que se insertan al final del índice clúster.
+-- UUID_TO_BIN sin swap_flag: el orden de bytes coincide con el del texto y ya es temporal en v7
+
+ALTER TABLE event_series_exception DROP FOREIGN KEY fk_series_exception_series;
+
+-- event
+ALTER TABLE event ADD COLUMN id_bin BINARY(16) NULL;
+UPDATE event SET id_bin = UUID_TO_BIN(id);
+ALTER TABLE event DROP PRIMARY KEY, DROP COLUMN id;
+ALTER TABLE event CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (id);
+
+-- event_series
+ALTER TABLE event_series ADD COLUMN id_bin BINARY(16) NULL;
+UPDATE event_series SET id_bin = UUID_TO_BIN(id);
+ALTER TABLE event_series DROP PRIMARY KEY, DROP COLUMN id;
+ALTER TABLE event_series CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (id);
+
+-- event_series_exception
+ALTER TABLE event_series_exception ADD COLUMN series_id_bin BINARY(16) NULL;
+UPDATE event_series_exception SET series_id_bin = UUID_TO_BIN(series_id);
+ALTER TABLE event_series_exception DROP PRIMARY KEY, DROP COLUMN series_id;
+ALTER TABLE event_series_exception CHANGE COLUMN series_id_bin series_id BINARY(16) NOT NULL FIRST,
+        ADD PRIMARY KEY (series_id, original_start_at);
+
+ALTER TABLE event_series_exception
+        ADD CONSTRAINT fk_series_exception_series FOREIGN KEY (series_id) REFERENCES event_series (id) ON DELETE CASCADE;
@@ -0,0 +1,243 @@
+package com.tfm.bandas.events.load;
+
+import com.tfm.bandas.events.service.impl.EventCache;
+import com.tfm.bandas.events.utils.Uuids;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Arnés de carga extremo a extremo: arranca la aplicación completa (Flyway incluido) contra un MySQL local,
+ * completa la tabla event hasta load.rows con datos sintéticos y lanza carga en bucle cerrado contra cada
+ * endpoint con load.concurrency clientes. Informa p50/p90/p99 por endpoint y deja el CSV en target/load-report.csv;
+ * el ritmo de inserción de la carga inicial y el tamaño de cada índice de event van a target/load-storage.csv.
+ * Por escenario se anotan también los aciertos de la caché de eventos, los bloqueos de hilos virtuales
+ * (events.vthreads.pinned) y las esperas agotadas del pool de Hikari.
+ * <p>
+ * Excluido del build normal: {@code mvn -Pload test} (LOAD_DB_URL, LOAD_ROWS, LOAD_CONCURRENCY, LOAD_DURATION).
+ * Para comparar hilos de plataforma y virtuales se repite con LOAD_VIRTUAL_THREADS=false y =true.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load")
+@Import(StubJwtConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventsLoadTest {
+
+  // Los datos se reparten en ±5 años alrededor del arranque
+  private static final Duration DATA_SPAN = Duration.ofDays(3650);
+  // GET /{id}: pocos ids repetidos (aciertos de caché) frente a una muestra mayor que events.cache.max-size (fallos)
+  private static final int HOT_IDS = 20;
+  private static final int COLD_IDS = 100_000;
+
+  @LocalServerPort int port;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired MeterRegistry registry;
+
+  @Value("${load.rows}") long rows;
+  @Value("${load.concurrency}") int concurrency;
+  @Value("${load.warmup}") Duration warmup;
+  @Value("${load.duration}") Duration duration;
+  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads;
+
+  private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+  private final Instant center = Instant.now().truncatedTo(ChronoUnit.DAYS);
+  private List<String> hotIds;
+  private List<String> coldIds;
+
+  @BeforeAll
+  void seed() throws IOException {
+    long started = System.nanoTime();
+    var generator = new SyntheticEventGenerator(jdbc);
+    var seeded = generator.ensureRows(rows, center, DATA_SPAN);
+    System.out.printf("event table ready: %d rows (%d s)%n", seeded.total(),
+        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+
+    // Ritmo de inserción y tamaño de índices para comparar esquemas (p. ej. ids VARCHAR(36) frente a BINARY(16)).
+    // El ritmo de inserción solo es comparable partiendo de la tabla vacía
+    List<String> storage = new ArrayList<>();
+    storage.add("metric,value");
+    if (seeded.inserted() > 0) {
+      System.out.printf(Locale.ROOT, "inserted %d rows at %.0f rows/s%n", seeded.inserted(), seeded.rowsPerSecond());
+      storage.add(String.format(Locale.ROOT, "insert_rows_per_s,%.0f", seeded.rowsPerSecond()));
+    }
+    for (String[] index : generator.indexSizes()) {
+      System.out.printf("index %-32s %14s bytes%n", index[0], index[1]);
+      storage.add("index_bytes." + index[0] + "," + index[1]);
+    }
+    Files.createDirectories(Path.of("target"));
+    Files.write(Path.of("target", "load-storage.csv"), storage);
+
+    List<String> ids = jdbc.query("select id from event order by rand() limit ?",
+        (rs, i) -> Uuids.fromBytes(rs.getBytes(1)), HOT_IDS + COLD_IDS);
+    hotIds = ids.subList(0, Math.min(HOT_IDS, ids.size()));
+    coldIds = ids.subList(hotIds.size(), ids.size());
+  }
+
+  @Test
+  void endpointsUnderLoad() throws InterruptedException {
+    Map<String, Supplier<HttpRequest>> scenarios = new LinkedHashMap<>();
+    scenarios.put("GET /{id} cached", () -> get("/api/events/" + pick(hotIds), StubJwtConfig.MUSICIAN_TOKEN));
+    scenarios.put("GET /{id} uncached", () -> get("/api/events/" + pick(coldIds), StubJwtConfig.MUSICIAN_TOKEN));
+    scenarios.put("GET /api/events", () -> get("/api/events?" + window(30) + "&size=20", StubJwtConfig.MUSICIAN_TOKEN));
+    scenarios.put("GET /api/events cursor", () -> get("/api/events?" + window(30) + "&cursor=&size=20", StubJwtConfig.MUSICIAN_TOKEN));
+    scenarios.put("GET /calendar", () -> get("/api/events/calendar?" + window(31) + "&size=200", StubJwtConfig.MUSICIAN_TOKEN));
+    scenarios.put("GET /public/calendar", () -> get("/api/events/public/calendar?" + window(31) + "&size=200", null));
+    scenarios.put("GET /calendar/summary", () -> get("/api/events/calendar/summary?" + dateWindow(31), StubJwtConfig.MUSICIAN_TOKEN));
+    scenarios.put("GET /search", () -> get("/api/events/search?q=" + encode(searchText()) + "&size=20", StubJwtConfig.MUSICIAN_TOKEN));
+    scenarios.put("POST /api/events", this::create);
+
+    LatencyReport report = new LatencyReport();
+    for (var scenario : scenarios.entrySet()) {
+      run(scenario.getValue(), warmup, report.newHistogram(), new LongAdder());
+      Histogram histogram = report.newHistogram();
+      LongAdder errors = new LongAdder();
+      LatencyReport.Counters before = counters();
+      Duration elapsed = run(scenario.getValue(), duration, histogram, errors);
+      report.add(scenario.getKey(), histogram, errors, elapsed, counters().minus(before));
+    }
+
+    System.out.printf("%nLoad test: %d rows, %d clients, %s per endpoint, %s threads%n%s", rows, concurrency, duration,
+        virtualThreads ? "virtual" : "platform", report.table());
+    report.writeCsv(Path.of("target", "load-report.csv"));
+    assertTrue(report.table().lines().count() > 1);
+  }
+
+  // Bucle cerrado: cada cliente lanza la siguiente petición al recibir la respuesta anterior
+  private Duration run(Supplier<HttpRequest> request, Duration length, Histogram histogram, LongAdder errors)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + length.toNanos();
+    long started = System.nanoTime();
+    ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      clients.execute(() -> {
+        while (System.nanoTime() < deadline) {
+          long t0 = System.nanoTime();
+          try {
+            HttpResponse<Void> response = http.send(request.get(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) errors.increment();
+          } catch (Exception e) {
+            errors.increment();
+          }
+          histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t0));
+        }
+      });
+    }
+    clients.shutdown();
+    clients.awaitTermination(length.toSeconds() + 60, TimeUnit.SECONDS);
+    return Duration.ofNanos(System.nanoTime() - started);
+  }
+
+  private LatencyReport.Counters counters() {
+    return new LatencyReport.Counters(
+        total("cache.gets", "cache", EventCache.NAME, "result", "hit"),
+        total("cache.gets", "cache", EventCache.NAME, "result", "miss"),
+        total("events.vthreads.pinned"),
+        total("hikaricp.connections.timeout"));
+  }
+
+  // Suma de todos los medidores con ese nombre y etiquetas (contadores y FunctionCounter de Caffeine)
+  private long total(String name, String... tags) {
+    double sum = 0;
+    for (Meter meter : registry.find(name).tags(tags).meters()) {
+      for (Measurement m : meter.measure()) sum += m.getValue();
+    }
+    return (long) sum;
+  }
+
+  private static String pick(List<String> ids) {
+    return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+  }
+
+  private HttpRequest get(String path, String token) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).GET();
+    if (token != null) builder.header("Authorization", "Bearer " + token);
+    return builder.build();
+  }
+
+  private HttpRequest create() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Instant start = center.plus(random.nextLong(1, 365 * 24), ChronoUnit.HOURS);
+    String body = """
+        {"title":"Ensayo carga %d","description":"Generado por el arnés de carga","location":"%s",
+         "type":"REHEARSAL","visibility":"BAND_ONLY","startAt":"%s","endAt":"%s"}
+        """.formatted(random.nextInt(1_000_000),
+        SyntheticEventGenerator.LOCATIONS[random.nextInt(SyntheticEventGenerator.LOCATIONS.length)],
+        start, start.plus(2, ChronoUnit.HOURS));
+    return HttpRequest.newBuilder(uri("/api/events"))
+        .header("Authorization", "Bearer " + StubJwtConfig.ADMIN_TOKEN)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  // Ventana aleatoria de días dentro del rango de datos
+  private String window(int days) {
+    long maxOffset = DATA_SPAN.toDays() - days;
+    Instant from = center.minus(DATA_SPAN.dividedBy(2)).plus(ThreadLocalRandom.current().nextLong(maxOffset), ChronoUnit.DAYS);
+    return "from=" + from + "&to=" + from.plus(days, ChronoUnit.DAYS);
+  }
+
+  private String dateWindow(int days) {
+    Instant from = center.minus(DATA_SPAN.dividedBy(2))
+        .plus(ThreadLocalRandom.current().nextLong(DATA_SPAN.toDays() - days), ChronoUnit.DAYS);
+    LocalDate day = LocalDate.ofInstant(from, ZoneOffset.UTC);
+    return "from=" + day + "&to=" + day.plusDays(days - 1);
+  }
+
+  private static String searchText() {
+    List<String> words = new ArrayList<>(List.of(SyntheticEventGenerator.TITLE_WORDS));
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return random.nextBoolean()
+        ? words.get(random.nextInt(words.size()))
+        : words.get(random.nextInt(words.size())) + " " + words.get(random.nextInt(words.size()));
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private static String encode(String s) {
+    return URLEncoder.encode(s, StandardCharsets.UTF_8);
+  }
+}
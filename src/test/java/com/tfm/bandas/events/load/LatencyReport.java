@@ -0,0 +1,84 @@
+package com.tfm.bandas.events.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencias por endpoint (HdrHistogram, en microsegundos) y tabla final p50/p90/p99/max, con los contadores
+// de la aplicación que cambian durante cada escenario
+public class LatencyReport {
+
+  // Diferencia de contadores de Micrometer durante la medición de un escenario
+  public record Counters(long cacheHits, long cacheMisses, long pinned, long poolTimeouts) {
+    public Counters minus(Counters before) {
+      return new Counters(cacheHits - before.cacheHits, cacheMisses - before.cacheMisses,
+          pinned - before.pinned, poolTimeouts - before.poolTimeouts);
+    }
+
+    double cacheHitPercent() {
+      long gets = cacheHits + cacheMisses;
+      return gets == 0 ? 0 : cacheHits * 100.0 / gets;
+    }
+  }
+
+  private record Entry(Histogram histogram, LongAdder errors, Duration elapsed, Counters counters) {}
+
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+  public Histogram newHistogram() {
+    // Hasta 60 s con 3 cifras significativas
+    return new ConcurrentHistogram(60_000_000L, 3);
+  }
+
+  public void add(String endpoint, Histogram histogram, LongAdder errors, Duration elapsed, Counters counters) {
+    entries.put(endpoint, new Entry(histogram, errors, elapsed, counters));
+  }
+
+  public String table() {
+    var sb = new StringBuilder(String.format("%-24s %10s %8s %9s %9s %9s %9s %9s %7s %7s %8s%n",
+        "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "hit %", "pinned", "pool t/o"));
+    for (String line : rows(" ")) sb.append(line).append('\n');
+    return sb.toString();
+  }
+
+  public void writeCsv(Path file) {
+    List<String> lines = new ArrayList<>();
+    lines.add("endpoint,requests,errors,req_per_s,p50_ms,p90_ms,p99_ms,max_ms,cache_hit_pct,pinned,pool_timeouts");
+    lines.addAll(rows(","));
+    try {
+      Files.createDirectories(file.getParent());
+      Files.write(file, lines);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private List<String> rows(String sep) {
+    List<String> out = new ArrayList<>();
+    entries.forEach((endpoint, e) -> {
+      Histogram h = e.histogram();
+      double seconds = e.elapsed().toMillis() / 1000.0;
+      String fmt = " ".equals(sep)
+          ? "%-24s %10d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7.1f %7d %8d"
+          : "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.1f,%d,%d";
+      Counters c = e.counters();
+      out.add(String.format(Locale.ROOT, fmt, endpoint, h.getTotalCount(), e.errors().sum(),
+          h.getTotalCount() / seconds,
+          h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+          h.getValueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0,
+          c.cacheHitPercent(), c.pinned(), c.poolTimeouts()));
+    });
+    return out;
+  }
+}
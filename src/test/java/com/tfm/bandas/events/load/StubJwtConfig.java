@@ -0,0 +1,41 @@
+package com.tfm.bandas.events.load;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+// Sustituye al decoder de Keycloak: el token "admin" o "musician" se convierte en un JWT con ese rol de realm
+@TestConfiguration
+public class StubJwtConfig {
+
+  public static final String ADMIN_TOKEN = "admin";
+  public static final String MUSICIAN_TOKEN = "musician";
+
+  // @Primary: SecurityConfig también define un JwtDecoder (el que verifica contra el JWK set de Keycloak)
+  @Bean
+  @Primary
+  JwtDecoder stubJwtDecoder() {
+    return token -> {
+      String role = switch (token) {
+        case ADMIN_TOKEN -> "ADMIN";
+        case MUSICIAN_TOKEN -> "MUSICIAN";
+        default -> throw new BadJwtException("Unknown load-test token");
+      };
+      Instant now = Instant.now();
+      return Jwt.withTokenValue(token)
+          .header("alg", "none")
+          .subject("load-" + token)
+          .issuedAt(now)
+          .expiresAt(now.plusSeconds(3600))
+          .claim("realm_access", Map.of("roles", List.of(role)))
+          .build();
+    };
+  }
+}
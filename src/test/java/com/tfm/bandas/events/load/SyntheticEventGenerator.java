@@ -0,0 +1,152 @@
+package com.tfm.bandas.events.load;
+
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import com.tfm.bandas.events.utils.Uuids;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Genera filas de event con una distribución parecida a la real: sobre todo ensayos, pocas ubicaciones muy
+ * repetidas, títulos con vocabulario de banda (para que FULLTEXT tenga algo que buscar). Se inserta por JDBC
+ * en lotes, sin pasar por JPA, y con semilla fija para que las ejecuciones sean comparables.
+ */
+public class SyntheticEventGenerator {
+
+  static final String[] TITLE_WORDS = {
+      "ensayo", "general", "concierto", "procesión", "pasacalles", "santa", "cecilia", "navidad", "primavera",
+      "metales", "percusión", "clarinetes", "saxofones", "marcha", "pasodoble", "fiestas", "patronales", "reunión"};
+  static final String[] LOCATIONS = new String[40];
+  static {
+    for (int i = 0; i < LOCATIONS.length; i++) LOCATIONS[i] = "Sala " + (char) ('A' + i % 26) + (i / 26 + 1);
+    LOCATIONS[0] = "Auditorio Municipal";
+    LOCATIONS[1] = "Plaza Mayor";
+    LOCATIONS[2] = "Local de ensayo";
+  }
+
+  private static final int BATCH = 5_000;
+
+  private final JdbcTemplate jdbc;
+  private final Random random = new Random(42);
+
+  // inserted/insertTime: rendimiento de la inserción en lotes (solo la carga de event)
+  public record Seeded(long total, long inserted, Duration insertTime) {
+    public double rowsPerSecond() {
+      return insertTime.isZero() ? 0 : inserted * 1_000_000_000.0 / insertTime.toNanos();
+    }
+  }
+
+  public SyntheticEventGenerator(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  // Completa hasta rows filas repartidas en [center - span/2, center + span/2); reutiliza lo ya cargado
+  public Seeded ensureRows(long rows, Instant center, Duration span) {
+    Long existing = jdbc.queryForObject("select count(*) from event", Long.class);
+    long missing = rows - (existing == null ? 0 : existing);
+    if (missing <= 0) return new Seeded(existing, 0, Duration.ZERO);
+
+    Instant first = center.minus(span.dividedBy(2));
+    long spanSeconds = span.toSeconds();
+    long started = System.nanoTime();
+    List<Object[]> batch = new ArrayList<>(BATCH);
+    for (long i = 0; i < missing; i++) {
+      batch.add(row(first.plusSeconds((long) (random.nextDouble() * spanSeconds))));
+      if (batch.size() == BATCH) {
+        insert(batch);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) insert(batch);
+    Duration insertTime = Duration.ofNanos(System.nanoTime() - started);
+    rebuildDaySummary();
+    return new Seeded(rows, missing, insertTime);
+  }
+
+  // Tamaño de cada índice tras ANALYZE (páginas * innodb_page_size); PRIMARY es el clúster, es decir, los datos
+  public List<String[]> indexSizes() {
+    jdbc.execute("analyze table event");
+    return jdbc.query("""
+        select index_name, stat_value * @@innodb_page_size
+        from mysql.innodb_index_stats
+        where database_name = database() and table_name = 'event' and stat_name = 'size'
+        order by index_name
+        """, (rs, i) -> new String[] {rs.getString(1), rs.getString(2)});
+  }
+
+  // Las filas no pasan por el servicio: el resumen diario se recalcula por día UTC (events.calendar.time-zone del perfil load)
+  private void rebuildDaySummary() {
+    jdbc.update("delete from event_day_summary");
+    jdbc.update("""
+        insert into event_day_summary (day, visibility, type, status, event_count)
+        select date(start_at), visibility, type, status, count(*)
+        from event
+        group by date(start_at), visibility, type, status
+        """);
+  }
+
+  private void insert(List<Object[]> batch) {
+    jdbc.batchUpdate("""
+        insert into event (id, version, title, description, start_at, end_at, location, type, status, visibility,
+                           created_at, updated_at)
+        values (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """, batch);
+  }
+
+  private Object[] row(Instant start) {
+    EventType type = pickType();
+    Instant end = start.plus(Duration.ofMinutes(type == EventType.PERFORMANCE ? 150 : 90 + random.nextInt(4) * 15));
+    LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+    // Ids como los de la aplicación (UUIDv7 en BINARY(16)), en orden de generación
+    return new Object[] {
+        Uuids.toBytes(Uuids.v7()),
+        title(type),
+        random.nextInt(3) == 0 ? null : description(),
+        LocalDateTime.ofInstant(start, ZoneOffset.UTC),
+        LocalDateTime.ofInstant(end, ZoneOffset.UTC),
+        LOCATIONS[Math.min(LOCATIONS.length - 1, (int) Math.abs(random.nextGaussian() * 8))],
+        type.name(),
+        random.nextInt(20) == 0 ? EventStatus.CANCELED.name() : EventStatus.SCHEDULED.name(),
+        random.nextInt(4) == 0 ? EventVisibility.PUBLIC.name() : EventVisibility.BAND_ONLY.name(),
+        now,
+        now
+    };
+  }
+
+  private EventType pickType() {
+    int r = random.nextInt(100);
+    if (r < 65) return EventType.REHEARSAL;
+    if (r < 85) return EventType.PERFORMANCE;
+    if (r < 95) return EventType.MEETING;
+    return EventType.OTHER;
+  }
+
+  private String title(EventType type) {
+    String prefix = switch (type) {
+      case REHEARSAL -> "Ensayo";
+      case PERFORMANCE -> "Concierto";
+      case MEETING -> "Reunión";
+      case OTHER -> "Actividad";
+    };
+    return prefix + " " + word() + " " + word();
+  }
+
+  private String description() {
+    var sb = new StringBuilder();
+    int words = 8 + random.nextInt(20);
+    for (int i = 0; i < words; i++) sb.append(i == 0 ? "" : " ").append(word());
+    return sb.toString();
+  }
+
+  String word() {
+    return TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+  }
+}
@@ -0,0 +1,90 @@
+package com.tfm.bandas.events.model.specification;
+
+import com.tfm.bandas.events.model.entity.EventEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventSpecificationsTest {
+
+  @Test
+  void stopwordsAndShortTokensAreNotRequired() {
+    assertThat(EventSpecifications.toBooleanModeQuery("ensayo de la banda")).isEqualTo("+ensayo* +banda*");
+    assertThat(EventSpecifications.toBooleanModeQuery("Concierto en el auditorio")).isEqualTo("+Concierto* +auditorio*");
+  }
+
+  @Test
+  void operatorsAreStripped() {
+    assertThat(EventSpecifications.toBooleanModeQuery("+ensayo -general \"banda\"")).isEqualTo("+ensayo* +general* +banda*");
+  }
+
+  @Test
+  void onlyInsignificantWordsMatchNothing() {
+    assertThat(EventSpecifications.toBooleanModeQuery("de la")).isEmpty();
+    assertThat(EventSpecifications.toBooleanModeQuery("  ")).isNull();
+    assertThat(EventSpecifications.text("de la")).isNotNull();
+    assertThat(EventSpecifications.<EventEntity>orderByRelevance("de la", Sort.unsorted())).isNull();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void relevanceComesFirstAndRequestedSortBreaksTies() {
+    Root<EventEntity> root = mock(Root.class);
+    CriteriaQuery<Object> query = mock(CriteriaQuery.class);
+    CriteriaBuilder cb = mock(CriteriaBuilder.class);
+    Expression<Double> match = mock(Expression.class);
+    Path<Object> title = mock(Path.class);
+    Path<Object> startAt = mock(Path.class);
+    Path<Object> id = mock(Path.class);
+    Order byMatch = mock(Order.class);
+    Order byTitle = mock(Order.class);
+    Order byStart = mock(Order.class);
+    Order byId = mock(Order.class);
+    doReturn(EventEntity.class).when(query).getResultType();
+    doReturn(title).when(root).get("title");
+    doReturn(startAt).when(root).get("startAt");
+    doReturn(id).when(root).get("id");
+    when(cb.function(anyString(), eq(Double.class), any(Expression[].class))).thenReturn(match);
+    when(cb.desc(match)).thenReturn(byMatch);
+    when(cb.desc(title)).thenReturn(byTitle);
+    when(cb.asc(startAt)).thenReturn(byStart);
+    when(cb.asc(id)).thenReturn(byId);
+
+    EventSpecifications.<EventEntity>orderByRelevance("ensayo", Sort.by(Sort.Direction.DESC, "title")).toPredicate(root, query, cb);
+
+    ArgumentCaptor<List<Order>> orders = ArgumentCaptor.forClass(List.class);
+    verify(query).orderBy(orders.capture());
+    assertThat(orders.getValue()).containsExactly(byMatch, byTitle, byStart, byId);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void countQueryIsNotOrdered() {
+    Root<EventEntity> root = mock(Root.class);
+    CriteriaQuery<Object> query = mock(CriteriaQuery.class);
+    CriteriaBuilder cb = mock(CriteriaBuilder.class);
+    doReturn(Long.class).when(query).getResultType();
+
+    EventSpecifications.<EventEntity>orderByRelevance("ensayo", Sort.unsorted()).toPredicate(root, query, cb);
+
+    verify(query, never()).orderBy(any(List.class));
+  }
+}
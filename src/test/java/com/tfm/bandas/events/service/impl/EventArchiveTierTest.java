@@ -0,0 +1,51 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventArchiveProperties;
+import com.tfm.bandas.events.model.repository.EventArchiveRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventArchiveTierTest {
+
+  private final EventArchiveRepository archiveRepo = mock(EventArchiveRepository.class);
+
+  @Test
+  void archiveFilledByAnotherInstanceIsSeenAfterRefresh() throws InterruptedException {
+    EventArchiveTier tier = new EventArchiveTier(props(false, Duration.ofMillis(50)), archiveRepo);
+    assertThat(tier.mayContainAny()).isFalse();
+
+    Instant archived = Instant.now().minus(Duration.ofDays(200));
+    when(archiveRepo.maxEndAt()).thenReturn(archived);
+    assertThat(tier.mayContainAny()).isFalse();
+    Thread.sleep(60);
+
+    // Con archivo, now - after cubre lo que se archive hasta la siguiente relectura
+    assertThat(tier.horizon()).isAfter(archived).isAfter(Instant.now().minus(Duration.ofDays(181)));
+    verify(archiveRepo, times(2)).maxEndAt();
+  }
+
+  @Test
+  void archivedMaxBeyondAfterIsKept() {
+    Instant archived = Instant.now().minus(Duration.ofDays(10));
+    when(archiveRepo.maxEndAt()).thenReturn(archived);
+    EventArchiveTier tier = new EventArchiveTier(props(true, Duration.ofMinutes(1)), archiveRepo);
+
+    assertThat(tier.horizon()).isAfter(archived);
+    assertThat(tier.reachesStart(archived)).isTrue();
+    assertThat(tier.reachesStart(Instant.now())).isFalse();
+    tier.horizon();
+    verify(archiveRepo, times(1)).maxEndAt();
+  }
+
+  private static EventArchiveProperties props(boolean enabled, Duration refresh) {
+    return new EventArchiveProperties(enabled, Duration.ofDays(180), Duration.ofHours(1), 1000, refresh);
+  }
+}
@@ -0,0 +1,73 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.config.EventCacheProperties;
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sin transacción activa, putAfterCommit/evictAfterCommit se aplican en el acto
+class EventCacheTest {
+
+  private final EventCache cache = new EventCache(new EventCacheProperties(true, 100, Duration.ofMinutes(5)),
+      new SimpleMeterRegistry());
+
+  @Test
+  void loadThatStartedBeforeDeleteIsNotCached() {
+    AtomicInteger loads = new AtomicInteger();
+    EventDTO loaded = cache.get("e1", id -> {
+      loads.incrementAndGet();
+      // El borrado se confirma mientras la lectura sigue en curso
+      cache.evictAfterCommit(id);
+      return event(id, 3);
+    });
+
+    assertThat(loaded.version()).isEqualTo(3);
+    cache.get("e1", id -> {
+      loads.incrementAndGet();
+      return event(id, 3);
+    });
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void loadThatStartedBeforeUpdateKeepsNewVersion() {
+    EventDTO loaded = cache.get("e1", id -> {
+      cache.putAfterCommit(event(id, 4));
+      return event(id, 3);
+    });
+
+    assertThat(loaded.version()).isEqualTo(4);
+    assertThat(cache.get("e1", id -> event(id, 0)).version()).isEqualTo(4);
+  }
+
+  @Test
+  void loadAfterEvictIsCached() {
+    cache.putAfterCommit(event("e1", 1));
+    cache.evictAfterCommit("e1");
+    cache.get("e1", id -> event(id, 1));
+
+    assertThat(cache.get("e1", id -> event(id, 0)).version()).isEqualTo(1);
+  }
+
+  @Test
+  void reloadNeverReplacesNewerEntry() {
+    cache.putAfterCommit(event("e1", 5));
+
+    assertThat(cache.reload("e1", id -> event(id, 4)).version()).isEqualTo(5);
+  }
+
+  private static EventDTO event(String id, int version) {
+    Instant start = Instant.parse("2026-05-01T18:00:00Z");
+    return new EventDTO(id, version, "Ensayo", null, "Local de ensayo", EventType.REHEARSAL, EventStatus.SCHEDULED,
+        EventVisibility.BAND_ONLY, start, start.plus(Duration.ofHours(2)));
+  }
+}
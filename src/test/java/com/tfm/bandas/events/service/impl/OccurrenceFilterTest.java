@@ -0,0 +1,48 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OccurrenceFilterTest {
+
+  private static final Instant T0 = Instant.parse("2026-05-01T18:00:00Z");
+
+  private static final EventDTO REHEARSAL = new EventDTO("0190a000-0000-7000-8000-000000000001_20260501T180000Z", 0,
+      "Ensayo general", "Repertorio de Semana Santa", "Salón de actos", EventType.REHEARSAL, EventStatus.SCHEDULED,
+      EventVisibility.BAND_ONLY, T0, T0.plus(Duration.ofHours(2)));
+
+  @Test
+  void textTermsArePrefixesOfAnyFieldIgnoringAccents() {
+    assertThat(filter("ensa SEMANA salon", null, null)).accepts(REHEARSAL);
+    assertThat(filter("ensayo concierto", null, null)).rejects(REHEARSAL);
+    // "general" está en el título, no en la descripción
+    assertThat(filter(null, null, "general")).rejects(REHEARSAL);
+    assertThat(filter(null, "géner", null)).accepts(REHEARSAL);
+  }
+
+  @Test
+  void queryWithoutSignificantTermsMatchesNothing() {
+    assertThat(filter("de", null, null)).rejects(REHEARSAL);
+    assertThat(filter(null, null, null)).accepts(REHEARSAL);
+  }
+
+  @Test
+  void locationIsAFoldedSubstringAndEnumsMustMatch() {
+    assertThat(OccurrenceFilter.of(null, null, null, "LON DE", null, null, null)).accepts(REHEARSAL);
+    assertThat(OccurrenceFilter.of(null, null, null, "Teatro", null, null, null)).rejects(REHEARSAL);
+    assertThat(OccurrenceFilter.of(null, null, null, null, EventType.PERFORMANCE, null, null)).rejects(REHEARSAL);
+    assertThat(OccurrenceFilter.of(null, null, null, null, null, null, EventVisibility.PUBLIC)).rejects(REHEARSAL);
+  }
+
+  private static OccurrenceFilter filter(String qText, String title, String description) {
+    return OccurrenceFilter.of(qText, title, description, null, null, null, null);
+  }
+}
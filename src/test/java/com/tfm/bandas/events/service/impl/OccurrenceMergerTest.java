@@ -0,0 +1,142 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.tfm.bandas.events.utils.CursorUtils.KEYSET_ASC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OccurrenceMergerTest {
+
+  private static final Instant T0 = Instant.parse("2026-05-01T18:00:00Z");
+
+  @Test
+  void mergeSortedKeepsFirstListFirstOnTies() {
+    Comparator<int[]> byValue = Comparator.comparingInt(a -> a[0]);
+    int[] a1 = {1}, a2 = {3}, b1 = {1}, b2 = {2}, b3 = {4};
+
+    assertThat(OccurrenceMerger.mergeSorted(List.of(a1, a2), List.of(b1, b2, b3), byValue))
+        .containsExactly(a1, b1, b2, a2, b3);
+    assertThat(OccurrenceMerger.mergeSorted(List.of(), List.of(b1), byValue)).containsExactly(b1);
+  }
+
+  @Test
+  void pagesMatchFullSortOfRowsAndOccurrences() {
+    List<EventDTO> rows = new ArrayList<>();
+    for (int i = 0; i < 23; i++) rows.add(event(id(i), "Ensayo " + i, T0.plus(Duration.ofHours(2L * i))));
+    List<EventDTO> occurrences = List.of(
+        event(id(100), "Serie", T0.minus(Duration.ofHours(1))),
+        event(id(101), "Serie", T0.plus(Duration.ofHours(7))),
+        event(id(102), "Serie", T0.plus(Duration.ofHours(20))),
+        event(id(103), "Serie", T0.plus(Duration.ofDays(30))));
+    Sort sort = Sort.by("startAt");
+    Comparator<EventDTO> order = OccurrenceMerger.comparator(OccurrenceMerger.totalOrder(sort), OccurrenceMerger.EVENT_KEYS);
+    List<EventDTO> expected = new ArrayList<>(rows);
+    expected.addAll(occurrences);
+    expected.sort(order);
+
+    List<EventDTO> paged = new ArrayList<>();
+    for (int page = 0; ; page++) {
+      OccurrenceMerger.Chunk<EventDTO> chunk = OccurrenceMerger.merge(occurrences, OccurrenceMerger.EVENT_KEYS,
+          PageRequest.of(page, 5, sort), db(rows));
+      paged.addAll(chunk.content());
+      if (!chunk.hasNext()) break;
+    }
+
+    assertThat(paged).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void cursorPagesResumeAfterTheLastOccurrence() {
+    String series = id(7);
+    List<EventDTO> occurrences = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      Instant start = T0.plus(Duration.ofDays(7L * i));
+      occurrences.add(event(series + "_" + i, "Serie", start));
+    }
+    // La posición de una fila con el mismo startAt que una ocurrencia la deja fuera solo si su id es menor
+    occurrences.add(event(id(1) + "_x", "Serie", T0));
+
+    List<EventDTO> paged = new ArrayList<>();
+    ScrollPosition position = ScrollPosition.keyset();
+    Window<EventDTO> window;
+    do {
+      window = OccurrenceMerger.after(occurrences, OccurrenceMerger.EVENT_KEYS, KEYSET_ASC, position, 3);
+      paged.addAll(window.getContent());
+      if (!window.isEmpty()) position = window.positionAt(window.size() - 1);
+    } while (window.hasNext());
+
+    assertThat(paged).containsExactlyElementsOf(
+        occurrences.stream().sorted(OccurrenceMerger.comparator(KEYSET_ASC, OccurrenceMerger.EVENT_KEYS)).toList());
+  }
+
+  @Test
+  void textFollowsColumnCollation() {
+    Comparator<EventDTO> byTitle = OccurrenceMerger.comparator(Sort.by("title"), OccurrenceMerger.EVENT_KEYS);
+
+    // utf8mb4_unicode_ci ignora acentos y mayúsculas
+    assertThat(byTitle.compare(event(id(1), "Ávila", T0), event(id(2), "avila", T0))).isZero();
+    assertThat(byTitle.compare(event(id(1), "Ávila", T0), event(id(2), "Bilbao", T0))).isNegative();
+    assertThat(byTitle.compare(event(id(1), "ensayo", T0), event(id(2), "Éxito", T0))).isNegative();
+  }
+
+  @Test
+  void locationKeysMatchColumnEquality() {
+    assertThat(OccurrenceMerger.locationKey("Salón de actos  ")).isEqualTo(OccurrenceMerger.locationKey("SALON DE ACTOS"));
+    assertThat(OccurrenceMerger.locationKey("Salón de actos")).isNotEqualTo(OccurrenceMerger.locationKey("Salones de actos"));
+  }
+
+  @Test
+  void idsCompareAsBytes() {
+    Comparator<EventDTO> byId = OccurrenceMerger.comparator(Sort.by("id"), OccurrenceMerger.EVENT_KEYS);
+
+    assertThat(byId.compare(event("0190a000-0000-7000-8000-00000000000a", "x", T0),
+        event("0190a000-0000-7000-8000-000000000009", "x", T0))).isPositive();
+  }
+
+  @Test
+  void unsupportedSortIsRejectedWithoutData() {
+    assertThatThrownBy(() -> OccurrenceMerger.checkSort(Sort.by("createdAt"), OccurrenceMerger.EVENT_KEYS))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> OccurrenceMerger.checkSort(Sort.by("visibility"), OccurrenceMerger.CALENDAR_KEYS))
+        .isInstanceOf(BadRequestException.class);
+    OccurrenceMerger.checkSort(Sort.by("visibility"), OccurrenceMerger.EVENT_KEYS);
+  }
+
+  // Simula la consulta paginada de la BD sobre filas ya ordenadas
+  private static Function<Pageable, Slice<EventDTO>> db(List<EventDTO> sortedRows) {
+    return p -> {
+      int from = (int) Math.min(sortedRows.size(), p.getOffset());
+      int to = Math.min(sortedRows.size(), from + p.getPageSize());
+      return new SliceImpl<>(sortedRows.subList(from, to), p, to < sortedRows.size());
+    };
+  }
+
+  private static String id(int n) {
+    return String.format("0190a000-0000-7000-8000-%012x", n);
+  }
+
+  private static EventDTO event(String id, String title, Instant start) {
+    return new EventDTO(id, 0, title, null, "Local de ensayo", EventType.REHEARSAL, EventStatus.SCHEDULED,
+        EventVisibility.BAND_ONLY, start, start.plus(Duration.ofHours(2)));
+  }
+}
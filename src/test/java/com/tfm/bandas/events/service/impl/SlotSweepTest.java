@@ -0,0 +1,73 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.service.impl.SlotSweep.Overlap;
+import com.tfm.bandas.events.service.impl.SlotSweep.Slot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotSweepTest {
+
+  private static final Instant T0 = Instant.parse("2026-05-01T18:00:00Z");
+
+  @Test
+  void adjacentSlotsDoNotOverlap() {
+    assertThat(SlotSweep.firstOverlap(slots(newSlot(0, 2, 0), stored(2, 4, "a"), newSlot(4, 5, 1)))).isNull();
+  }
+
+  @Test
+  void newSlotOverlappingStoredOneIsReported() {
+    Slot item = newSlot(3, 5, 0);
+    Slot other = stored(2, 4, "a");
+
+    assertThat(SlotSweep.firstOverlap(slots(item, other))).isEqualTo(new Overlap(item, other));
+  }
+
+  @Test
+  void storedSlotStartingInsideNewOneReportsTheNewOne() {
+    Slot item = newSlot(0, 3, 0);
+    Slot other = stored(1, 2, "a");
+
+    assertThat(SlotSweep.firstOverlap(slots(other, item))).isEqualTo(new Overlap(item, other));
+  }
+
+  @Test
+  void storedSlotsAreNotCheckedAgainstEachOther() {
+    assertThat(SlotSweep.firstOverlap(slots(stored(0, 4, "a"), stored(1, 2, "b"), newSlot(5, 6, 0)))).isNull();
+  }
+
+  @Test
+  void longEarlierSlotCatchesLaterNewOnes() {
+    Slot longStored = stored(0, 10, "a");
+    Slot item = newSlot(8, 9, 1);
+
+    // La franja 2-3 termina antes que la guardada: el barrido debe seguir comparando con la que acaba más tarde
+    Overlap overlap = SlotSweep.firstOverlap(slots(longStored, stored(2, 3, "b"), item));
+
+    assertThat(overlap).isEqualTo(new Overlap(item, longStored));
+  }
+
+  @Test
+  void newSlotsOverlappingEachOtherAreReported() {
+    Slot first = newSlot(0, 4, 0);
+    Slot second = newSlot(3, 5, 1);
+
+    assertThat(SlotSweep.firstOverlap(slots(second, first))).isEqualTo(new Overlap(second, first));
+  }
+
+  private static List<Slot> slots(Slot... slots) {
+    return new ArrayList<>(List.of(slots));
+  }
+
+  private static Slot newSlot(int fromHour, int toHour, int index) {
+    return new Slot(T0.plusSeconds(fromHour * 3600L), T0.plusSeconds(toHour * 3600L), index, null);
+  }
+
+  private static Slot stored(int fromHour, int toHour, String id) {
+    return new Slot(T0.plusSeconds(fromHour * 3600L), T0.plusSeconds(toHour * 3600L), null, id);
+  }
+}
@@ -0,0 +1,187 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.dto.EventSyncChangeDTO;
+import com.tfm.bandas.events.dto.EventSyncPageDTO;
+import com.tfm.bandas.events.exception.SyncTokenExpiredException;
+import com.tfm.bandas.events.model.entity.EventEntity;
+import com.tfm.bandas.events.model.entity.EventSeriesEntity;
+import com.tfm.bandas.events.model.entity.EventTombstoneEntity;
+import com.tfm.bandas.events.utils.EventChangeType;
+import com.tfm.bandas.events.utils.RecurrenceFrequency;
+import com.tfm.bandas.events.utils.SyncToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SyncFeedTest {
+
+  private static final Instant T0 = Instant.parse("2026-05-01T18:00:00Z");
+
+  // Filas confirmadas de event, event_series y event_tombstone
+  private final List<EventEntity> events = new ArrayList<>();
+  private final List<EventSeriesEntity> series = new ArrayList<>();
+  private final List<EventTombstoneEntity> tombstones = new ArrayList<>();
+  private long clock;
+
+  @Test
+  void changeFlushedEarlierButCommittedLaterIsNotSkipped() {
+    // A hace flush antes que B (updated_at menor) pero confirma después: B recibe seq 1 y A seq 2
+    EventEntity b = event(id(2), 0, T0.plusSeconds(1));
+    commit(b);
+
+    EventSyncPageDTO first = read(null, 10);
+    assertThat(first.changes()).extracting(EventSyncChangeDTO::id).containsExactly(id(2));
+
+    EventEntity a = event(id(1), 0, T0);
+    commit(a);
+
+    EventSyncPageDTO second = read(SyncToken.decode(first.nextToken()), 10);
+    assertThat(second.changes()).extracting(EventSyncChangeDTO::id).containsExactly(id(1));
+    assertThat(read(SyncToken.decode(second.nextToken()), 10).changes()).isEmpty();
+  }
+
+  @Test
+  void tombstonesAreMergedInCommitOrder() {
+    commit(event(id(1), 0, T0));
+    commit(event(id(2), 0, T0));
+    SyncToken from = SyncToken.decode(read(null, 10).nextToken());
+    commit(tombstone(id(1), 0));
+    commit(event(id(2), 1, T0.plusSeconds(5)));
+
+    EventSyncPageDTO first = read(from, 1);
+    assertThat(first.hasMore()).isTrue();
+    assertThat(first.changes()).extracting(EventSyncChangeDTO::type).containsExactly(EventChangeType.DELETED);
+
+    EventSyncPageDTO second = read(SyncToken.decode(first.nextToken()), 1);
+    assertThat(second.hasMore()).isFalse();
+    assertThat(second.changes()).extracting(EventSyncChangeDTO::type, EventSyncChangeDTO::id)
+        .containsExactly(tuple(EventChangeType.UPDATED, id(2)));
+  }
+
+  @Test
+  void seriesChangesShareTheFlowWithEvents() {
+    commit(event(id(1), 0, T0));
+    SyncToken from = SyncToken.decode(read(null, 10).nextToken());
+    commit(series(id(2), 0));
+    commit(event(id(1), 1, T0.plusSeconds(5)), series(id(2), 1));
+    commit(tombstone(id(2), 2));
+
+    EventSyncPageDTO page = read(from, 10);
+    assertThat(page.changes()).extracting(EventSyncChangeDTO::type, EventSyncChangeDTO::id)
+        .containsExactly(tuple(EventChangeType.UPDATED, id(1)), tuple(EventChangeType.DELETED, id(2)));
+
+    commit(series(id(3), 0));
+    EventSyncChangeDTO created = read(SyncToken.decode(page.nextToken()), 10).changes().get(0);
+    assertThat(created.type()).isEqualTo(EventChangeType.CREATED);
+    assertThat(created.event()).isNull();
+    assertThat(created.series().id()).isEqualTo(id(3));
+  }
+
+  @Test
+  void rowsOfOneTransactionArePagedById() {
+    commit(event(id(3), 0, T0), event(id(1), 0, T0), event(id(2), 0, T0));
+
+    List<String> seen = new ArrayList<>();
+    SyncToken from = null;
+    EventSyncPageDTO page;
+    do {
+      page = read(from, 2);
+      page.changes().forEach(c -> seen.add(c.id()));
+      from = SyncToken.decode(page.nextToken());
+    } while (page.hasMore());
+
+    assertThat(seen).containsExactly(id(1), id(2), id(3));
+  }
+
+  @Test
+  void idleTokenMovesPastTheClock() {
+    commit(event(id(1), 0, T0));
+    SyncToken from = SyncToken.decode(read(null, 10).nextToken());
+
+    assertThat(from).isEqualTo(SyncToken.before(2));
+    assertThat(SyncToken.decode(read(from, 10).nextToken())).isEqualTo(from);
+  }
+
+  @Test
+  void tokensCoveredByCompactionExpire() {
+    EventSyncClock.State state = new EventSyncClock.State(10, 5);
+
+    assertThatThrownBy(() -> SyncFeed.checkExpired(new SyncToken(5, id(9)), state))
+        .isInstanceOf(SyncTokenExpiredException.class);
+    assertThatCode(() -> SyncFeed.checkExpired(SyncToken.before(6), state)).doesNotThrowAnyException();
+    assertThatCode(() -> SyncFeed.checkExpired(SyncToken.START, new EventSyncClock.State(10, 0))).doesNotThrowAnyException();
+  }
+
+  // Lo que hace EventSyncClock al confirmar: todas las filas de la transacción con el siguiente seq
+  private void commit(Object... rows) {
+    clock++;
+    for (Object row : rows) {
+      if (row instanceof EventEntity e) {
+        e.setSyncSeq(clock);
+        events.removeIf(other -> other.getId().equals(e.getId()));
+        events.add(e);
+      } else if (row instanceof EventSeriesEntity s) {
+        s.setSyncSeq(clock);
+        series.removeIf(other -> other.getId().equals(s.getId()));
+        series.add(s);
+      } else if (row instanceof EventTombstoneEntity t) {
+        t.setSyncSeq(clock);
+        events.removeIf(other -> other.getId().equals(t.getId()));
+        series.removeIf(other -> other.getId().equals(t.getId()));
+        tombstones.add(t);
+      }
+    }
+  }
+
+  // Mismas condiciones que EventRepository.findChangedAfter, EventSeriesRepository.findChangedAfter y
+  // EventTombstoneRepository.findDeletedAfter
+  private EventSyncPageDTO read(SyncToken from, int size) {
+    EventSyncClock.State state = new EventSyncClock.State(clock, 0);
+    SyncToken position = from == null ? SyncToken.START : from;
+    List<EventEntity> changed = events.stream()
+        .filter(e -> after(e.getSyncSeq(), e.getId(), position) && e.getSyncSeq() <= state.seq())
+        .sorted(Comparator.comparing(EventEntity::getSyncSeq).thenComparing(EventEntity::getId))
+        .limit(size + 1).toList();
+    List<EventTombstoneEntity> deleted = from == null ? List.of() : tombstones.stream()
+        .filter(t -> after(t.getSyncSeq(), t.getId(), position) && t.getSyncSeq() <= state.seq())
+        .sorted(Comparator.comparing(EventTombstoneEntity::getSyncSeq).thenComparing(EventTombstoneEntity::getId))
+        .limit(size + 1).toList();
+    List<EventSeriesEntity> changedSeries = series.stream()
+        .filter(s -> after(s.getSyncSeq(), s.getId(), position) && s.getSyncSeq() <= state.seq())
+        .sorted(Comparator.comparing(EventSeriesEntity::getSyncSeq).thenComparing(EventSeriesEntity::getId))
+        .limit(size + 1).toList();
+    return SyncFeed.page(from, state, size, changed, deleted, changedSeries, Map.of());
+  }
+
+  private static boolean after(long seq, String id, SyncToken position) {
+    return seq > position.seq() || (seq == position.seq() && id.compareTo(position.id()) > 0);
+  }
+
+  private static String id(int n) {
+    return String.format("0190a000-0000-7000-8000-%012x", n);
+  }
+
+  private static EventEntity event(String id, int version, Instant updatedAt) {
+    return EventEntity.builder().id(id).version(version).title("Ensayo").startAt(T0).endAt(T0.plusSeconds(7200))
+        .updatedAt(updatedAt).build();
+  }
+
+  private static EventSeriesEntity series(String id, int version) {
+    return EventSeriesEntity.builder().id(id).version(version).title("Ensayo semanal").timeZone("Europe/Madrid")
+        .firstStartAt(T0).untilAt(T0.plusSeconds(30 * 86400)).durationMinutes(120)
+        .frequency(RecurrenceFrequency.WEEKLY).intervalCount(1).updatedAt(T0).build();
+  }
+
+  private static EventTombstoneEntity tombstone(String id, int version) {
+    return EventTombstoneEntity.builder().id(id).version(version).deletedAt(T0).build();
+  }
+}
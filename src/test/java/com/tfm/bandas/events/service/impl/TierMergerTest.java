@@ -0,0 +1,105 @@
+package com.tfm.bandas.events.service.impl;
+
+import com.tfm.bandas.events.dto.EventDTO;
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.utils.EventStatus;
+import com.tfm.bandas.events.utils.EventType;
+import com.tfm.bandas.events.utils.EventVisibility;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TierMergerTest {
+
+  private static final Instant HORIZON = Instant.parse("2026-01-01T00:00:00Z");
+
+  // Archivo: 30 eventos antes del horizonte; event: 3 pendientes de archivar y 25 posteriores
+  private final List<EventDTO> cold = new ArrayList<>();
+  private final List<EventDTO> hot = new ArrayList<>();
+  private final List<Long> coldOffsets = new ArrayList<>();
+
+  TierMergerTest() {
+    for (int i = 0; i < 30; i++) cold.add(event(i, HORIZON.minus(Duration.ofDays(60 - 2L * i))));
+    for (int i = 0; i < 3; i++) hot.add(event(100 + i, HORIZON.minus(Duration.ofDays(31 - 2L * i))));
+    for (int i = 0; i < 25; i++) hot.add(event(200 + i, HORIZON.plus(Duration.ofDays(i))));
+  }
+
+  @Test
+  void pagesMatchFullSortInBothDirections() {
+    for (Sort.Direction direction : Sort.Direction.values()) {
+      Sort sort = Sort.by(direction, "startAt");
+      List<EventDTO> expected = new ArrayList<>(hot);
+      expected.addAll(cold);
+      expected.sort(OccurrenceMerger.comparator(OccurrenceMerger.totalOrder(sort), OccurrenceMerger.EVENT_KEYS));
+
+      List<EventDTO> paged = new ArrayList<>();
+      for (int page = 0; ; page++) {
+        Slice<EventDTO> slice = rows().apply(PageRequest.of(page, 7, sort));
+        paged.addAll(slice.getContent());
+        if (!slice.hasNext()) break;
+      }
+
+      assertThat(paged).as(direction.name()).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  void deepPagesStartTheArchiveAtTheirOwnOffset() {
+    // DESC: los 25 posteriores al horizonte van primero; la página 5 (offset 35) empieza en el décimo del resto
+    Slice<EventDTO> slice = rows().apply(PageRequest.of(5, 7, Sort.by(Sort.Direction.DESC, "startAt")));
+
+    assertThat(slice.getContent()).hasSize(7);
+    assertThat(coldOffsets).allMatch(offset -> offset <= 35 - 25);
+  }
+
+  @Test
+  void otherSortsKeepTheDepthLimit() {
+    Function<Pageable, Slice<EventDTO>> rows = rows();
+    assertThat(rows.apply(PageRequest.of(0, 5, Sort.by("title"))).getContent()).hasSize(5);
+    assertThatThrownBy(() -> rows.apply(PageRequest.of(2000, 10, Sort.by("title"))))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private Function<Pageable, Slice<EventDTO>> rows() {
+    Predicate<EventDTO> above = e -> !e.startAt().isBefore(HORIZON);
+    TierMerger.Split<EventDTO> split = new TierMerger.Split<>(db(hot, above), () -> hot.stream().filter(above).count(),
+        db(hot, above.negate()));
+    Function<Pageable, Slice<EventDTO>> archive = p -> {
+      coldOffsets.add(p.getOffset());
+      return db(cold, e -> true).apply(p);
+    };
+    return TierMerger.rows(OccurrenceMerger.EVENT_KEYS, db(hot, e -> true), archive, () -> cold.size(),
+        Map.of("startAt", split));
+  }
+
+  // Simula la consulta paginada de la BD: filtra, ordena y corta por offset
+  private static Function<Pageable, Slice<EventDTO>> db(List<EventDTO> table, Predicate<EventDTO> where) {
+    return p -> {
+      Comparator<EventDTO> order = OccurrenceMerger.comparator(p.getSort(), OccurrenceMerger.EVENT_KEYS);
+      List<EventDTO> rows = table.stream().filter(where).sorted(order).toList();
+      int from = (int) Math.min(rows.size(), p.getOffset());
+      int to = Math.min(rows.size(), from + p.getPageSize());
+      return new SliceImpl<>(rows.subList(from, to), p, to < rows.size());
+    };
+  }
+
+  private static EventDTO event(int n, Instant start) {
+    return new EventDTO(String.format("0190a000-0000-7000-8000-%012x", n), 0, "Ensayo " + n, null, "Local de ensayo",
+        EventType.REHEARSAL, EventStatus.SCHEDULED, EventVisibility.BAND_ONLY, start, start.plus(Duration.ofHours(2)));
+  }
+}
@@ -0,0 +1,40 @@
+package com.tfm.bandas.events.utils;
+
+import com.tfm.bandas.events.dto.CalendarEventItemDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EtagUtilsTest {
+
+  private static final Instant T0 = Instant.parse("2026-05-01T18:00:00Z");
+  private static final String ID = "0190a000-0000-7000-8000-00000000000a";
+
+  @Test
+  void collectionEtagFollowsIdsVersionsAndPaging() {
+    String etag = etag(page(List.of(item(ID, 0, "Ensayo")), 1L, false));
+
+    assertThat(etag(page(List.of(item(ID, 0, "Ensayo")), 1L, false))).isEqualTo(etag);
+    assertThat(etag(page(List.of(item(ID, 1, "Ensayo general")), 1L, false))).isNotEqualTo(etag);
+    assertThat(etag(page(List.of(item(ID, 0, "Ensayo")), 2L, false))).isNotEqualTo(etag);
+    assertThat(etag(page(List.of(item(ID, 0, "Ensayo")), 1L, true))).isNotEqualTo(etag);
+    assertThat(EtagUtils.toCollectionEtag(page(List.of(item(ID, 0, "Ensayo")), 1L, false), "calendar", T0))
+        .isNotEqualTo(etag);
+  }
+
+  private static String etag(PaginatedResponse<CalendarEventItemDTO> response) {
+    return EtagUtils.toCollectionEtag(response, "list", T0);
+  }
+
+  private static PaginatedResponse<CalendarEventItemDTO> page(List<CalendarEventItemDTO> content, Long total, boolean hasNext) {
+    return new PaginatedResponse<>(content, 0, 20, total, 1, true, !hasNext, hasNext);
+  }
+
+  private static CalendarEventItemDTO item(String id, int version, String title) {
+    return new CalendarEventItemDTO(id, version, title, T0, T0.plusSeconds(7200), false, EventType.REHEARSAL,
+        EventStatus.SCHEDULED, "Local de ensayo");
+  }
+}
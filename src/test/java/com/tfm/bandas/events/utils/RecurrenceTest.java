@@ -0,0 +1,85 @@
+package com.tfm.bandas.events.utils;
+
+import com.tfm.bandas.events.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceTest {
+
+  private static final ZoneId MADRID = ZoneId.of("Europe/Madrid");
+
+  // Lunes 2 de marzo de 2026, 20:00 en Madrid (UTC+1)
+  private static final Instant FIRST = Instant.parse("2026-03-02T19:00:00Z");
+  private static final Instant UNTIL = Instant.parse("2026-12-31T23:00:00Z");
+
+  @Test
+  void weeklyByDaysWithinWindow() {
+    Recurrence r = new Recurrence(FIRST, MADRID, RecurrenceFrequency.WEEKLY, 1,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), UNTIL);
+
+    assertThat(r.startsBetween(Instant.parse("2026-03-03T00:00:00Z"), Instant.parse("2026-03-10T00:00:00Z")))
+        .containsExactly(Instant.parse("2026-03-04T19:00:00Z"), Instant.parse("2026-03-09T19:00:00Z"));
+  }
+
+  @Test
+  void localTimeIsKeptAcrossDaylightSavingChange() {
+    Recurrence r = new Recurrence(FIRST, MADRID, RecurrenceFrequency.WEEKLY, 1, Set.of(), UNTIL);
+
+    // El 29 de marzo Madrid pasa a UTC+2: las 20:00 locales son las 18:00 UTC
+    assertThat(r.startsBetween(Instant.parse("2026-03-23T00:00:00Z"), Instant.parse("2026-04-01T00:00:00Z")))
+        .containsExactly(Instant.parse("2026-03-23T19:00:00Z"), Instant.parse("2026-03-30T18:00:00Z"));
+  }
+
+  @Test
+  void windowFarFromStartSkipsWholePeriods() {
+    Recurrence r = new Recurrence(FIRST, MADRID, RecurrenceFrequency.DAILY, 3, null, UNTIL);
+
+    // 2 de marzo + 3n días: 30 de noviembre (n = 91) y 3 de diciembre (UTC+1 de nuevo)
+    assertThat(r.startsBetween(Instant.parse("2026-11-28T00:00:00Z"), Instant.parse("2026-12-04T00:00:00Z")))
+        .containsExactly(Instant.parse("2026-11-30T19:00:00Z"), Instant.parse("2026-12-03T19:00:00Z"));
+  }
+
+  @Test
+  void windowBoundsAndUntilAreInclusive() {
+    Recurrence r = new Recurrence(FIRST, MADRID, RecurrenceFrequency.DAILY, 1, null, Instant.parse("2026-03-04T19:00:00Z"));
+
+    assertThat(r.startsBetween(Instant.parse("2026-03-03T19:00:00Z"), Instant.parse("2026-03-10T00:00:00Z")))
+        .containsExactly(Instant.parse("2026-03-03T19:00:00Z"), Instant.parse("2026-03-04T19:00:00Z"));
+    assertThat(r.startsBetween(Instant.parse("2026-02-01T00:00:00Z"), Instant.parse("2026-03-01T00:00:00Z"))).isEmpty();
+  }
+
+  @Test
+  void firstStartsStopsAtMax() {
+    Recurrence r = new Recurrence(FIRST, MADRID, RecurrenceFrequency.WEEKLY, 2, Set.of(), UNTIL);
+
+    List<Instant> starts = r.firstStarts(UNTIL, 3);
+
+    assertThat(starts).containsExactly(FIRST, Instant.parse("2026-03-16T19:00:00Z"), Instant.parse("2026-03-30T18:00:00Z"));
+  }
+
+  @Test
+  void byDaysMustIncludeFirstWeekday() {
+    assertThatThrownBy(() -> new Recurrence(FIRST, MADRID, RecurrenceFrequency.WEEKLY, 1,
+        EnumSet.of(DayOfWeek.TUESDAY), UNTIL)).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> new Recurrence(FIRST, MADRID, RecurrenceFrequency.DAILY, 0, null, UNTIL))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void daysRoundTripInRfcFormat() {
+    Set<DayOfWeek> days = Recurrence.parseDays("we, mo");
+
+    assertThat(days).containsExactlyInAnyOrder(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY);
+    assertThat(Recurrence.formatDays(days)).isEqualTo("MO,WE");
+    assertThatThrownBy(() -> Recurrence.parseDays("XX")).isInstanceOf(BadRequestException.class);
+  }
+}
@@ -0,0 +1,48 @@
+package com.tfm.bandas.events.utils;
+
+import com.tfm.bandas.events.exception.BadRequestException;
+import com.tfm.bandas.events.exception.SyncTokenExpiredException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncTokenTest {
+
+  private static final String ID = "0190a000-0000-7000-8000-00000000000a";
+
+  @Test
+  void roundTrips() {
+    SyncToken token = new SyncToken(42, ID);
+
+    assertThat(SyncToken.decode(token.encode())).isEqualTo(token);
+    assertThat(SyncToken.decode(SyncToken.START.encode())).isEqualTo(new SyncToken(0, SyncToken.MIN_ID));
+  }
+
+  @Test
+  void missingTokenMeansFullSync() {
+    assertThat(SyncToken.decode(null)).isNull();
+    assertThat(SyncToken.decode(" ")).isNull();
+  }
+
+  @Test
+  void malformedTokensAreRejected() {
+    assertThatThrownBy(() -> SyncToken.decode("%%%")).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> SyncToken.decode(raw("12|no-es-uuid"))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> SyncToken.decode(raw("-1|" + ID))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> SyncToken.decode(raw("abc|" + ID))).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void tokensByInstantMustResync() {
+    assertThatThrownBy(() -> SyncToken.decode(raw("2026-05-01T18:00:00Z|" + ID)))
+        .isInstanceOf(SyncTokenExpiredException.class);
+  }
+
+  private static String raw(String value) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
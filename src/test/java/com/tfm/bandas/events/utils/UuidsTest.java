@@ -0,0 +1,53 @@
+package com.tfm.bandas.events.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidsTest {
+
+  private static final String ID = "0190a000-0000-7000-8000-00000000000a";
+
+  @Test
+  void roundTrips() {
+    byte[] bytes = Uuids.toBytes(ID);
+
+    assertThat(bytes).hasSize(16);
+    assertThat(Uuids.fromBytes(bytes)).isEqualTo(ID);
+    assertThat(Uuids.fromBytes(null)).isNull();
+    assertThatThrownBy(() -> Uuids.fromBytes(new byte[15])).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void byteOrderMatchesStringOrderAcrossMilliseconds() {
+    // Mismo milisegundo con el resto aleatorio y el siguiente: BINARY(16) y la forma canónica ordenan igual
+    long millis = 1_780_000_000_000L;
+    String[] ids = {Uuids.v7(millis), Uuids.v7(millis), Uuids.v7(millis + 1), Uuids.v7(millis + 1)};
+
+    assertThat(ids[0].compareTo(ids[2])).isNegative();
+    for (String a : ids) {
+      assertThat(Uuids.isUuid(a)).isTrue();
+      assertThat(a.charAt(14)).isEqualTo('7');
+      for (String b : ids) {
+        assertThat(Integer.signum(Arrays.compareUnsigned(Uuids.toBytes(a), Uuids.toBytes(b))))
+            .isEqualTo(Integer.signum(a.compareTo(b)));
+      }
+    }
+  }
+
+  @Test
+  void malformedIdsAreRejected() {
+    assertThat(Uuids.toBytes(null)).isNull();
+    assertThat(Uuids.isUuid("")).isFalse();
+    assertThat(Uuids.isUuid(ID.toUpperCase())).isFalse();
+    assertThat(Uuids.isUuid(ID.replace('-', '_'))).isFalse();
+    assertThat(Uuids.isUuid(ID.substring(1))).isFalse();
+    assertThat(Uuids.isUuid(ID.replace("000a", "000g"))).isFalse();
+    // Dígitos de ancho completo: Character.digit los aceptaría
+    assertThat(Uuids.isUuid(ID.replace("000a", "000１"))).isFalse();
+    assertThat(Uuids.isUuid("0190a00000000-7000-8000-00000000000a")).isFalse();
+  }
+}